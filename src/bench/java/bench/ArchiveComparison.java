@@ -0,0 +1,132 @@
+package bench;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diffs a candidate run against a baseline, result by result. A change counts as a regression or
+ * improvement only when it is both larger than the threshold and, where both sides have at least
+ * two samples, statistically significant by Welch's t-test; results with a single sample are
+ * judged on the threshold alone and marked as such.
+ */
+public class ArchiveComparison {
+    public enum Verdict {
+        REGRESSED, IMPROVED, UNCHANGED, NEW, MISSING
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+    private final double alpha;
+    private final double thresholdPercent;
+
+    public ArchiveComparison(ResultArchive baseline, ResultArchive candidate, double alpha, double thresholdPercent) {
+        this.alpha = alpha;
+        this.thresholdPercent = thresholdPercent;
+        Map<String, BenchmarkResult> remaining = new LinkedHashMap<>();
+        for (BenchmarkResult result : baseline.getResults()) {
+            remaining.put(result.getKey(), result);
+        }
+        for (BenchmarkResult result : candidate.getResults()) {
+            rows.add(compare(remaining.remove(result.getKey()), result));
+        }
+        for (BenchmarkResult result : remaining.values()) {
+            rows.add(new Row(result.getKey(), result.getUnit(), result.getMean(), Double.NaN, Double.NaN, Double.NaN, Verdict.MISSING));
+        }
+    }
+
+    private Row compare(BenchmarkResult baseline, BenchmarkResult candidate) {
+        if (baseline == null) {
+            return new Row(candidate.getKey(), candidate.getUnit(), Double.NaN, candidate.getMean(), Double.NaN, Double.NaN, Verdict.NEW);
+        }
+        double before = baseline.getMean();
+        double after = candidate.getMean();
+        double change = before == 0 ? (after == 0 ? 0 : Double.POSITIVE_INFINITY) : (after - before) / Math.abs(before) * 100;
+        double pValue = Statistics.welchPValue(baseline.values(), candidate.values());
+        boolean significant = Double.isNaN(pValue) || pValue < alpha;
+        Verdict verdict = Verdict.UNCHANGED;
+        if (significant && Math.abs(change) >= thresholdPercent) {
+            boolean better = candidate.isHigherIsBetter() ? change > 0 : change < 0;
+            verdict = better ? Verdict.IMPROVED : Verdict.REGRESSED;
+        }
+        return new Row(candidate.getKey(), candidate.getUnit(), before, after, change, pValue, verdict);
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public List<Row> regressions() {
+        return rows.stream().filter(row -> row.verdict == Verdict.REGRESSED).toList();
+    }
+
+    public void print(PrintStream out) {
+        int width = rows.stream().mapToInt(row -> row.key.length()).max().orElse(9);
+        out.printf("%-" + width + "s %14s %14s %-10s %9s %8s  %s%n", "benchmark", "baseline", "candidate", "unit", "change", "p", "verdict");
+        for (Row row : rows) {
+            out.printf("%-" + width + "s %14s %14s %-10s %9s %8s  %s%n", row.key, number(row.baseline), number(row.candidate),
+                    row.unit, Double.isNaN(row.changePercent) ? "" : String.format("%+.1f%%", row.changePercent),
+                    Double.isNaN(row.pValue) ? (row.verdict == Verdict.NEW || row.verdict == Verdict.MISSING ? "" : "n/a")
+                            : String.format("%.4f", row.pValue),
+                    row.verdict);
+        }
+        out.printf("%d regressed, %d improved (threshold %.1f%%, alpha %.3f; p n/a = fewer than two samples, judged on threshold only)%n",
+                regressions().size(), rows.stream().filter(row -> row.verdict == Verdict.IMPROVED).count(), thresholdPercent, alpha);
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "" : String.format("%.3f", value);
+    }
+
+    public static final class Row {
+        private final String key;
+        private final String unit;
+        private final double baseline;
+        private final double candidate;
+        private final double changePercent;
+        private final double pValue;
+        private final Verdict verdict;
+
+        Row(String key, String unit, double baseline, double candidate, double changePercent, double pValue, Verdict verdict) {
+            this.key = key;
+            this.unit = unit;
+            this.baseline = baseline;
+            this.candidate = candidate;
+            this.changePercent = changePercent;
+            this.pValue = pValue;
+            this.verdict = verdict;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public double getBaseline() {
+            return baseline;
+        }
+
+        public double getCandidate() {
+            return candidate;
+        }
+
+        public double getChangePercent() {
+            return changePercent;
+        }
+
+        /**
+         * NaN when either side has fewer than two samples.
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point:
+ * <pre>
+ * BenchTool import-jmh target/jmh-result.json target/bench/jmh.json [-label name]
+ * BenchTool compare baseline.json candidate.json [-alpha 0.05] [-threshold 5]
+ * </pre>
+ * {@code compare} exits with status 1 when any result regressed, so it can gate a build.
+ */
+public final class BenchTool {
+
+    private BenchTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            usage();
+            return;
+        }
+        Map<String, String> options = options(args);
+        switch (args[0]) {
+            case "import-jmh":
+                ResultArchive archive = JmhResults.read(Path.of(args[1]), options.get("label"));
+                archive.write(Path.of(args[2]));
+                System.out.printf("Archived %d results to %s%n", archive.getResults().size(), args[2]);
+                break;
+            case "compare":
+                ArchiveComparison comparison = new ArchiveComparison(ResultArchive.read(Path.of(args[1])),
+                        ResultArchive.read(Path.of(args[2])),
+                        Double.parseDouble(options.getOrDefault("alpha", "0.05")),
+                        Double.parseDouble(options.getOrDefault("threshold", "5")));
+                comparison.print(System.out);
+                if (!comparison.regressions().isEmpty()) {
+                    System.exit(1);
+                }
+                break;
+            default:
+                usage();
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 3; i < args.length; i++) {
+            if (!args[i].startsWith("-") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected -name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(1), args[++i]);
+        }
+        return options;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: BenchTool import-jmh <jmh-result.json> <archive.json> [-label name]");
+        System.err.println("       BenchTool compare <baseline.json> <candidate.json> [-alpha 0.05] [-threshold 5]");
+        System.exit(2);
+    }
+}
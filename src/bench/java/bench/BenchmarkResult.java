@@ -0,0 +1,112 @@
+package bench;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One measured quantity of a run: a JMH score or a load-test percentile. Each sample is an
+ * independent measurement (a JMH iteration, a load-test window), which is what the significance
+ * test in {@link ArchiveComparison} compares.
+ */
+@JsonPropertyOrder({"name", "params", "metric", "unit", "higherIsBetter", "n", "mean", "stddev", "samples"})
+@JsonIgnoreProperties(value = {"n", "mean", "stddev"}, allowGetters = true)
+public class BenchmarkResult {
+    private String name;
+    private Map<String, String> params = new TreeMap<>();
+    private String metric;
+    private String unit;
+    private boolean higherIsBetter;
+    private List<Double> samples = new ArrayList<>();
+
+    public BenchmarkResult() {
+    }
+
+    public BenchmarkResult(String name, String metric, String unit, boolean higherIsBetter) {
+        this.name = name;
+        this.metric = metric;
+        this.unit = unit;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    /**
+     * Identifies the same measurement across runs: name, parameters and metric.
+     */
+    @JsonIgnore
+    public String getKey() {
+        StringBuilder key = new StringBuilder(name);
+        if (!params.isEmpty()) {
+            key.append(params.toString().replace(", ", ","));
+        }
+        return key.append(':').append(metric).toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    public void setParams(Map<String, String> params) {
+        this.params = new TreeMap<>(params);
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+
+    public boolean isHigherIsBetter() {
+        return higherIsBetter;
+    }
+
+    public void setHigherIsBetter(boolean higherIsBetter) {
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public List<Double> getSamples() {
+        return samples;
+    }
+
+    public void setSamples(List<Double> samples) {
+        this.samples = new ArrayList<>(samples);
+    }
+
+    public int getN() {
+        return samples.size();
+    }
+
+    public double getMean() {
+        return Statistics.mean(values());
+    }
+
+    public double getStddev() {
+        return Math.sqrt(Statistics.variance(values()));
+    }
+
+    double[] values() {
+        return samples.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
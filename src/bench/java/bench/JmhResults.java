@@ -0,0 +1,76 @@
+package bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts JMH's {@code -rf json} output into a {@link ResultArchive}. The primary score of every
+ * benchmark becomes one result with the per-iteration scores of all forks as samples; the
+ * normalized allocation rate from {@code -prof gc} is kept as a second, lower-is-better result.
+ */
+public final class JmhResults {
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhResults() {
+    }
+
+    public static ResultArchive read(Path jmhJson, String label) throws IOException {
+        return convert(new ObjectMapper().readTree(jmhJson.toFile()), label);
+    }
+
+    static ResultArchive convert(JsonNode runs, String label) {
+        if (!runs.isArray()) {
+            throw new IllegalArgumentException("Expected the JSON array written by JMH -rf json");
+        }
+        ResultArchive archive = ResultArchive.create("jmh", label);
+        for (JsonNode run : runs) {
+            String benchmark = run.path("benchmark").asText();
+            String mode = run.path("mode").asText();
+            BenchmarkResult primary = result(benchmark, run, mode, run.path("primaryMetric"), "thrpt".equals(mode));
+            archive.add(primary);
+            Iterator<Map.Entry<String, JsonNode>> secondary = run.path("secondaryMetrics").fields();
+            while (secondary.hasNext()) {
+                Map.Entry<String, JsonNode> metric = secondary.next();
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    archive.add(result(benchmark, run, ALLOCATION_METRIC, metric.getValue(), false));
+                }
+            }
+        }
+        return archive;
+    }
+
+    private static BenchmarkResult result(String benchmark, JsonNode run, String metricName, JsonNode metric, boolean higherIsBetter) {
+        BenchmarkResult result = new BenchmarkResult(benchmark, metricName, metric.path("scoreUnit").asText(), higherIsBetter);
+        Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            result.getParams().put(param.getKey(), param.getValue().asText());
+        }
+        result.setSamples(samples(metric));
+        return result;
+    }
+
+    /**
+     * Iteration scores of every fork; sample-mode runs only report a histogram, so they fall back
+     * to the single aggregate score.
+     */
+    private static List<Double> samples(JsonNode metric) {
+        List<Double> samples = new ArrayList<>();
+        for (JsonNode fork : metric.path("rawData")) {
+            for (JsonNode iteration : fork) {
+                samples.add(iteration.asDouble());
+            }
+        }
+        if (samples.isEmpty() && metric.has("score")) {
+            samples.add(metric.path("score").asDouble());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,127 @@
+package bench;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stable on-disk form of a benchmark run, shared by JMH and the load generator so any two runs of
+ * the same kind can be compared. Results are sorted by key and maps by name, so archives of
+ * identical runs differ only in their samples and timestamps.
+ */
+@JsonPropertyOrder({"format", "kind", "label", "createdAt", "environment", "results"})
+public class ResultArchive {
+    public static final String FORMAT = "taskmanager-bench/1";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private String format = FORMAT;
+    private String kind;
+    private String label;
+    private String createdAt;
+    private Map<String, String> environment = new TreeMap<>();
+    private List<BenchmarkResult> results = new ArrayList<>();
+
+    public ResultArchive() {
+    }
+
+    /**
+     * A new archive stamped with the current time and the JVM and machine it was measured on.
+     */
+    public static ResultArchive create(String kind, String label) {
+        ResultArchive archive = new ResultArchive();
+        archive.kind = kind;
+        archive.label = label;
+        archive.createdAt = Instant.now().toString();
+        Runtime runtime = Runtime.getRuntime();
+        archive.environment.put("java.version", System.getProperty("java.version"));
+        archive.environment.put("java.vm.name", System.getProperty("java.vm.name"));
+        archive.environment.put("os.name", System.getProperty("os.name"));
+        archive.environment.put("os.arch", System.getProperty("os.arch"));
+        archive.environment.put("processors", String.valueOf(runtime.availableProcessors()));
+        archive.environment.put("maxHeapMb", String.valueOf(runtime.maxMemory() / (1024 * 1024)));
+        return archive;
+    }
+
+    public static ResultArchive read(Path file) throws IOException {
+        ResultArchive archive = MAPPER.readValue(file.toFile(), ResultArchive.class);
+        if (!FORMAT.equals(archive.format)) {
+            throw new IllegalArgumentException(file + " is not a " + FORMAT + " archive (format " + archive.format + ")");
+        }
+        return archive;
+    }
+
+    public void write(Path file) throws IOException {
+        results.sort(Comparator.comparing(BenchmarkResult::getKey));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    public void add(BenchmarkResult result) {
+        results.add(result);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * {@code jmh} or {@code loadtest}.
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public void setEnvironment(Map<String, String> environment) {
+        this.environment = new TreeMap<>(environment);
+    }
+
+    public List<BenchmarkResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BenchmarkResult> results) {
+        this.results = new ArrayList<>(results);
+    }
+}
@@ -0,0 +1,223 @@
+package dataset;
+
+import config.DatabaseConfig;
+import exception.DatabaseOperationException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+/**
+ * Replaces the contents of all tables with a synthetic dataset described by a {@link DatasetSpec},
+ * streamed through {@code COPY FROM STDIN}. Ids run from 1 in every table and the same spec always
+ * produces the same rows, so results from different runs are comparable.
+ * <p>
+ * Tasks are assigned to users and tagged with Zipf-distributed popularity; {@code user_tasks} mirrors
+ * {@code tasks.assigned_user_id}, as it does for rows written through the DAOs.
+ */
+public class DatasetGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final String TRUNCATE_SQL = "TRUNCATE task_tag, user_tasks, tasks, tags, users RESTART IDENTITY";
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final long USERS_SALT = 0x5553455253L;
+    private static final long TAGS_SALT = 0x54414753L;
+    private static final long TASK_TEXT_SALT = 0x5445585453L;
+    private static final long TASK_ASSIGNMENT_SALT = 0x41535349474eL;
+    private static final long TASK_TAGS_SALT = 0x5441534b54L;
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        if (spec.getMaxTagsPerTask() > spec.getTags()) {
+            throw new IllegalArgumentException("maxTagsPerTask exceeds the number of tags");
+        }
+        this.spec = spec;
+    }
+
+    /**
+     * Truncates the tables and loads the dataset in one transaction, then moves the id sequences past
+     * the generated ids and analyzes the tables.
+     */
+    public DatasetSummary load(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        DatasetSummary summary;
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(TRUNCATE_SQL);
+            long users = copy(pgConnection, "COPY users (id, name) FROM STDIN", this::writeUsers);
+            long tags = copy(pgConnection, "COPY tags (id, name) FROM STDIN", this::writeTags);
+            long tasks = copy(pgConnection, "COPY tasks (id, title, description, assigned_user_id) FROM STDIN", this::writeTasks);
+            long userTasks = copy(pgConnection, "COPY user_tasks (user_id, task_id) FROM STDIN", this::writeUserTasks);
+            long taskTags = copy(pgConnection, "COPY task_tag (task_id, tag_id) FROM STDIN", this::writeTaskTags);
+            statement.execute(setval("users_id_seq", users));
+            statement.execute(setval("tags_id_seq", tags));
+            statement.execute(setval("tasks_id_seq", tasks));
+            connection.commit();
+            summary = new DatasetSummary(users, tasks, tags, userTasks, taskTags, (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } catch (IOException e) {
+            connection.rollback();
+            throw new DatabaseOperationException("Error loading dataset", e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, tags, tasks, user_tasks, task_tag");
+        }
+        return summary;
+    }
+
+    long writeUsers(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() ^ USERS_SALT);
+        for (long id = 1; id <= spec.getUsers(); id++) {
+            out.write(id + "\t" + name("User", id, random) + "\n");
+        }
+        return spec.getUsers();
+    }
+
+    long writeTags(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() ^ TAGS_SALT);
+        for (long id = 1; id <= spec.getTags(); id++) {
+            out.write(id + "\t" + name("tag", id, random) + "\n");
+        }
+        return spec.getTags();
+    }
+
+    long writeTasks(Writer out) throws IOException {
+        SplittableRandom text = new SplittableRandom(spec.getSeed() ^ TASK_TEXT_SALT);
+        Assignments assignments = new Assignments();
+        for (long id = 1; id <= spec.getTasks(); id++) {
+            long user = assignments.next();
+            out.write(id + "\t" + words(text, spec.getTitleLength()) + "\t" + words(text, spec.getDescriptionLength())
+                    + "\t" + (user == 0 ? "\\N" : String.valueOf(user)) + "\n");
+        }
+        return spec.getTasks();
+    }
+
+    long writeUserTasks(Writer out) throws IOException {
+        Assignments assignments = new Assignments();
+        long rows = 0;
+        for (long id = 1; id <= spec.getTasks(); id++) {
+            long user = assignments.next();
+            if (user != 0) {
+                out.write(user + "\t" + id + "\n");
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    long writeTaskTags(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() ^ TASK_TAGS_SALT);
+        ZipfSampler tags = new ZipfSampler(spec.getTags(), spec.getTagSkew());
+        long[] chosen = new long[spec.getMaxTagsPerTask()];
+        long rows = 0;
+        for (long id = 1; id <= spec.getTasks(); id++) {
+            int count = random.nextInt(spec.getMaxTagsPerTask() + 1);
+            for (int i = 0; i < count; i++) {
+                long tag;
+                do {
+                    tag = tags.sample(random);
+                } while (contains(chosen, i, tag));
+                chosen[i] = tag;
+                out.write(id + "\t" + tag + "\n");
+            }
+            rows += count;
+        }
+        return rows;
+    }
+
+    /**
+     * The user each task is assigned to, or 0 for unassigned; replayed identically for tasks and user_tasks.
+     */
+    private final class Assignments {
+        private final SplittableRandom random = new SplittableRandom(spec.getSeed() ^ TASK_ASSIGNMENT_SALT);
+        private final ZipfSampler users = spec.getUsers() > 0 ? new ZipfSampler(spec.getUsers(), spec.getUserSkew()) : null;
+
+        long next() {
+            boolean assigned = random.nextDouble() < spec.getAssignedFraction();
+            return users != null && assigned ? users.sample(random) : 0;
+        }
+    }
+
+    private String name(String prefix, long id, SplittableRandom random) {
+        String name = prefix + id;
+        return name.length() >= spec.getNameLength() ? name : name + " " + letters(random, spec.getNameLength() - name.length() - 1);
+    }
+
+    private static String words(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        int nextSpace = 3 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            if (i == nextSpace && i < length - 1) {
+                chars[i] = ' ';
+                nextSpace = i + 3 + random.nextInt(8);
+            } else {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String letters(SplittableRandom random, int length) {
+        char[] chars = new char[Math.max(0, length)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String setval(String sequence, long maxId) {
+        return maxId == 0
+                ? "SELECT setval('" + sequence + "', 1, false)"
+                : "SELECT setval('" + sequence + "', " + maxId + ")";
+    }
+
+    private static long copy(PGConnection connection, String sql, RowWriter rows) throws SQLException, IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            return rows.write(out);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        long write(Writer out) throws IOException;
+    }
+
+    /**
+     * Loads a dataset into the configured database from {@code dataset.*} system properties,
+     * e.g. {@code -Ddataset.tasks=5000000 -Ddataset.user-skew=1.2}. Lives on the test classpath only:
+     * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=dataset.DatasetGenerator}.
+     */
+    public static void main(String[] args) throws SQLException {
+        DatasetSpec spec = DatasetSpec.fromProperties(System.getProperties(), "dataset.");
+        LOGGER.info("Generating {}", spec);
+        try (Connection connection = DatabaseConfig.getConnection()) {
+            LOGGER.info("Loaded {}", new DatasetGenerator(spec).load(connection));
+        }
+    }
+}
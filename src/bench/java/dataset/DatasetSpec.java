@@ -0,0 +1,139 @@
+package dataset;
+
+import java.util.Properties;
+
+/**
+ * Sizes and shape of a generated dataset. Popularity is Zipfian: with a skew of 1 the busiest user owns
+ * about as many tasks as the next two together, and low ids are the hot ones.
+ */
+public class DatasetSpec {
+    private long users = 100_000;
+    private long tasks = 1_000_000;
+    private long tags = 1_000;
+    private int maxTagsPerTask = 6;
+    private double assignedFraction = 0.9;
+    private double userSkew = 1.0;
+    private double tagSkew = 1.1;
+    private int nameLength = 12;
+    private int titleLength = 40;
+    private int descriptionLength = 200;
+    private long seed = 42;
+
+    /**
+     * Reads the spec from {@code prefix + "users"}, {@code prefix + "tasks"} and so on, keeping the
+     * defaults for keys that are not set.
+     */
+    public static DatasetSpec fromProperties(Properties properties, String prefix) {
+        DatasetSpec spec = new DatasetSpec();
+        spec.users = Long.parseLong(properties.getProperty(prefix + "users", String.valueOf(spec.users)));
+        spec.tasks = Long.parseLong(properties.getProperty(prefix + "tasks", String.valueOf(spec.tasks)));
+        spec.tags = Long.parseLong(properties.getProperty(prefix + "tags", String.valueOf(spec.tags)));
+        spec.maxTagsPerTask = Integer.parseInt(properties.getProperty(prefix + "max-tags-per-task", String.valueOf(spec.maxTagsPerTask)));
+        spec.assignedFraction = Double.parseDouble(properties.getProperty(prefix + "assigned-fraction", String.valueOf(spec.assignedFraction)));
+        spec.userSkew = Double.parseDouble(properties.getProperty(prefix + "user-skew", String.valueOf(spec.userSkew)));
+        spec.tagSkew = Double.parseDouble(properties.getProperty(prefix + "tag-skew", String.valueOf(spec.tagSkew)));
+        spec.nameLength = Integer.parseInt(properties.getProperty(prefix + "name-length", String.valueOf(spec.nameLength)));
+        spec.titleLength = Integer.parseInt(properties.getProperty(prefix + "title-length", String.valueOf(spec.titleLength)));
+        spec.descriptionLength = Integer.parseInt(properties.getProperty(prefix + "description-length", String.valueOf(spec.descriptionLength)));
+        spec.seed = Long.parseLong(properties.getProperty(prefix + "seed", String.valueOf(spec.seed)));
+        return spec;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void setUsers(long users) {
+        this.users = users;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+
+    public long getTags() {
+        return tags;
+    }
+
+    public void setTags(long tags) {
+        this.tags = tags;
+    }
+
+    public int getMaxTagsPerTask() {
+        return maxTagsPerTask;
+    }
+
+    /**
+     * Each task gets between zero and this many distinct tags, uniformly.
+     */
+    public void setMaxTagsPerTask(int maxTagsPerTask) {
+        this.maxTagsPerTask = maxTagsPerTask;
+    }
+
+    public double getAssignedFraction() {
+        return assignedFraction;
+    }
+
+    public void setAssignedFraction(double assignedFraction) {
+        this.assignedFraction = assignedFraction;
+    }
+
+    public double getUserSkew() {
+        return userSkew;
+    }
+
+    public void setUserSkew(double userSkew) {
+        this.userSkew = userSkew;
+    }
+
+    public double getTagSkew() {
+        return tagSkew;
+    }
+
+    public void setTagSkew(double tagSkew) {
+        this.tagSkew = tagSkew;
+    }
+
+    public int getNameLength() {
+        return nameLength;
+    }
+
+    public void setNameLength(int nameLength) {
+        this.nameLength = nameLength;
+    }
+
+    public int getTitleLength() {
+        return titleLength;
+    }
+
+    public void setTitleLength(int titleLength) {
+        this.titleLength = titleLength;
+    }
+
+    public int getDescriptionLength() {
+        return descriptionLength;
+    }
+
+    public void setDescriptionLength(int descriptionLength) {
+        this.descriptionLength = descriptionLength;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSpec{users=" + users + ", tasks=" + tasks + ", tags=" + tags + ", maxTagsPerTask=" + maxTagsPerTask
+                + ", assignedFraction=" + assignedFraction + ", userSkew=" + userSkew + ", tagSkew=" + tagSkew
+                + ", seed=" + seed + '}';
+    }
+}
@@ -0,0 +1,52 @@
+package dataset;
+
+/**
+ * Row counts of a loaded dataset.
+ */
+public class DatasetSummary {
+    private final long users;
+    private final long tasks;
+    private final long tags;
+    private final long userTasks;
+    private final long taskTags;
+    private final long elapsedMillis;
+
+    public DatasetSummary(long users, long tasks, long tags, long userTasks, long taskTags, long elapsedMillis) {
+        this.users = users;
+        this.tasks = tasks;
+        this.tags = tags;
+        this.userTasks = userTasks;
+        this.taskTags = taskTags;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getTags() {
+        return tags;
+    }
+
+    public long getUserTasks() {
+        return userTasks;
+    }
+
+    public long getTaskTags() {
+        return taskTags;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return users + " users, " + tasks + " tasks, " + tags + " tags, " + userTasks + " user_tasks, "
+                + taskTags + " task_tag rows in " + elapsedMillis + " ms";
+    }
+}
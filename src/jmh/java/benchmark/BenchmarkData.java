@@ -0,0 +1,89 @@
+package benchmark;
+
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import entity.Tag;
+import entity.Task;
+import entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic entities and DTOs shaped like production rows: short titles, sentence-length
+ * descriptions and a few tags per task.
+ */
+final class BenchmarkData {
+    static final int TAGS_PER_TASK = 3;
+    static final int TASKS_PER_USER = 5;
+
+    private BenchmarkData() {
+    }
+
+    static Task task(long id) {
+        return new Task(id, "Task " + id, "Description of task " + id + " with a sentence of ordinary length",
+                id % 50, new ArrayList<>());
+    }
+
+    static Tag tag(long id) {
+        return new Tag(id, "tag-" + id, new ArrayList<>());
+    }
+
+    static User user(long id) {
+        return new User(id, "User " + id, new ArrayList<>());
+    }
+
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tasks.add(task(id));
+        }
+        return tasks;
+    }
+
+    static List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tags.add(tag(id));
+        }
+        return tags;
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(user(id));
+        }
+        return users;
+    }
+
+    static List<TaskDTO> taskDTOs(int count) {
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            List<TagDTO> tags = new ArrayList<>(TAGS_PER_TASK);
+            for (long tag = 1; tag <= TAGS_PER_TASK; tag++) {
+                tags.add(new TagDTO(tag, "tag-" + tag, null));
+            }
+            Task task = task(id);
+            tasks.add(new TaskDTO(id, task.getTitle(), task.getDescription(), task.getAssignedUserId(), tags));
+        }
+        return tasks;
+    }
+
+    static List<TagDTO> tagDTOs(int count) {
+        List<TagDTO> tags = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tags.add(new TagDTO(id, "tag-" + id, taskDTOs(TAGS_PER_TASK)));
+        }
+        return tags;
+    }
+
+    static List<UserDTO> userDTOs(int count) {
+        List<UserDTO> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(new UserDTO(id, "User " + id, taskDTOs(TASKS_PER_USER)));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,170 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.TimedObjectMapper;
+import controller.TagController;
+import controller.TaskController;
+import controller.UserController;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request controller overhead: {@code HttpServlet.service} dispatch, path matching and splitting,
+ * JSON reading and writing, over stub services and fake requests. Lists hold {@value #LIST_SIZE}
+ * elements so the getAll cases stay dominated by dispatch rather than serialization, which
+ * {@link JsonSerializationBenchmark} covers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerDispatchBenchmark {
+    static final int LIST_SIZE = 10;
+    private static final String TASK_JSON = "{\"id\":1,\"title\":\"Write report\",\"description\":\"Quarterly numbers\",\"assignedUserId\":3}";
+    private static final String NAMED_JSON = "{\"id\":1,\"name\":\"backend\"}";
+
+    private final FakeHttp.FakeResponse response = new FakeHttp.FakeResponse();
+    private HttpServlet taskController;
+    private HttpServlet userController;
+    private HttpServlet tagController;
+
+    private final FakeHttp.FakeRequest getTask = FakeHttp.request("GET", "/tasks", "/42");
+    private final FakeHttp.FakeRequest getTasks = FakeHttp.request("GET", "/tasks", null);
+    private final FakeHttp.FakeRequest postTask = FakeHttp.request("POST", "/tasks", "/").body(TASK_JSON);
+    private final FakeHttp.FakeRequest assignTag = FakeHttp.request("POST", "/tasks", "/42/tags/7");
+    private final FakeHttp.FakeRequest putTask = FakeHttp.request("PUT", "/tasks", "/").body(TASK_JSON);
+    private final FakeHttp.FakeRequest deleteTask = FakeHttp.request("DELETE", "/tasks", "/42");
+
+    private final FakeHttp.FakeRequest getUser = FakeHttp.request("GET", "/users", "/42");
+    private final FakeHttp.FakeRequest getUsers = FakeHttp.request("GET", "/users", null);
+    private final FakeHttp.FakeRequest postUser = FakeHttp.request("POST", "/users", "/").body(NAMED_JSON);
+    private final FakeHttp.FakeRequest assignTask = FakeHttp.request("POST", "/users", "/42/tasks/7");
+    private final FakeHttp.FakeRequest putUser = FakeHttp.request("PUT", "/users", "/").body(NAMED_JSON);
+    private final FakeHttp.FakeRequest deleteUser = FakeHttp.request("DELETE", "/users", "/42");
+
+    private final FakeHttp.FakeRequest getTag = FakeHttp.request("GET", "/tags", "/42");
+    private final FakeHttp.FakeRequest getTags = FakeHttp.request("GET", "/tags", null);
+    private final FakeHttp.FakeRequest postTag = FakeHttp.request("POST", "/tags", "/").body(NAMED_JSON);
+    private final FakeHttp.FakeRequest assignTagTask = FakeHttp.request("POST", "/tags", "/42/tasks/7");
+    private final FakeHttp.FakeRequest putTag = FakeHttp.request("PUT", "/tags", "/").body(NAMED_JSON);
+    private final FakeHttp.FakeRequest deleteTag = FakeHttp.request("DELETE", "/tags", "/42");
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new TimedObjectMapper();
+        taskController = new TaskController(StubServices.tasks(BenchmarkData.taskDTOs(LIST_SIZE)), objectMapper);
+        userController = new UserController(StubServices.users(BenchmarkData.userDTOs(LIST_SIZE)), objectMapper);
+        tagController = new TagController(StubServices.tags(BenchmarkData.tagDTOs(LIST_SIZE)), objectMapper);
+    }
+
+    private long dispatch(HttpServlet controller, FakeHttp.FakeRequest request) throws ServletException, IOException {
+        response.reset();
+        controller.service(request, response);
+        return response.getStatus() + response.getBytes();
+    }
+
+    @Benchmark
+    public long getTaskById() throws ServletException, IOException {
+        return dispatch(taskController, getTask);
+    }
+
+    @Benchmark
+    public long getAllTasks() throws ServletException, IOException {
+        return dispatch(taskController, getTasks);
+    }
+
+    @Benchmark
+    public long createTask() throws ServletException, IOException {
+        return dispatch(taskController, postTask);
+    }
+
+    @Benchmark
+    public long assignTagToTask() throws ServletException, IOException {
+        return dispatch(taskController, assignTag);
+    }
+
+    @Benchmark
+    public long updateTask() throws ServletException, IOException {
+        return dispatch(taskController, putTask);
+    }
+
+    @Benchmark
+    public long deleteTask() throws ServletException, IOException {
+        return dispatch(taskController, deleteTask);
+    }
+
+    @Benchmark
+    public long getUserById() throws ServletException, IOException {
+        return dispatch(userController, getUser);
+    }
+
+    @Benchmark
+    public long getAllUsers() throws ServletException, IOException {
+        return dispatch(userController, getUsers);
+    }
+
+    @Benchmark
+    public long createUser() throws ServletException, IOException {
+        return dispatch(userController, postUser);
+    }
+
+    @Benchmark
+    public long assignTaskToUser() throws ServletException, IOException {
+        return dispatch(userController, assignTask);
+    }
+
+    @Benchmark
+    public long updateUser() throws ServletException, IOException {
+        return dispatch(userController, putUser);
+    }
+
+    @Benchmark
+    public long deleteUser() throws ServletException, IOException {
+        return dispatch(userController, deleteUser);
+    }
+
+    @Benchmark
+    public long getTagById() throws ServletException, IOException {
+        return dispatch(tagController, getTag);
+    }
+
+    @Benchmark
+    public long getAllTags() throws ServletException, IOException {
+        return dispatch(tagController, getTags);
+    }
+
+    @Benchmark
+    public long createTag() throws ServletException, IOException {
+        return dispatch(tagController, postTag);
+    }
+
+    @Benchmark
+    public long assignTaskToTag() throws ServletException, IOException {
+        return dispatch(tagController, assignTagTask);
+    }
+
+    @Benchmark
+    public long updateTag() throws ServletException, IOException {
+        return dispatch(tagController, putTag);
+    }
+
+    @Benchmark
+    public long deleteTag() throws ServletException, IOException {
+        return dispatch(tagController, deleteTag);
+    }
+}
@@ -0,0 +1,207 @@
+package benchmark;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal servlet request/response pair for driving controllers without a container or Mockito,
+ * whose per-call bookkeeping would dwarf the dispatch being measured. Only what the controllers
+ * touch is implemented; anything else fails loudly so a benchmark never measures a silent default.
+ */
+final class FakeHttp {
+
+    private FakeHttp() {
+    }
+
+    static FakeRequest request(String method, String servletPath, String pathInfo) {
+        return new FakeRequest(method, servletPath, pathInfo);
+    }
+
+    private static <T> T unsupported(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(FakeHttp.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                }));
+    }
+
+    static final class FakeRequest extends HttpServletRequestWrapper {
+        private final String method;
+        private final String servletPath;
+        private final String pathInfo;
+        private final Map<String, String> headers = new HashMap<>();
+        private byte[] body = new byte[0];
+
+        private FakeRequest(String method, String servletPath, String pathInfo) {
+            super(unsupported(HttpServletRequest.class));
+            this.method = method;
+            this.servletPath = servletPath;
+            this.pathInfo = pathInfo;
+        }
+
+        FakeRequest body(String json) {
+            body = json.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        FakeRequest header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return pathInfo;
+        }
+
+        @Override
+        public String getContextPath() {
+            return "";
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            return -1;
+        }
+
+        /**
+         * A fresh stream over the same body on every call, so one request can be dispatched repeatedly.
+         */
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
+    /**
+     * Discards the body but counts it; the response lives in benchmark state, so the writes cannot be elided.
+     */
+    static final class FakeResponse extends HttpServletResponseWrapper {
+        private final Map<String, String> headers = new HashMap<>();
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        private int status;
+        private long bytes;
+
+        FakeResponse() {
+            super(unsupported(HttpServletResponse.class));
+        }
+
+        @Override
+        public void reset() {
+            status = SC_OK;
+            bytes = 0;
+            headers.clear();
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            status = sc;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public void setContentType(String type) {
+            headers.put("Content-Type", type);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
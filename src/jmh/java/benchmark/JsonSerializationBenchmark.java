@@ -0,0 +1,64 @@
+package benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.TimedObjectMapper;
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing list responses with the controllers' ObjectMapper. Tags and users embed their tasks,
+ * as in {@code GET /tags} and {@code GET /users}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new TimedObjectMapper();
+    private List<TaskDTO> tasks;
+    private List<TagDTO> tags;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.taskDTOs(size);
+        tags = BenchmarkData.tagDTOs(size);
+        users = BenchmarkData.userDTOs(size);
+    }
+
+    @Benchmark
+    public byte[] tasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] tags() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tags);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import entity.Tag;
+import entity.Task;
+import entity.User;
+import mapper.TagMapper;
+import mapper.TaskMapper;
+import mapper.UserMapper;
+import mapper.impl.TagMapperImpl;
+import mapper.impl.TaskMapperImpl;
+import mapper.impl.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-object entity/DTO mapping, outside a request (so without Server-Timing bookkeeping).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final TagMapper tagMapper = new TagMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+    private Task task;
+    private TaskDTO taskDTO;
+    private Tag tag;
+    private TagDTO tagDTO;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkData.task(42);
+        taskDTO = BenchmarkData.taskDTOs(1).get(0);
+        tag = BenchmarkData.tag(7);
+        tagDTO = new TagDTO(7L, "tag-7", null);
+        user = BenchmarkData.user(3);
+        userDTO = new UserDTO(3L, "User 3", null);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDTO() {
+        return taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskMapper.toEntity(taskDTO);
+    }
+
+    @Benchmark
+    public TagDTO tagToDTO() {
+        return tagMapper.toDTO(tag);
+    }
+
+    @Benchmark
+    public Tag tagToEntity() {
+        return tagMapper.toEntity(tagDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userDTO);
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.TagService;
+import service.TaskService;
+import service.UserService;
+import service.impl.TagServiceImpl;
+import service.impl.TaskServiceImpl;
+import service.impl.UserServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The list pipelines in the service implementations (per-row relation lookup, mapping and
+ * {@code toList}) over in-memory DAOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceStreamBenchmark {
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    private TaskService taskService;
+    private UserService userService;
+    private TagService tagService;
+
+    @Setup
+    public void setUp() {
+        taskService = new TaskServiceImpl(StubDAOs.tasks(BenchmarkData.tasks(size), BenchmarkData.tags(BenchmarkData.TAGS_PER_TASK)));
+        userService = new UserServiceImpl(StubDAOs.users(BenchmarkData.users(size), BenchmarkData.tasks(BenchmarkData.TASKS_PER_USER)));
+        tagService = new TagServiceImpl(StubDAOs.tags(BenchmarkData.tags(size), BenchmarkData.tasks(BenchmarkData.TAGS_PER_TASK)));
+    }
+
+    @Benchmark
+    public List<TaskDTO> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public List<UserDTO> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    @Benchmark
+    public List<TagDTO> getAllTags() {
+        return tagService.getAllTags();
+    }
+}
@@ -0,0 +1,146 @@
+package benchmark;
+
+import dao.TagDAO;
+import dao.TaskDAO;
+import dao.UserDAO;
+import entity.Tag;
+import entity.Task;
+import entity.User;
+
+import java.util.List;
+
+/**
+ * Read-only DAOs over prebuilt lists, so service benchmarks measure the service code and not JDBC.
+ * Every relation returns the same list, which keeps the per-row work constant; like the JDBC DAOs,
+ * {@code findAll} returns rows with their relation already loaded.
+ */
+final class StubDAOs {
+
+    private StubDAOs() {
+    }
+
+    static TaskDAO tasks(List<Task> tasks, List<Tag> tagsOfEachTask) {
+        tasks.forEach(task -> task.setTags(tagsOfEachTask));
+        return new TaskDAO() {
+            @Override
+            public List<Task> findAll() {
+                return tasks;
+            }
+
+            @Override
+            public List<Tag> getTagsByTaskId(Long taskId) {
+                return tagsOfEachTask;
+            }
+
+            @Override
+            public Task findById(Long id) {
+                return tasks.get((int) (id - 1));
+            }
+
+            @Override
+            public void create(Task task) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void createAll(List<Task> tasks) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void update(Task task) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void delete(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void assignTagToTask(Long taskId, Long tagId) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static UserDAO users(List<User> users, List<Task> tasksOfEachUser) {
+        users.forEach(user -> user.setTasks(tasksOfEachUser));
+        return new UserDAO() {
+            @Override
+            public List<User> findAll() {
+                return users;
+            }
+
+            @Override
+            public List<Task> getTasksByUserId(Long userId) {
+                return tasksOfEachUser;
+            }
+
+            @Override
+            public User findById(Long id) {
+                return users.get((int) (id - 1));
+            }
+
+            @Override
+            public void create(User user) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void update(User user) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void delete(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void assignTaskToUser(Long userId, Long taskId) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    static TagDAO tags(List<Tag> tags, List<Task> tasksOfEachTag) {
+        tags.forEach(tag -> tag.setTasks(tasksOfEachTag));
+        return new TagDAO() {
+            @Override
+            public List<Tag> findAll() {
+                return tags;
+            }
+
+            @Override
+            public List<Task> getTasksByTagId(Long tagId) {
+                return tasksOfEachTag;
+            }
+
+            @Override
+            public Tag findById(Long id) {
+                return tags.get((int) (id - 1));
+            }
+
+            @Override
+            public void create(Tag tag) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void update(Tag tag) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void delete(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void assignTaskToTag(Long tagId, Long taskId) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package benchmark;
+
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import service.TagService;
+import service.TaskService;
+import service.UserService;
+
+import java.util.List;
+
+/**
+ * Services that return prebuilt DTOs and ignore writes, leaving only controller work to measure.
+ */
+final class StubServices {
+
+    private StubServices() {
+    }
+
+    static TaskService tasks(List<TaskDTO> tasks) {
+        return new TaskService() {
+            @Override
+            public void createTask(TaskDTO taskDTO) {
+                taskDTO.setId(1L);
+            }
+
+            @Override
+            public boolean isCreateDeferred() {
+                return false;
+            }
+
+            @Override
+            public TaskDTO getTaskById(Long id) {
+                return tasks.get(0);
+            }
+
+            @Override
+            public List<TaskDTO> getAllTasks() {
+                return tasks;
+            }
+
+            @Override
+            public void updateTask(TaskDTO taskDTO) {
+            }
+
+            @Override
+            public void deleteTask(Long id) {
+            }
+
+            @Override
+            public void assignTagsToTask(Long taskId, Long tagId) {
+            }
+
+            @Override
+            public List<TagDTO> getTagsByTaskId(Long taskId) {
+                return tasks.get(0).getTags();
+            }
+        };
+    }
+
+    static UserService users(List<UserDTO> users) {
+        return new UserService() {
+            @Override
+            public void createUser(UserDTO userDTO) {
+                userDTO.setId(1L);
+            }
+
+            @Override
+            public UserDTO getUserById(Long id) {
+                return users.get(0);
+            }
+
+            @Override
+            public List<UserDTO> getAllUsers() {
+                return users;
+            }
+
+            @Override
+            public void updateUser(UserDTO userDTO) {
+            }
+
+            @Override
+            public void deleteUser(Long id) {
+            }
+
+            @Override
+            public void assignTaskToUser(Long userId, Long taskId) {
+            }
+
+            @Override
+            public List<TaskDTO> getTasksByUserId(Long userId) {
+                return users.get(0).getTasks();
+            }
+        };
+    }
+
+    static TagService tags(List<TagDTO> tags) {
+        return new TagService() {
+            @Override
+            public void createTag(TagDTO tagDTO) {
+                tagDTO.setId(1L);
+            }
+
+            @Override
+            public TagDTO getTagById(Long id) {
+                return tags.get(0);
+            }
+
+            @Override
+            public List<TagDTO> getAllTags() {
+                return tags;
+            }
+
+            @Override
+            public void updateTag(TagDTO tagDTO) {
+            }
+
+            @Override
+            public void deleteTag(Long id) {
+            }
+
+            @Override
+            public void assignTaskToTag(Long tagId, Long taskId) {
+            }
+
+            @Override
+            public List<TaskDTO> getTasksByTagId(Long tagId) {
+                return tags.get(0).getTasks();
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package loadtest;
+
+/**
+ * Ids of the rows the load test can address, filled by seeding and by successful creates.
+ */
+final class Dataset {
+    final EntityIds tasks = new EntityIds();
+    final EntityIds users = new EntityIds();
+    final EntityIds tags = new EntityIds();
+}
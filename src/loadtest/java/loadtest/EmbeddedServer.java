@@ -0,0 +1,94 @@
+package loadtest;
+
+import config.ApplicationLifecycle;
+import controller.TaskController;
+import filter.RequestContextFilter;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.annotation.WebServlet;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The application in embedded Tomcat, wired the way the container would from the annotations:
+ * every {@code @WebServlet} in the controller package, the request filter and the lifecycle listener.
+ */
+final class EmbeddedServer implements AutoCloseable {
+    private final Tomcat tomcat = new Tomcat();
+
+    EmbeddedServer(int port) throws IOException, ClassNotFoundException, URISyntaxException {
+        Path baseDir = Files.createTempDirectory("task-manager-tomcat");
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(port);
+        tomcat.getConnector();
+        Context context = tomcat.addContext("", baseDir.toString());
+        context.addApplicationListener(ApplicationLifecycle.class.getName());
+
+        WebFilter filter = RequestContextFilter.class.getAnnotation(WebFilter.class);
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(RequestContextFilter.class.getSimpleName());
+        filterDef.setFilterClass(RequestContextFilter.class.getName());
+        context.addFilterDef(filterDef);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterDef.getFilterName());
+        for (String pattern : filter.value()) {
+            filterMap.addURLPattern(pattern);
+        }
+        context.addFilterMap(filterMap);
+
+        for (Class<?> servlet : controllerServlets()) {
+            WebServlet mapping = servlet.getAnnotation(WebServlet.class);
+            Wrapper wrapper = Tomcat.addServlet(context, servlet.getSimpleName(), servlet.getName());
+            wrapper.setLoadOnStartup(1);
+            for (String pattern : mapping.value()) {
+                context.addServletMappingDecoded(pattern, servlet.getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * Starts the server and returns the port it listens on.
+     */
+    int start() throws LifecycleException {
+        tomcat.start();
+        return tomcat.getConnector().getLocalPort();
+    }
+
+    private static List<Class<?>> controllerServlets() throws IOException, ClassNotFoundException, URISyntaxException {
+        Path directory = Path.of(TaskController.class.getResource(TaskController.class.getSimpleName() + ".class").toURI()).getParent();
+        String prefix = TaskController.class.getPackageName() + ".";
+        List<String> names;
+        try (Stream<Path> files = Files.list(directory)) {
+            names = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".class") && !name.contains("$"))
+                    .map(name -> prefix + name.substring(0, name.length() - ".class".length()))
+                    .sorted()
+                    .toList();
+        }
+        List<Class<?>> servlets = new ArrayList<>();
+        for (String name : names) {
+            Class<?> type = Class.forName(name);
+            if (type.isAnnotationPresent(WebServlet.class)) {
+                servlets.add(type);
+            }
+        }
+        return servlets;
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
@@ -0,0 +1,51 @@
+package loadtest;
+
+import java.util.Random;
+
+/**
+ * Ids known to exist for one entity. Reads and updates pick uniformly at random; deletes remove
+ * the id they pick so later requests do not go to rows that are gone.
+ */
+final class EntityIds {
+    private long[] ids = new long[64];
+    private int size;
+
+    synchronized void add(long id) {
+        if (size == ids.length) {
+            long[] grown = new long[size * 2];
+            System.arraycopy(ids, 0, grown, 0, size);
+            ids = grown;
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * Adds the ids {@code 1..count}, the range a generated dataset occupies.
+     */
+    synchronized void addRange(long count) {
+        for (long id = 1; id <= count; id++) {
+            add(id);
+        }
+    }
+
+    /**
+     * A random known id, or {@code -1} when there are none.
+     */
+    synchronized long pick(Random random) {
+        return size == 0 ? -1 : ids[random.nextInt(size)];
+    }
+
+    synchronized long remove(Random random) {
+        if (size == 0) {
+            return -1;
+        }
+        int index = random.nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
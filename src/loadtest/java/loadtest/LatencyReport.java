@@ -0,0 +1,169 @@
+package loadtest;
+
+import bench.BenchmarkResult;
+import bench.ResultArchive;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation latency percentiles of a measured phase, printed as a table and written as JSON.
+ */
+final class LatencyReport {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+    private static final double[] ARCHIVED_QUANTILES = {0.5, 0.99};
+    private static final String[] ARCHIVED_QUANTILE_NAMES = {"p50", "p99"};
+
+    private final RunResults results;
+    private final LoadTestOptions options;
+    private final OperationMix mix;
+
+    LatencyReport(RunResults results, LoadTestOptions options, OperationMix mix) {
+        this.results = results;
+        this.options = options;
+        this.mix = mix;
+    }
+
+    void print(PrintStream out) {
+        double seconds = seconds();
+        out.printf("%nMeasured %.1fs, scheduled %d requests at %.1f/s, max scheduling lag %.3f ms%n",
+                seconds, results.getScheduled(), options.rate(), millis(results.getMaxSchedulingLagNanos()));
+        out.printf("%-18s %8s %8s %6s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "rate/s", "errors", "dropped", "skipped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms");
+        for (Map.Entry<Operation, RunResults.OperationStats> entry : results.all().entrySet()) {
+            RunResults.OperationStats stats = entry.getValue();
+            printRow(out, entry.getKey().getKey(), stats, seconds);
+        }
+        long errors = 0;
+        long dropped = 0;
+        long skipped = 0;
+        long count = 0;
+        long sum = 0;
+        for (RunResults.OperationStats stats : results.all().values()) {
+            errors += stats.errors();
+            dropped += stats.dropped.sum();
+            skipped += stats.skipped.sum();
+            count += stats.completed();
+            sum += stats.responseTime.getSum();
+        }
+        out.printf("%-18s %8d %8.1f %6d %7d %7d %54s %9.3f%n", "all", count, count / seconds, errors, dropped, skipped, "",
+                count == 0 ? 0.0 : millis(sum) / count);
+        out.println("Latency is measured from each request's scheduled send time (coordinated-omission corrected).");
+    }
+
+    private static void printRow(PrintStream out, String name, RunResults.OperationStats stats, double seconds) {
+        LatencyHistogram histogram = stats.responseTime;
+        long count = histogram.getCount();
+        out.printf("%-18s %8d %8.1f %6d %7d %7d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, count, count / seconds,
+                stats.errors(), stats.dropped.sum(), stats.skipped.sum(),
+                millis(histogram.valueAtQuantile(0.5)), millis(histogram.valueAtQuantile(0.9)),
+                millis(histogram.valueAtQuantile(0.99)), millis(histogram.valueAtQuantile(0.999)),
+                millis(histogram.getMax()), count == 0 ? 0.0 : millis(histogram.getSum()) / count);
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", results.getStartedAtMillis());
+        report.put("durationSeconds", seconds());
+        report.put("targetRate", options.rate());
+        report.put("scheduled", results.getScheduled());
+        report.put("maxSchedulingLagMs", millis(results.getMaxSchedulingLagNanos()));
+        report.put("options", new TreeMap<>(options.asProperties()));
+        Map<String, Double> weights = new LinkedHashMap<>();
+        mix.weights().forEach((operation, weight) -> weights.put(operation.getKey(), weight));
+        report.put("mix", weights);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, RunResults.OperationStats> entry : results.all().entrySet()) {
+            operations.put(entry.getKey().getKey(), toMap(entry.getValue()));
+        }
+        report.put("operations", operations);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private Map<String, Object> toMap(RunResults.OperationStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", stats.completed());
+        map.put("ratePerSecond", stats.completed() / seconds());
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            statuses.put(i + "xx", stats.statusClasses.get(i));
+        }
+        map.put("statuses", statuses);
+        map.put("failures", stats.failures.sum());
+        map.put("dropped", stats.dropped.sum());
+        map.put("skipped", stats.skipped.sum());
+        map.put("responseTimeMs", percentiles(stats.responseTime));
+        map.put("serviceTimeMs", percentiles(stats.serviceTime));
+        return map;
+    }
+
+    /**
+     * Response-time p50, p99 and mean per operation, with one sample per window that saw requests.
+     */
+    ResultArchive archive(String label) {
+        ResultArchive archive = ResultArchive.create("loadtest", label);
+        Map<String, String> params = new TreeMap<>();
+        params.put("rate", String.valueOf(options.rate()));
+        params.put("window", Duration.ofNanos(results.getWindowNanos()).toString());
+        for (Map.Entry<Operation, RunResults.OperationStats> entry : results.all().entrySet()) {
+            String name = "loadtest." + entry.getKey().getKey();
+            BenchmarkResult[] quantiles = new BenchmarkResult[ARCHIVED_QUANTILES.length];
+            for (int i = 0; i < quantiles.length; i++) {
+                quantiles[i] = new BenchmarkResult(name, ARCHIVED_QUANTILE_NAMES[i], "ms", false);
+            }
+            BenchmarkResult mean = new BenchmarkResult(name, "mean", "ms", false);
+            for (LatencyHistogram window : entry.getValue().windows) {
+                if (window.getCount() == 0) {
+                    continue;
+                }
+                for (int i = 0; i < quantiles.length; i++) {
+                    quantiles[i].getSamples().add(millis(window.valueAtQuantile(ARCHIVED_QUANTILES[i])));
+                }
+                mean.getSamples().add(millis(window.getSum()) / window.getCount());
+            }
+            if (mean.getSamples().isEmpty()) {
+                continue;
+            }
+            for (BenchmarkResult quantile : quantiles) {
+                quantile.setParams(params);
+                archive.add(quantile);
+            }
+            mean.setParams(params);
+            archive.add(mean);
+        }
+        return archive;
+    }
+
+    private static Map<String, Double> percentiles(LatencyHistogram histogram) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            map.put(QUANTILE_NAMES[i], millis(histogram.valueAtQuantile(QUANTILES[i])));
+        }
+        map.put("max", millis(histogram.getMax()));
+        map.put("mean", histogram.getCount() == 0 ? 0.0 : millis(histogram.getSum()) / histogram.getCount());
+        return map;
+    }
+
+    private double seconds() {
+        return results.getElapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,129 @@
+package loadtest;
+
+import config.ApplicationLifecycle;
+import config.DatabaseConfig;
+import dataset.DatasetGenerator;
+import dataset.DatasetSpec;
+import dataset.DatasetSummary;
+import factory.impl.DAOFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load generator: boots the application in embedded Tomcat (or targets {@code -target}),
+ * optionally loads a generated dataset ({@code -dataset true -dataset.tasks 1000000}), seeds users, tags
+ * and tasks, warms up, then drives the operation mix at a fixed arrival rate and
+ * reports latency percentiles per operation. With {@code -archive} the run is also written in the
+ * format {@code bench.BenchTool compare} diffs against a baseline.
+ * <p>
+ * {@code mvn -Ploadtest verify -Dloadtest.args="-rate 500 -duration 60s -report target/loadtest-report.json"}
+ */
+public final class LoadTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        OperationMix mix = OperationMix.parse(options.mix());
+        EmbeddedServer server = null;
+        ExecutorService executor = Executors.newFixedThreadPool(options.clientThreads());
+        try {
+            URI base;
+            if (options.target() == null) {
+                server = new EmbeddedServer(options.port());
+                base = URI.create("http://localhost:" + server.start());
+            } else {
+                base = URI.create(options.target());
+            }
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+
+            Dataset data = new Dataset();
+            if (options.dataset()) {
+                if (DAOFactory.isInMemory()) {
+                    throw new IllegalArgumentException("-dataset loads through COPY and needs dao.backend=jdbc");
+                }
+                loadDataset(DatasetSpec.fromProperties(options.asProperties(), "dataset."), data);
+            }
+            seed(client, base, data, options.seedRows(), new Random(options.seed()));
+            LOGGER.info("Seeded {} users, {} tags and {} tasks at {}", data.users.size(), data.tags.size(), data.tasks.size(), base);
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, base, mix, data, options.seed(), options.maxInFlight());
+            if (!options.warmup().isZero()) {
+                LOGGER.info("Warming up for {}s at {}/s", options.warmup().toSeconds(), options.rate());
+                driver.run(options.rate(), options.warmup(), options.window());
+            }
+            LOGGER.info("Measuring for {}s at {}/s", options.duration().toSeconds(), options.rate());
+            RunResults results = driver.run(options.rate(), options.duration(), options.window());
+
+            LatencyReport report = new LatencyReport(results, options, mix);
+            report.print(System.out);
+            if (options.report() != null) {
+                report.write(Path.of(options.report()));
+                LOGGER.info("Report written to {}", options.report());
+            }
+            if (options.archive() != null) {
+                report.archive(options.label()).write(Path.of(options.archive()));
+                LOGGER.info("Archive written to {}", options.archive());
+            }
+        } finally {
+            executor.shutdownNow();
+            if (server != null) {
+                server.close();
+            }
+            ApplicationLifecycle.shutdown();
+        }
+    }
+
+    /**
+     * Runs after the server has started because the application recreates the schema on startup.
+     */
+    private static void loadDataset(DatasetSpec spec, Dataset data) throws Exception {
+        LOGGER.info("Loading {}", spec);
+        DatasetSummary summary;
+        try (Connection connection = DatabaseConfig.getConnection()) {
+            summary = new DatasetGenerator(spec).load(connection);
+        }
+        LOGGER.info("Loaded {}", summary);
+        data.users.addRange(summary.getUsers());
+        data.tags.addRange(summary.getTags());
+        data.tasks.addRange(summary.getTasks());
+    }
+
+    private static void seed(HttpClient client, URI base, Dataset data, int rows, Random random) throws IOException, InterruptedException {
+        for (int i = 0; i < rows; i++) {
+            create(client, base, Operation.USERS_CREATE, data, random);
+            create(client, base, Operation.TAGS_CREATE, data, random);
+        }
+        for (int i = 0; i < rows; i++) {
+            create(client, base, Operation.TASKS_CREATE, data, random);
+        }
+    }
+
+    private static void create(HttpClient client, URI base, Operation operation, Dataset data, Random random)
+            throws IOException, InterruptedException {
+        HttpRequest request = operation.build(base, data, random);
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(operation.getKey() + " returned " + response.statusCode() + " while seeding");
+        }
+        String location = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IllegalStateException(operation.getKey() + " returned no Location header"));
+        operation.createdIds(data).add(OpenLoopDriver.idOf(location));
+    }
+}
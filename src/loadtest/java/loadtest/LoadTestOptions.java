@@ -0,0 +1,137 @@
+package loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Command line options, optionally seeded from a load profile: {@code -profile peak.properties} reads
+ * the same keys (without the dash) from a file, and options given on the command line override it.
+ */
+final class LoadTestOptions {
+    static final String DEFAULT_MIX = "tasks.get=35,tasks.list=3,tasks.create=10,tasks.update=8,tasks.delete=4,"
+            + "tasks.assign-tag=5,users.get=12,users.list=2,users.create=3,users.update=2,users.assign-task=3,"
+            + "tags.get=8,tags.list=2,tags.create=2,tags.update=1";
+
+    private final Properties values = new Properties();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) throws IOException {
+        LoadTestOptions options = new LoadTestOptions();
+        Properties commandLine = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected -name value pairs, got " + args[i]);
+            }
+            commandLine.setProperty(args[i].substring(1), args[++i]);
+        }
+        String profile = commandLine.getProperty("profile");
+        if (profile != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(profile))) {
+                options.values.load(reader);
+            }
+        }
+        options.values.putAll(commandLine);
+        return options;
+    }
+
+    /**
+     * Base URL of an already running server; {@code null} boots the application in embedded Tomcat.
+     */
+    String target() {
+        return values.getProperty("target");
+    }
+
+    int port() {
+        return Integer.parseInt(values.getProperty("port", "0"));
+    }
+
+    double rate() {
+        return Double.parseDouble(values.getProperty("rate", "100"));
+    }
+
+    Duration duration() {
+        return duration(values.getProperty("duration", "30s"));
+    }
+
+    Duration warmup() {
+        return duration(values.getProperty("warmup", "10s"));
+    }
+
+    String mix() {
+        return values.getProperty("mix", DEFAULT_MIX);
+    }
+
+    int seedRows() {
+        return Integer.parseInt(values.getProperty("seed-rows", "100"));
+    }
+
+    /**
+     * Whether to load a generated dataset before seeding, shaped by the {@code dataset.*} options.
+     */
+    boolean dataset() {
+        return Boolean.parseBoolean(values.getProperty("dataset", "false"));
+    }
+
+    long seed() {
+        return Long.parseLong(values.getProperty("seed", "42"));
+    }
+
+    int maxInFlight() {
+        return Integer.parseInt(values.getProperty("max-in-flight", "10000"));
+    }
+
+    int clientThreads() {
+        return Integer.parseInt(values.getProperty("client-threads", "16"));
+    }
+
+    String report() {
+        return values.getProperty("report");
+    }
+
+    /**
+     * Where to write the run as a {@link bench.ResultArchive}, for comparison against a baseline.
+     */
+    String archive() {
+        return values.getProperty("archive");
+    }
+
+    String label() {
+        return values.getProperty("label");
+    }
+
+    /**
+     * Length of the windows the measured phase is split into; each window is one sample per percentile.
+     */
+    Duration window() {
+        return duration(values.getProperty("window", "5s"));
+    }
+
+    Properties asProperties() {
+        Properties copy = new Properties();
+        copy.putAll(values);
+        return copy;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 5m} or a bare number of seconds.
+     */
+    static Duration duration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+}
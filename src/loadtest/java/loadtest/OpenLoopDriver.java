@@ -0,0 +1,101 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a constant arrival rate regardless of how fast responses come back (open loop),
+ * so a slow server builds a queue exactly like it would in production instead of slowing the
+ * generator down. Requests are sent asynchronously; when more than {@code maxInFlight} are outstanding
+ * new ones are dropped and counted rather than delayed, which would hide the overload.
+ */
+final class OpenLoopDriver {
+    private final HttpClient client;
+    private final URI base;
+    private final OperationMix mix;
+    private final Dataset data;
+    private final Random random;
+    private final int maxInFlight;
+
+    OpenLoopDriver(HttpClient client, URI base, OperationMix mix, Dataset data, long seed, int maxInFlight) {
+        this.client = client;
+        this.base = base;
+        this.mix = mix;
+        this.data = data;
+        this.random = new Random(seed);
+        this.maxInFlight = maxInFlight;
+    }
+
+    RunResults run(double ratePerSecond, Duration duration, Duration window) throws InterruptedException {
+        long durationNanos = duration.toNanos();
+        RunResults results = new RunResults(mix.operations(), durationNanos, window.toNanos());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long scheduled = 0;
+        long maxLag = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            long now = System.nanoTime();
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            maxLag = Math.max(maxLag, now - intended);
+            scheduled++;
+            Operation operation = mix.next(random);
+            RunResults.OperationStats stats = results.of(operation);
+            HttpRequest request = operation.build(base, data, random);
+            if (request == null) {
+                stats.skipped.increment();
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                stats.dropped.increment();
+                continue;
+            }
+            send(operation, request, results.windowOf(intended - start), intended, stats, inFlight);
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException((maxInFlight - inFlight.availablePermits()) + " requests still outstanding after 60s");
+        }
+        inFlight.release(maxInFlight);
+        results.finish(System.nanoTime() - start, scheduled, maxLag);
+        return results;
+    }
+
+    private void send(Operation operation, HttpRequest request, int window, long intended, RunResults.OperationStats stats,
+                      Semaphore inFlight) {
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long completed = System.nanoTime();
+            try {
+                if (failure != null) {
+                    stats.recordFailure(window, intended, sent, completed);
+                    return;
+                }
+                stats.record(window, intended, sent, completed, response.statusCode());
+                EntityIds created = operation.createdIds(data);
+                if (created != null && response.statusCode() < 300) {
+                    response.headers().firstValue("Location").ifPresent(location -> created.add(idOf(location)));
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    static long idOf(String location) {
+        return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
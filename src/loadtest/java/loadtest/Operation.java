@@ -0,0 +1,189 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Requests the load generator can issue, named like the keys of the {@code -mix} option.
+ * Each builds its request from ids that currently exist, or returns {@code null} if there are none.
+ */
+enum Operation {
+    TASKS_GET("tasks.get") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tasks.pick(random);
+            return id < 0 ? null : get(base, "/tasks/" + id);
+        }
+    },
+    TASKS_LIST("tasks.list") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return get(base, "/tasks");
+        }
+    },
+    TASKS_CREATE("tasks.create") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return send(base, "POST", "/tasks/", taskJson(null, data, random));
+        }
+    },
+    TASKS_UPDATE("tasks.update") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tasks.pick(random);
+            return id < 0 ? null : send(base, "PUT", "/tasks/", taskJson(id, data, random));
+        }
+    },
+    TASKS_DELETE("tasks.delete") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tasks.remove(random);
+            return id < 0 ? null : send(base, "DELETE", "/tasks/" + id, null);
+        }
+    },
+    TASKS_ASSIGN_TAG("tasks.assign-tag") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long task = data.tasks.pick(random);
+            long tag = data.tags.pick(random);
+            return task < 0 || tag < 0 ? null : send(base, "POST", "/tasks/" + task + "/tags/" + tag, null);
+        }
+    },
+    USERS_GET("users.get") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.users.pick(random);
+            return id < 0 ? null : get(base, "/users/" + id);
+        }
+    },
+    USERS_LIST("users.list") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return get(base, "/users");
+        }
+    },
+    USERS_CREATE("users.create") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return send(base, "POST", "/users/", namedJson(null, "User", random));
+        }
+    },
+    USERS_UPDATE("users.update") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.users.pick(random);
+            return id < 0 ? null : send(base, "PUT", "/users/", namedJson(id, "User", random));
+        }
+    },
+    USERS_DELETE("users.delete") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.users.remove(random);
+            return id < 0 ? null : send(base, "DELETE", "/users/" + id, null);
+        }
+    },
+    USERS_ASSIGN_TASK("users.assign-task") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long user = data.users.pick(random);
+            long task = data.tasks.pick(random);
+            return user < 0 || task < 0 ? null : send(base, "POST", "/users/" + user + "/tasks/" + task, null);
+        }
+    },
+    TAGS_GET("tags.get") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tags.pick(random);
+            return id < 0 ? null : get(base, "/tags/" + id);
+        }
+    },
+    TAGS_LIST("tags.list") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return get(base, "/tags");
+        }
+    },
+    TAGS_CREATE("tags.create") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            return send(base, "POST", "/tags/", namedJson(null, "tag", random));
+        }
+    },
+    TAGS_UPDATE("tags.update") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tags.pick(random);
+            return id < 0 ? null : send(base, "PUT", "/tags/", namedJson(id, "tag", random));
+        }
+    },
+    TAGS_DELETE("tags.delete") {
+        @Override
+        HttpRequest build(URI base, Dataset data, Random random) {
+            long id = data.tags.remove(random);
+            return id < 0 ? null : send(base, "DELETE", "/tags/" + id, null);
+        }
+    };
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Entity collection a successful create adds to, or {@code null} for other operations.
+     */
+    EntityIds createdIds(Dataset data) {
+        return switch (this) {
+            case TASKS_CREATE -> data.tasks;
+            case USERS_CREATE -> data.users;
+            case TAGS_CREATE -> data.tags;
+            default -> null;
+        };
+    }
+
+    abstract HttpRequest build(URI base, Dataset data, Random random);
+
+    static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest send(URI base, String method, String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (json == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String taskJson(Long id, Dataset data, Random random) {
+        long user = data.users.pick(random);
+        int n = random.nextInt(1_000_000);
+        return "{" + (id == null ? "" : "\"id\":" + id + ",")
+                + "\"title\":\"Load test task " + n + "\","
+                + "\"description\":\"Generated by the load test, revision " + n + "\""
+                + (user < 0 ? "" : ",\"assignedUserId\":" + user) + "}";
+    }
+
+    private static String namedJson(Long id, String prefix, Random random) {
+        return "{" + (id == null ? "" : "\"id\":" + id + ",") + "\"name\":\"" + prefix + "-" + random.nextInt(1_000_000) + "\"}";
+    }
+}
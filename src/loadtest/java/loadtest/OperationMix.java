@@ -0,0 +1,66 @@
+package loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice between operations, parsed from {@code tasks.get=40,users.list=2,...}.
+ */
+final class OperationMix {
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final Map<Operation, Double> weights;
+
+    private OperationMix(Map<Operation, Double> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new double[operations.length];
+        double total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    static OperationMix parse(String mix) {
+        Map<Operation, Double> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got " + entry);
+            }
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + mix);
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation next(Random random) {
+        double point = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (point < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    List<Operation> operations() {
+        return new ArrayList<>(weights.keySet());
+    }
+
+    Map<Operation, Double> weights() {
+        return weights;
+    }
+}
@@ -0,0 +1,122 @@
+package loadtest;
+
+import metrics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of one measured phase, per operation.
+ * <p>
+ * Response time runs from the moment the request was <em>scheduled</em> to be sent, not from when it
+ * actually was: if the server stalls, requests that should have gone out during the stall are charged
+ * the time they spent waiting. This is the coordinated-omission correction; service time, measured
+ * from the actual send, is kept alongside to show how much of the latency was queueing.
+ */
+final class RunResults {
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long windowNanos;
+    private long elapsedNanos;
+    private long scheduled;
+    private long maxSchedulingLagNanos;
+
+    RunResults(List<Operation> operations, long durationNanos, long windowNanos) {
+        this.windowNanos = windowNanos;
+        int windows = (int) Math.max(1, (durationNanos + windowNanos - 1) / windowNanos);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats(windows));
+        }
+    }
+
+    /**
+     * Index of the window a request scheduled {@code offsetNanos} into the phase belongs to.
+     */
+    int windowOf(long offsetNanos) {
+        return (int) (offsetNanos / windowNanos);
+    }
+
+    long getWindowNanos() {
+        return windowNanos;
+    }
+
+    OperationStats of(Operation operation) {
+        return stats.get(operation);
+    }
+
+    Map<Operation, OperationStats> all() {
+        return stats;
+    }
+
+    long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    long getScheduled() {
+        return scheduled;
+    }
+
+    long getMaxSchedulingLagNanos() {
+        return maxSchedulingLagNanos;
+    }
+
+    void finish(long elapsedNanos, long scheduled, long maxSchedulingLagNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.scheduled = scheduled;
+        this.maxSchedulingLagNanos = maxSchedulingLagNanos;
+    }
+
+    static final class OperationStats {
+        final LatencyHistogram responseTime = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        /** Responses by status class: index 1 for 1xx through 5 for 5xx. */
+        final AtomicLongArray statusClasses = new AtomicLongArray(6);
+        final LongAdder failures = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        /** Response times split by the window the request was scheduled in. */
+        final LatencyHistogram[] windows;
+
+        OperationStats(int windowCount) {
+            windows = new LatencyHistogram[windowCount];
+            for (int i = 0; i < windowCount; i++) {
+                windows[i] = new LatencyHistogram();
+            }
+        }
+
+        void record(int window, long scheduledNanos, long sentNanos, long completedNanos, int status) {
+            responseTime.record(completedNanos - scheduledNanos);
+            windows[window].record(completedNanos - scheduledNanos);
+            serviceTime.record(completedNanos - sentNanos);
+            statusClasses.incrementAndGet(Math.min(5, Math.max(1, status / 100)));
+        }
+
+        /**
+         * A request that got no HTTP response at all; it still counts toward latency up to the failure.
+         */
+        void recordFailure(int window, long scheduledNanos, long sentNanos, long failedNanos) {
+            responseTime.record(failedNanos - scheduledNanos);
+            windows[window].record(failedNanos - scheduledNanos);
+            serviceTime.record(failedNanos - sentNanos);
+            failures.increment();
+        }
+
+        long completed() {
+            return responseTime.getCount();
+        }
+
+        /**
+         * Client and server errors plus failed requests; a healthy run against a consistent dataset has none.
+         */
+        long errors() {
+            return statusClasses.get(4) + statusClasses.get(5) + failures.sum();
+        }
+    }
+}
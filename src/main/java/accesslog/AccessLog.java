@@ -0,0 +1,63 @@
+package accesslog;
+
+import concurrent.RingBuffer;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Front end of the access log used by the request thread. Errors (status 400 and above) are always
+ * logged and successful requests are sampled; the sampling decision is taken before an entry is built
+ * so unsampled requests allocate nothing. Entries go into a lock-free ring buffer drained by an
+ * {@link AccessLogWriter}; when the buffer is full the entry is dropped and counted instead of blocking.
+ */
+public class AccessLog {
+    private static final AccessLog DISABLED = new AccessLog(false, 0, new RingBuffer<>(2), new Counter());
+    private final boolean enabled;
+    private final double successSampleRate;
+    private final RingBuffer<AccessLogEntry> buffer;
+    private final Counter dropped;
+
+    public AccessLog(boolean enabled, double successSampleRate, RingBuffer<AccessLogEntry> buffer, Counter dropped) {
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+        this.buffer = buffer;
+        this.dropped = dropped;
+    }
+
+    public static AccessLog global() {
+        return AccessLogConfig.accessLog();
+    }
+
+    static AccessLog disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sample rate that applies to a request with the given status, or {@code 0} if it is not to be logged.
+     */
+    public double sampleRateFor(int status) {
+        if (!enabled) {
+            return 0;
+        }
+        if (status >= 400 || successSampleRate >= 1) {
+            return 1;
+        }
+        return successSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < successSampleRate ? successSampleRate : 0;
+    }
+
+    public void log(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    static Counter droppedCounter() {
+        return MetricsRegistry.global().counter("access_log_dropped_total", "Access log entries dropped because the buffer was full");
+    }
+}
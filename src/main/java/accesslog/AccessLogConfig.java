@@ -0,0 +1,41 @@
+package accesslog;
+
+import concurrent.RingBuffer;
+import config.ApplicationLifecycle;
+import config.ApplicationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Builds the global {@link AccessLog} and its writer from {@code access-log.*} properties on first use.
+ */
+final class AccessLogConfig {
+
+    private AccessLogConfig() {
+    }
+
+    static AccessLog accessLog() {
+        return Holder.ACCESS_LOG;
+    }
+
+    private static final class Holder {
+        private static final AccessLog ACCESS_LOG = create();
+
+        private static AccessLog create() {
+            if (!ApplicationProperties.getBoolean("access-log.enabled", false)) {
+                return AccessLog.disabled();
+            }
+            RingBuffer<AccessLogEntry> buffer = new RingBuffer<>(ApplicationProperties.getInt("access-log.buffer-capacity", 8192));
+            AccessLog accessLog = new AccessLog(true, ApplicationProperties.getDouble("access-log.success-sample-rate", 0.1),
+                    buffer, AccessLog.droppedCounter());
+            AccessLogWriter writer = new AccessLogWriter(buffer,
+                    Path.of(ApplicationProperties.get("access-log.directory", System.getProperty("java.io.tmpdir") + "/task-manager-logs")),
+                    ApplicationProperties.getLong("access-log.max-file-bytes", 10L * 1024 * 1024),
+                    ApplicationProperties.getInt("access-log.max-files", 5),
+                    ApplicationProperties.getLong("access-log.interval-ms", 200));
+            writer.start();
+            ApplicationLifecycle.register(writer);
+            return accessLog;
+        }
+    }
+}
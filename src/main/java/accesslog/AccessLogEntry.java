@@ -0,0 +1,80 @@
+package accesslog;
+
+/**
+ * One finished request. Built on the request thread only for requests that were selected for logging.
+ */
+public class AccessLogEntry {
+    private final long timestampMillis;
+    private final String requestId;
+    private final String method;
+    private final String route;
+    private final int status;
+    private final long bytes;
+    private final long durationNanos;
+    private final long dbNanos;
+    private final int statements;
+    private final long rows;
+    private final double sampleRate;
+
+    public AccessLogEntry(long timestampMillis, String requestId, String method, String route, int status, long bytes,
+                          long durationNanos, long dbNanos, int statements, long rows, double sampleRate) {
+        this.timestampMillis = timestampMillis;
+        this.requestId = requestId;
+        this.method = method;
+        this.route = route;
+        this.status = status;
+        this.bytes = bytes;
+        this.durationNanos = durationNanos;
+        this.dbNanos = dbNanos;
+        this.statements = statements;
+        this.rows = rows;
+        this.sampleRate = sampleRate;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Probability with which this entry was kept; {@code 1 / sampleRate} requests are represented by it.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+}
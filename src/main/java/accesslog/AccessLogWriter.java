@@ -0,0 +1,198 @@
+package accesslog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import concurrent.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Drains the access log buffer on a background thread and appends one JSON object per line to
+ * {@value #CURRENT_FILE}. The file stays open between batches, is flushed after each one and is
+ * rolled once it exceeds the size limit, keeping only the newest rolled files.
+ */
+public class AccessLogWriter implements AutoCloseable {
+    static final String CURRENT_FILE = "access.jsonl";
+    private static final String ROLLED_PREFIX = "access-";
+    private static final int BATCH_SIZE = 1024;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessLogWriter.class);
+    private final RingBuffer<AccessLogEntry> buffer;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final long intervalMillis;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private CountingOutputStream out;
+
+    public AccessLogWriter(RingBuffer<AccessLogEntry> buffer, Path directory, long maxFileBytes, int maxFiles,
+                           long intervalMillis) {
+        this.buffer = buffer;
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.intervalMillis = intervalMillis;
+        this.worker = new Thread(this::run, "access-log-writer");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (writeBatch() == 0) {
+                    TimeUnit.MILLISECONDS.sleep(intervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch of entries and returns how many were taken from the buffer.
+     */
+    synchronized int writeBatch() {
+        List<AccessLogEntry> entries = new ArrayList<>();
+        buffer.drain(entries::add, BATCH_SIZE);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        try {
+            if (out == null) {
+                open();
+            }
+            try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+                json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                for (AccessLogEntry entry : entries) {
+                    writeEntry(json, entry);
+                    json.writeRaw('\n');
+                }
+            }
+            out.flush();
+            if (out.count >= maxFileBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error writing {} access log entries to {}", entries.size(), directory, e);
+            closeFile();
+        }
+        return entries.size();
+    }
+
+    static void writeEntry(JsonGenerator json, AccessLogEntry entry) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("ts", Instant.ofEpochMilli(entry.getTimestampMillis()).toString());
+        json.writeStringField("requestId", entry.getRequestId());
+        json.writeStringField("method", entry.getMethod());
+        json.writeStringField("route", entry.getRoute());
+        json.writeNumberField("status", entry.getStatus());
+        json.writeNumberField("bytes", entry.getBytes());
+        json.writeNumberField("durationMs", entry.getDurationNanos() / NANOS_PER_MILLI);
+        json.writeNumberField("dbMs", entry.getDbNanos() / NANOS_PER_MILLI);
+        json.writeNumberField("statements", entry.getStatements());
+        json.writeNumberField("rows", entry.getRows());
+        json.writeNumberField("sampleRate", entry.getSampleRate());
+        json.writeEndObject();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path current = directory.resolve(CURRENT_FILE);
+        out = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(current,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)), Files.size(current));
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing access log", e);
+            }
+            out = null;
+        }
+    }
+
+    private void roll() throws IOException {
+        closeFile();
+        Files.move(directory.resolve(CURRENT_FILE), directory.resolve(ROLLED_PREFIX + System.currentTimeMillis() + ".jsonl"));
+        List<Path> rolled;
+        try (Stream<Path> files = Files.list(directory)) {
+            rolled = files.filter(path -> path.getFileName().toString().startsWith(ROLLED_PREFIX))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList();
+        }
+        for (int i = 0; i < rolled.size() - maxFiles; i++) {
+            Files.deleteIfExists(rolled.get(i));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (writeBatch() > 0) {
+            // flush what is left so the last requests are not lost on shutdown
+        }
+        synchronized (this) {
+            closeFile();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        CountingOutputStream(OutputStream delegate, long count) {
+            this.delegate = delegate;
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
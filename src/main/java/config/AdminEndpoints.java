@@ -0,0 +1,73 @@
+package config;
+
+import controller.FaultController;
+import controller.HotKeysController;
+import controller.JfrController;
+import controller.QueryStatsController;
+import faults.FaultInjector;
+import filter.AdminTokenFilter;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the admin servlets that can change or expose process state. Each one is opt-in, and none is
+ * mapped unless {@code admin.token} is set; all of them sit behind {@link AdminTokenFilter}.
+ */
+@WebListener
+public class AdminEndpoints implements ServletContextListener {
+    static final String TOKEN_PROPERTY = "admin.token";
+    static final String JFR_PROPERTY = "jfr.admin.enabled";
+    static final String QUERY_STATS_PROPERTY = "jdbc.query-stats.admin.enabled";
+    static final String HOT_KEYS_PROPERTY = "hotkeys.admin.enabled";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminEndpoints.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServletContext context = sce.getServletContext();
+        String token = ApplicationProperties.get(TOKEN_PROPERTY, "");
+        List<String> servletNames = new ArrayList<>();
+        if (ApplicationProperties.getBoolean(JFR_PROPERTY, false)) {
+            if (register(context, token, JFR_PROPERTY, "jfr-admin", new JfrController(), "/admin/jfr/*")) {
+                servletNames.add("jfr-admin");
+            }
+        }
+        if (ApplicationProperties.getBoolean(QUERY_STATS_PROPERTY, false)) {
+            if (register(context, token, QUERY_STATS_PROPERTY, "queries-admin", new QueryStatsController(), "/admin/queries")) {
+                servletNames.add("queries-admin");
+            }
+        }
+        if (ApplicationProperties.getBoolean(HOT_KEYS_PROPERTY, false)) {
+            if (register(context, token, HOT_KEYS_PROPERTY, "hotkeys-admin", new HotKeysController(), "/admin/hotkeys")) {
+                servletNames.add("hotkeys-admin");
+            }
+        }
+        if (FaultInjector.global().isInstalled()) {
+            if (register(context, token, "faults.enabled", "faults-admin", new FaultController(), "/admin/faults")) {
+                servletNames.add("faults-admin");
+            }
+        }
+        if (!servletNames.isEmpty()) {
+            FilterRegistration.Dynamic guard = context.addFilter("admin-token", new AdminTokenFilter(token));
+            guard.addMappingForServletNames(null, false, servletNames.toArray(new String[0]));
+        }
+    }
+
+    private static boolean register(ServletContext context, String token, String property, String name,
+                                    Servlet servlet, String mapping) {
+        if (token.isBlank()) {
+            LOGGER.warn("{} is set but {} is not; {} stays unmapped", property, TOKEN_PROPERTY, mapping);
+            return false;
+        }
+        context.addServlet(name, servlet).addMapping(mapping);
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package config;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+@WebListener
+public class ApplicationLifecycle implements ServletContextListener {
+    private static final Deque<AutoCloseable> RESOURCES = new ArrayDeque<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationLifecycle.class);
+
+    public static synchronized void register(AutoCloseable resource) {
+        RESOURCES.push(resource);
+    }
+
+    public static synchronized void shutdown() {
+        while (!RESOURCES.isEmpty()) {
+            AutoCloseable resource = RESOURCES.pop();
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOGGER.error("Error closing {}", resource, e);
+            }
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        shutdown();
+    }
+}
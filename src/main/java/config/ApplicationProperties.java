@@ -0,0 +1,76 @@
+package config;
+
+import exception.ConfigurationException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Properties;
+
+public class ApplicationProperties {
+    private static final String ROOT_PATH;
+    private static final String CONFIG_PATH;
+    private static final Properties PROPERTIES = new Properties();
+
+    private ApplicationProperties() {
+    }
+
+    static {
+        ROOT_PATH = Objects.requireNonNull(Thread.currentThread().getContextClassLoader().getResource("")).getPath().replace("%20", " ");
+        CONFIG_PATH = ROOT_PATH + "database.properties";
+        try (FileInputStream inputStream = new FileInputStream(CONFIG_PATH)) {
+            PROPERTIES.load(inputStream);
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to load database configuration", e);
+        }
+    }
+
+    public static String get(String key) {
+        return value(key);
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = value(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = value(key);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = value(key);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid long for " + key + ": " + value, e);
+        }
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        String value = value(key);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = value(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * A system property with the same key wins over the file, so a single run (a load test, a benchmark)
+     * can override a setting without editing database.properties.
+     */
+    private static String value(String key) {
+        return System.getProperty(key, PROPERTIES.getProperty(key));
+    }
+}
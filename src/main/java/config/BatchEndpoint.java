@@ -0,0 +1,23 @@
+package config;
+
+import controller.BatchController;
+import factory.impl.DAOFactory;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Maps {@code /batch} for the JDBC backend only. A batch runs as one database transaction, which the
+ * in-memory backend has no equivalent for, so with {@code dao.backend=memory} the endpoint is absent
+ * and no connection pool is started for it.
+ */
+@WebListener
+public class BatchEndpoint implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        if (!DAOFactory.isInMemory()) {
+            sce.getServletContext().addServlet("batch", BatchController.class).addMapping("/batch");
+        }
+    }
+}
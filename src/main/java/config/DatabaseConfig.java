@@ -2,21 +2,30 @@ package config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import exception.ConfigurationException;
+import faults.FaultInjector;
+import health.DatabaseHealth;
+import jdbc.DeadlineStatementListener;
+import jdbc.JdbcProxies;
+import jdbc.PoolTelemetry;
+import jdbc.QueryStatistics;
+import jdbc.RequestTimingListener;
+import jdbc.SlowQueryLog;
+import jdbc.StatementListenerChain;
+import jfr.JfrStatementListener;
+import metrics.MetricsRegistry;
+import tracing.Tracer;
+import tracing.TracingStatementListener;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Objects;
-import java.util.Properties;
 
 public class DatabaseConfig {
-    private static final String ROOT_PATH;
-    private static final String DB_CONFIG_PATH;
-    private static final Properties PROPERTIES = new Properties();
     private static final HikariConfig HIKARI_CONFIG = new HikariConfig();
     private static final HikariDataSource HIKARI_DATA_SOURCE;
+    private static final DataSource DATA_SOURCE;
+    private static final Connection REQUEST_SCOPED_CONNECTION;
+    private static final DatabaseHealth HEALTH;
     private static final String JDBC_URL;
     private static final String USERNAME;
     private static final String PASSWORD;
@@ -25,24 +34,70 @@ public class DatabaseConfig {
     }
 
     static {
-        ROOT_PATH = Objects.requireNonNull(Thread.currentThread().getContextClassLoader().getResource("")).getPath().replace("%20", " ");
-        DB_CONFIG_PATH = ROOT_PATH + "database.properties";
-        try {
-            PROPERTIES.load(new FileInputStream(DB_CONFIG_PATH));
-        } catch (IOException e) {
-            throw new ConfigurationException("Failed to load database configuration", e);
-        }
-        JDBC_URL = PROPERTIES.getProperty("database.url");
-        USERNAME = PROPERTIES.getProperty("database.username");
-        PASSWORD = PROPERTIES.getProperty("database.password");
+        JDBC_URL = ApplicationProperties.get("database.url");
+        USERNAME = ApplicationProperties.get("database.username");
+        PASSWORD = ApplicationProperties.get("database.password");
         HIKARI_CONFIG.setDriverClassName(org.postgresql.Driver.class.getName());
         HIKARI_CONFIG.setJdbcUrl(JDBC_URL);
         HIKARI_CONFIG.setUsername(USERNAME);
         HIKARI_CONFIG.setPassword(PASSWORD);
+        HIKARI_CONFIG.setPoolName(ApplicationProperties.get("database.pool.name", "task-manager"));
+        HIKARI_CONFIG.setMaximumPoolSize(ApplicationProperties.getInt("database.pool.maximum-size", 10));
+        HIKARI_CONFIG.setMinimumIdle(ApplicationProperties.getInt("database.pool.minimum-idle", HIKARI_CONFIG.getMaximumPoolSize()));
+        HIKARI_CONFIG.setConnectionTimeout(ApplicationProperties.getLong("database.pool.connection-timeout-ms", 30000));
+        HIKARI_CONFIG.setValidationTimeout(ApplicationProperties.getLong("database.pool.validation-timeout-ms", 5000));
+        HIKARI_CONFIG.setIdleTimeout(ApplicationProperties.getLong("database.pool.idle-timeout-ms", 600000));
+        HIKARI_CONFIG.setMaxLifetime(ApplicationProperties.getLong("database.pool.max-lifetime-ms", 1800000));
+        HIKARI_CONFIG.setKeepaliveTime(ApplicationProperties.getLong("database.pool.keepalive-time-ms", 0));
         HIKARI_DATA_SOURCE = new HikariDataSource(HIKARI_CONFIG);
+
+        PoolTelemetry poolTelemetry = new PoolTelemetry(MetricsRegistry.global(),
+                ApplicationProperties.getLong("database.pool.leak-detection-threshold-ms", 0),
+                ApplicationProperties.getBoolean("database.pool.leak-detection.capture-stacks", true));
+        poolTelemetry.registerPool(HIKARI_DATA_SOURCE.getHikariPoolMXBean(), HIKARI_CONFIG.getMaximumPoolSize());
+        ApplicationLifecycle.register(poolTelemetry);
+        FaultInjector faultInjector = FaultInjector.global();
+        DataSource pooled = poolTelemetry.wrap(faultInjector.wrapAcquire(HIKARI_DATA_SOURCE));
+        HEALTH = new DatabaseHealth(HIKARI_DATA_SOURCE.getHikariPoolMXBean(), HIKARI_CONFIG.getMaximumPoolSize(), pooled,
+                poolTelemetry::getRecentAcquireNanos,
+                ApplicationProperties.getLong("health.validation.interval-ms", 1000),
+                ApplicationProperties.getInt("health.validation.timeout-seconds", 2),
+                ApplicationProperties.getLong("health.ready.max-acquire-ms", 500),
+                ApplicationProperties.getInt("health.ready.max-pending-threads", 5));
+        ApplicationLifecycle.register(HEALTH);
+
+        SlowQueryLog slowQueryLog = new SlowQueryLog(
+                ApplicationProperties.getLong("jdbc.slow-query-ms", 200),
+                ApplicationProperties.getDouble("jdbc.explain.sample-rate", 0.1),
+                ApplicationProperties.getLong("jdbc.explain.min-interval-ms", 60000),
+                pooled);
+        ApplicationLifecycle.register(slowQueryLog);
+        StatementListenerChain.global().add(new DeadlineStatementListener());
+        StatementListenerChain.global().add(QueryStatistics.global());
+        StatementListenerChain.global().add(new RequestTimingListener());
+        StatementListenerChain.global().add(new TracingStatementListener(Tracer.global()));
+        StatementListenerChain.global().add(new JfrStatementListener());
+        StatementListenerChain.global().add(slowQueryLog);
+        DATA_SOURCE = JdbcProxies.wrap(faultInjector.wrapStatements(pooled), StatementListenerChain.global());
+        REQUEST_SCOPED_CONNECTION = JdbcProxies.requestScoped(DATA_SOURCE);
     }
 
     public static Connection getConnection() throws SQLException {
-        return HIKARI_DATA_SOURCE.getConnection();
+        return DATA_SOURCE.getConnection();
+    }
+
+    /**
+     * Shared handle for long-lived DAOs: each request borrows its own pooled connection through it.
+     */
+    public static Connection getRequestScopedConnection() {
+        return REQUEST_SCOPED_CONNECTION;
+    }
+
+    public static DataSource getDataSource() {
+        return DATA_SOURCE;
+    }
+
+    public static DatabaseHealth getHealth() {
+        return HEALTH;
     }
 }
@@ -1,6 +1,7 @@
 package config;
 
 import exception.DatabaseOperationException;
+import factory.impl.IdAllocatorFactory;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -10,7 +11,9 @@ import java.sql.Statement;
 
 public class InitSQLScheme {
     private static final String SCHEME = "sql/schema.sql";
+    private static final String BLOCK_ALLOCATION = "sql/block-allocation.sql";
     private static String schemeSql;
+    private static String blockAllocationSql;
 
     static {
         loadInitSQL();
@@ -23,14 +26,22 @@ public class InitSQLScheme {
         try (Connection connection = DatabaseConfig.getConnection();
              Statement statement = connection.createStatement()) {
             statement.execute(schemeSql);
+            if (IdAllocatorFactory.isBlockAllocationEnabled()) {
+                statement.execute(blockAllocationSql);
+            }
         } catch (SQLException e) {
             throw new DatabaseOperationException("Database error", e);
         }
     }
 
     private static void loadInitSQL() {
-        try (InputStream inFile = InitSQLScheme.class.getClassLoader().getResourceAsStream(SCHEME)) {
-            schemeSql = new String(inFile.readAllBytes(), StandardCharsets.UTF_8);
+        schemeSql = load(SCHEME);
+        blockAllocationSql = load(BLOCK_ALLOCATION);
+    }
+
+    private static String load(String resource) {
+        try (InputStream inFile = InitSQLScheme.class.getClassLoader().getResourceAsStream(resource)) {
+            return new String(inFile.readAllBytes(), StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new IllegalStateException();
         }
@@ -0,0 +1,55 @@
+package config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import context.RequestTimings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * ObjectMapper that adds the time spent serializing responses to the request's Server-Timing.
+ */
+public class TimedObjectMapper extends ObjectMapper {
+
+    @Override
+    public void writeValue(OutputStream out, Object value) throws IOException {
+        long start = RequestTimings.start();
+        try {
+            super.writeValue(out, value);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.SERIALIZATION, start);
+        }
+    }
+
+    @Override
+    public void writeValue(Writer writer, Object value) throws IOException {
+        long start = RequestTimings.start();
+        try {
+            super.writeValue(writer, value);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.SERIALIZATION, start);
+        }
+    }
+
+    @Override
+    public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+        long start = RequestTimings.start();
+        try {
+            return super.writeValueAsBytes(value);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.SERIALIZATION, start);
+        }
+    }
+
+    @Override
+    public String writeValueAsString(Object value) throws JsonProcessingException {
+        long start = RequestTimings.start();
+        try {
+            return super.writeValueAsString(value);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.SERIALIZATION, start);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package context;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically cancels requests whose deadline has passed. Statement timeouts only have
+ * second granularity, so this keeps cancellation close to the millisecond deadline.
+ */
+public class DeadlineWatchdog implements AutoCloseable {
+    private final ScheduledExecutorService executor;
+
+    public DeadlineWatchdog(long intervalMillis) {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-deadline-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(DeadlineWatchdog::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    static void sweep() {
+        for (RequestContext context : RequestContext.active()) {
+            if (!context.isCancelled() && context.isExpired()) {
+                context.cancel("deadline exceeded");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
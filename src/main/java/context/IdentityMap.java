@@ -0,0 +1,70 @@
+package context;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * First-level cache of loaded entities for a single request. Entries are grouped by region
+ * (for example {@code "task"} or {@code "task.tags"}) and keyed by id, so repeated loads of
+ * the same row within one request return the same instance without another query.
+ */
+public class IdentityMap {
+
+    private final Map<String, Map<Long, Object>> regions = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String region, Long id) {
+        Map<Long, Object> entries = regions.get(region);
+        return entries == null ? null : (T) entries.get(id);
+    }
+
+    public void put(String region, Long id, Object value) {
+        regions.computeIfAbsent(region, key -> new HashMap<>()).put(id, value);
+    }
+
+    public void clear() {
+        regions.clear();
+    }
+
+    public static <T> T find(String region, Long id, Supplier<T> loader) {
+        IdentityMap identityMap = current();
+        if (identityMap == null || id == null) {
+            return loader.get();
+        }
+        T cached = identityMap.get(region, id);
+        if (cached != null) {
+            return cached;
+        }
+        T loaded = loader.get();
+        if (loaded != null) {
+            identityMap.put(region, id, loaded);
+        }
+        return loaded;
+    }
+
+    public static <T> T canonical(String region, Long id, T loaded) {
+        IdentityMap identityMap = current();
+        if (identityMap == null || id == null) {
+            return loaded;
+        }
+        T cached = identityMap.get(region, id);
+        if (cached != null) {
+            return cached;
+        }
+        identityMap.put(region, id, loaded);
+        return loaded;
+    }
+
+    public static void invalidate() {
+        IdentityMap identityMap = current();
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+    }
+
+    private static IdentityMap current() {
+        RequestContext context = RequestContext.current();
+        return context == null ? null : context.getIdentityMap();
+    }
+}
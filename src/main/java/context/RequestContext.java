@@ -0,0 +1,201 @@
+package context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tracing.Span;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State bound to the thread that is serving one HTTP request. Opened and closed by
+ * {@link filter.RequestContextFilter}; code running outside a request sees no context.
+ * <p>
+ * A context may carry a deadline. Statements registered while it is running are cancelled
+ * from another thread when the deadline passes or the client goes away.
+ */
+public final class RequestContext {
+
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+    private static final Set<RequestContext> ACTIVE = ConcurrentHashMap.newKeySet();
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestContext.class);
+
+    private final IdentityMap identityMap = new IdentityMap();
+    private final Set<Statement> runningStatements = ConcurrentHashMap.newKeySet();
+    private volatile long deadlineNanos;
+    private volatile boolean hasDeadline;
+    private volatile String cancelReason;
+    private String route;
+    private String requestId;
+    private RequestTimings timings;
+    private Span currentSpan;
+    private Connection leasedConnection;
+
+    private RequestContext() {
+    }
+
+    public static RequestContext begin() {
+        RequestContext context = new RequestContext();
+        CURRENT.set(context);
+        ACTIVE.add(context);
+        return context;
+    }
+
+    public static void end() {
+        RequestContext context = CURRENT.get();
+        if (context != null) {
+            ACTIVE.remove(context);
+            context.releaseConnection();
+        }
+        CURRENT.remove();
+    }
+
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    public static Collection<RequestContext> active() {
+        return Collections.unmodifiableSet(ACTIVE);
+    }
+
+    public IdentityMap getIdentityMap() {
+        return identityMap;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    /**
+     * Phase timings for the Server-Timing header, or {@code null} when they are not being collected.
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    public void enableTimings() {
+        timings = new RequestTimings();
+    }
+
+    /**
+     * Innermost open span of this request, or {@code null} when the request is not being traced.
+     */
+    public Span getCurrentSpan() {
+        return currentSpan;
+    }
+
+    public void setCurrentSpan(Span currentSpan) {
+        this.currentSpan = currentSpan;
+    }
+
+    /**
+     * Route name the request was matched to, e.g. {@code GET /tasks/{id}}, or {@code null} if unrouted.
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    /**
+     * Connection borrowed from {@code dataSource} for the rest of this request; it is returned to
+     * the pool when the request ends, so every DAO call in the request shares one connection.
+     */
+    public Connection leaseConnection(DataSource dataSource) throws SQLException {
+        if (leasedConnection == null) {
+            leasedConnection = dataSource.getConnection();
+        }
+        return leasedConnection;
+    }
+
+    private void releaseConnection() {
+        if (leasedConnection == null) {
+            return;
+        }
+        try {
+            leasedConnection.close();
+        } catch (SQLException e) {
+            LOGGER.error("Error returning request connection to the pool", e);
+        } finally {
+            leasedConnection = null;
+        }
+    }
+
+    public void setTimeout(long timeoutMillis) {
+        deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        hasDeadline = true;
+    }
+
+    /**
+     * Milliseconds left before the deadline, {@code 0} once it has passed, or {@link #NO_DEADLINE}.
+     */
+    public long remainingMillis() {
+        if (!hasDeadline) {
+            return NO_DEADLINE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return hasDeadline && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    public void cancel(String reason) {
+        if (cancelReason != null) {
+            return;
+        }
+        cancelReason = reason;
+        for (Statement statement : runningStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // the statement may already have finished; nothing else to release
+            }
+        }
+    }
+
+    public void registerStatement(Statement statement) throws SQLException {
+        checkRunnable();
+        runningStatements.add(statement);
+        if (cancelReason != null) {
+            runningStatements.remove(statement);
+            throw new SQLTimeoutException("Request cancelled: " + cancelReason);
+        }
+    }
+
+    public void unregisterStatement(Statement statement) {
+        runningStatements.remove(statement);
+    }
+
+    public void checkRunnable() throws SQLException {
+        if (cancelReason == null && isExpired()) {
+            cancel("deadline exceeded");
+        }
+        if (cancelReason != null) {
+            throw new SQLTimeoutException("Request cancelled: " + cancelReason);
+        }
+    }
+}
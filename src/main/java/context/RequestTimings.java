@@ -0,0 +1,92 @@
+package context;
+
+import java.util.Locale;
+
+/**
+ * Wall time spent in each phase of a request, reported in the {@code Server-Timing} header and the
+ * access log. Only allocated when one of those is enabled; recording is a no-op otherwise.
+ */
+public class RequestTimings {
+
+    public enum Phase {
+        ACQUIRE("db-acquire"),
+        SQL("sql"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private long rows;
+
+    /**
+     * Start timestamp for {@link #record}, or {@code 0} when the current request is not timed.
+     */
+    public static long start() {
+        RequestContext context = RequestContext.current();
+        return context != null && context.getTimings() != null ? System.nanoTime() : 0;
+    }
+
+    public static void record(Phase phase, long start) {
+        if (start != 0) {
+            add(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void add(Phase phase, long elapsedNanos) {
+        RequestContext context = RequestContext.current();
+        if (context != null && context.getTimings() != null) {
+            context.getTimings().nanos[phase.ordinal()] += elapsedNanos;
+            context.getTimings().counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * Adds rows read or updated by a statement of the current request.
+     */
+    public static void addRows(long rows) {
+        RequestContext context = RequestContext.current();
+        if (context != null && context.getTimings() != null) {
+            context.getTimings().rows += rows;
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public int getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public String toHeader(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(phase.getMetricName()).append(";dur=").append(millis(nanos[phase.ordinal()]));
+            if (phase == Phase.SQL) {
+                header.append(";desc=\"").append(counts[phase.ordinal()]).append(" statements\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+}
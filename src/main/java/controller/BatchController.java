@@ -0,0 +1,94 @@
+package controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.BatchOperationDTO;
+import dto.BatchResponseDTO;
+import dto.BatchResultDTO;
+import exception.ServiceException;
+import factory.impl.BatchControllerFactory;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.BatchService;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Runs up to {@value #MAX_OPERATIONS} operations in one transaction: {@code POST /batch}. Only mapped for
+ * the JDBC backend, see {@link config.BatchEndpoint}.
+ */
+public class BatchController extends HttpServlet {
+
+    static final int MAX_OPERATIONS = 100;
+    private static final TypeReference<List<BatchOperationDTO>> OPERATIONS_TYPE = new TypeReference<>() {
+    };
+    private final transient BatchService batchService;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchController.class);
+
+    public BatchController(BatchService batchService, ObjectMapper objectMapper) {
+        this.batchService = batchService;
+        this.objectMapper = objectMapper;
+    }
+
+    public BatchController() {
+        BatchController controller = BatchControllerFactory.createBatchController();
+        this.batchService = controller.batchService;
+        this.objectMapper = controller.objectMapper;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
+        List<BatchOperationDTO> operations;
+        try {
+            operations = objectMapper.readValue(req.getInputStream(), OPERATIONS_TYPE);
+        } catch (IOException e) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Invalid batch", resp);
+            return;
+        }
+        if (operations == null || operations.isEmpty()) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Batch cannot be empty", resp);
+            return;
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Batch cannot exceed " + MAX_OPERATIONS + " operations", resp);
+            return;
+        }
+        try {
+            BatchResponseDTO response = batchService.execute(operations);
+            resp.setStatus(statusOf(response));
+            writeResponse(resp, response);
+        } catch (ServiceException e) {
+            LOGGER.error("Error executing batch", e);
+            handleSendErrorException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to execute batch", resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing batch response", e);
+            handleSendErrorException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error handling request", resp);
+        }
+    }
+
+    int statusOf(BatchResponseDTO response) {
+        if (response.isCommitted()) {
+            return HttpServletResponse.SC_OK;
+        }
+        List<BatchResultDTO> results = response.getResults();
+        return results.isEmpty() ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : results.get(results.size() - 1).getStatus();
+    }
+
+    void writeResponse(HttpServletResponse resp, Object data) throws IOException {
+        resp.setContentType("application/json");
+        objectMapper.writeValue(resp.getOutputStream(), data);
+    }
+
+    void handleSendErrorException(int statusCode, String message, HttpServletResponse resp) {
+        try {
+            resp.sendError(statusCode, message);
+        } catch (IOException e) {
+            LOGGER.error("Error sending error response", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import faults.FaultInjector;
+import faults.FaultPlan;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Runtime control of database fault injection: {@code GET /admin/faults} reports the active plan and
+ * how many faults were injected, {@code PUT /admin/faults} replaces the plan and
+ * {@code DELETE /admin/faults} turns injection off. Only mapped when {@code faults.enabled} and
+ * {@code admin.token} are set, see {@link config.AdminEndpoints}.
+ */
+public class FaultController extends HttpServlet {
+    private final transient FaultInjector faultInjector;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(FaultController.class);
+
+    public FaultController(FaultInjector faultInjector, ObjectMapper objectMapper) {
+        this.faultInjector = faultInjector;
+        this.objectMapper = objectMapper;
+    }
+
+    public FaultController() {
+        this(FaultInjector.global(), new ObjectMapper());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        try {
+            writeStatus(resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing fault status", e);
+        }
+    }
+
+    @Override
+    protected void doPut(HttpServletRequest req, HttpServletResponse resp) {
+        FaultPlan plan;
+        try {
+            plan = objectMapper.readValue(req.getInputStream(), FaultPlan.class);
+        } catch (IOException e) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Invalid fault plan", resp);
+            return;
+        }
+        try {
+            faultInjector.setPlan(plan);
+            LOGGER.warn("Database fault injection plan replaced");
+            writeStatus(resp);
+        } catch (IllegalStateException e) {
+            handleSendErrorException(HttpServletResponse.SC_CONFLICT, e.getMessage(), resp);
+        } catch (IllegalArgumentException e) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing fault status", e);
+        }
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest req, HttpServletResponse resp) {
+        faultInjector.clear();
+        LOGGER.warn("Database fault injection cleared");
+        resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    private void writeStatus(HttpServletResponse resp) throws IOException {
+        resp.setContentType("application/json");
+        objectMapper.writeValue(resp.getOutputStream(), faultInjector.status());
+    }
+
+    void handleSendErrorException(int statusCode, String message, HttpServletResponse resp) {
+        try {
+            resp.sendError(statusCode, message);
+        } catch (IOException e) {
+            LOGGER.error("Error sending error response", e);
+        }
+    }
+}
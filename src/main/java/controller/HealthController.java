@@ -0,0 +1,85 @@
+package controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.DatabaseConfig;
+import factory.impl.DAOFactory;
+import health.DatabaseHealth;
+import health.HealthReport;
+import health.Liveness;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Load balancer probes: {@code GET /health/live} and {@code GET /health/ready}. Both answer 200 when
+ * up and 503 with the reasons when down.
+ */
+@WebServlet("/health/*")
+public class HealthController extends HttpServlet {
+    private final transient Supplier<DatabaseHealth> databaseHealth;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthController.class);
+
+    public HealthController(Supplier<DatabaseHealth> databaseHealth, ObjectMapper objectMapper) {
+        this.databaseHealth = databaseHealth;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * With the in-memory DAO backend there is no database to be ready for.
+     */
+    public HealthController() {
+        this(DAOFactory.isInMemory() ? null : DatabaseConfig::getHealth, new ObjectMapper());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        String pathInfo = req.getPathInfo();
+        if ("/live".equals(pathInfo)) {
+            writeReport(resp, Liveness.check());
+        } else if ("/ready".equals(pathInfo)) {
+            writeReport(resp, readiness());
+        } else {
+            handleSendErrorException(HttpServletResponse.SC_NOT_FOUND, "Invalid path", resp);
+        }
+    }
+
+    private HealthReport readiness() {
+        if (databaseHealth == null) {
+            return new HealthReport(true, List.of(), Map.of());
+        }
+        try {
+            return databaseHealth.get().check();
+        } catch (LinkageError e) {
+            // DatabaseConfig failed to initialise, e.g. the database was unreachable at startup
+            return new HealthReport(false, List.of("database is not initialised: " + e), Map.of());
+        }
+    }
+
+    private void writeReport(HttpServletResponse resp, HealthReport report) {
+        resp.setStatus(report.isUp() ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        resp.setHeader("Cache-Control", "no-store");
+        resp.setContentType("application/json");
+        try {
+            objectMapper.writeValue(resp.getOutputStream(), report);
+        } catch (IOException e) {
+            LOGGER.error("Error writing health report", e);
+        }
+    }
+
+    void handleSendErrorException(int statusCode, String message, HttpServletResponse resp) {
+        try {
+            resp.sendError(statusCode, message);
+        } catch (IOException e) {
+            LOGGER.error("Error sending error response", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hotkeys.HotKeys;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Most frequently read and written ids per entity: {@code GET /admin/hotkeys?window=<seconds>&limit=<n>}.
+ * The window defaults to the longest one tracked. Only mapped when {@code hotkeys.admin.enabled} and
+ * {@code admin.token} are set, see {@link config.AdminEndpoints}.
+ */
+public class HotKeysController extends HttpServlet {
+    private static final int DEFAULT_LIMIT = 20;
+    private final transient HotKeys hotKeys;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HotKeysController.class);
+
+    public HotKeysController(HotKeys hotKeys, ObjectMapper objectMapper) {
+        this.hotKeys = hotKeys;
+        this.objectMapper = objectMapper;
+    }
+
+    public HotKeysController() {
+        this(HotKeys.global(), new ObjectMapper());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        try {
+            String window = req.getParameter("window");
+            String limit = req.getParameter("limit");
+            Duration duration = window == null ? hotKeys.getMaxWindow() : Duration.ofSeconds(positive(window));
+            int count = limit == null ? DEFAULT_LIMIT : (int) positive(limit);
+            resp.setContentType("application/json");
+            objectMapper.writeValue(resp.getOutputStream(), hotKeys.snapshot(duration, count));
+        } catch (NumberFormatException e) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Invalid window or limit", resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing hot keys", e);
+        }
+    }
+
+    private static long positive(String value) {
+        long parsed = Long.parseLong(value.trim());
+        if (parsed <= 0 || parsed > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Expected a positive number: " + value);
+        }
+        return parsed;
+    }
+
+    void handleSendErrorException(int statusCode, String message, HttpServletResponse resp) {
+        try {
+            resp.sendError(statusCode, message);
+        } catch (IOException e) {
+            LOGGER.error("Error sending error response", e);
+        }
+    }
+}
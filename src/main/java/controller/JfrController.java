@@ -0,0 +1,122 @@
+package controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import exception.ServiceException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jfr.RecordingManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Admin access to Flight Recorder: {@code POST /admin/jfr/start?seconds=&settings=} starts a
+ * time-boxed recording, {@code POST /admin/jfr/stop} ends it early and returns the .jfr file,
+ * {@code GET /admin/jfr/recording} returns the file once it has finished and {@code GET /admin/jfr}
+ * reports the current state. Only mapped when {@code jfr.admin.enabled} and {@code admin.token} are set,
+ * see {@link config.AdminEndpoints}.
+ */
+public class JfrController extends HttpServlet {
+    static final long DEFAULT_SECONDS = 60;
+    static final long MAX_SECONDS = 600;
+    private static final String DEFAULT_SETTINGS = "profile";
+    private final transient RecordingManager recordingManager;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrController.class);
+
+    public JfrController(RecordingManager recordingManager, ObjectMapper objectMapper) {
+        this.recordingManager = recordingManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public JfrController() {
+        this(RecordingManager.global(), new ObjectMapper());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        String pathInfo = req.getPathInfo();
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                writeJson(resp, recordingManager.status());
+            } else if (pathInfo.equals("/recording")) {
+                Path file = recordingManager.finishedFile();
+                if (file == null) {
+                    handleSendErrorException(HttpServletResponse.SC_CONFLICT, "Recording is still running", resp);
+                } else {
+                    writeFile(resp, file);
+                }
+            } else {
+                handleSendErrorException(HttpServletResponse.SC_NOT_FOUND, "Invalid path", resp);
+            }
+        } catch (IllegalStateException e) {
+            handleSendErrorException(HttpServletResponse.SC_NOT_FOUND, e.getMessage(), resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing recording", e);
+            handleSendErrorException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error handling request", resp);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
+        String pathInfo = req.getPathInfo();
+        try {
+            if ("/start".equals(pathInfo)) {
+                Duration duration = Duration.ofSeconds(parseSeconds(req.getParameter("seconds")));
+                String settings = req.getParameter("settings") == null ? DEFAULT_SETTINGS : req.getParameter("settings");
+                resp.setStatus(HttpServletResponse.SC_ACCEPTED);
+                writeJson(resp, recordingManager.start(duration, settings));
+            } else if ("/stop".equals(pathInfo)) {
+                writeFile(resp, recordingManager.stop());
+            } else {
+                handleSendErrorException(HttpServletResponse.SC_NOT_FOUND, "Invalid path", resp);
+            }
+        } catch (NumberFormatException e) {
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, "Invalid seconds", resp);
+        } catch (IllegalStateException e) {
+            handleSendErrorException(HttpServletResponse.SC_CONFLICT, e.getMessage(), resp);
+        } catch (ServiceException e) {
+            LOGGER.error("Error starting recording", e);
+            handleSendErrorException(HttpServletResponse.SC_BAD_REQUEST, e.getMessage(), resp);
+        } catch (IOException e) {
+            LOGGER.error("Error writing recording", e);
+            handleSendErrorException(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error handling request", resp);
+        }
+    }
+
+    static long parseSeconds(String value) {
+        if (value == null) {
+            return DEFAULT_SECONDS;
+        }
+        long seconds = Long.parseLong(value.trim());
+        if (seconds <= 0 || seconds > MAX_SECONDS) {
+            throw new NumberFormatException("seconds must be between 1 and " + MAX_SECONDS);
+        }
+        return seconds;
+    }
+
+    private void writeJson(HttpServletResponse resp, Object data) throws IOException {
+        resp.setContentType("application/json");
+        objectMapper.writeValue(resp.getOutputStream(), data);
+    }
+
+    private void writeFile(HttpServletResponse resp, Path file) throws IOException {
+        resp.setContentType("application/octet-stream");
+        resp.setHeader("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"");
+        resp.setContentLengthLong(Files.size(file));
+        Files.copy(file, resp.getOutputStream());
+    }
+
+    void handleSendErrorException(int statusCode, String message, HttpServletResponse resp) {
+        try {
+            resp.sendError(statusCode, message);
+        } catch (IOException e) {
+            LOGGER.error("Error sending error response", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package controller;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import metrics.MetricsRegistry;
+import metrics.PrometheusFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@WebServlet("/metrics")
+public class MetricsController extends HttpServlet {
+    private final transient MetricsRegistry registry;
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsController.class);
+
+    public MetricsController(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MetricsController() {
+        this(MetricsRegistry.global());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        resp.setContentType(PrometheusFormat.CONTENT_TYPE);
+        try {
+            Writer writer = new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8);
+            PrometheusFormat.write(registry, writer);
+        } catch (IOException e) {
+            LOGGER.error("Error writing metrics", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdbc.QueryStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Per-shape statement statistics: {@code GET /admin/queries}. Only mapped when
+ * {@code jdbc.query-stats.admin.enabled} and {@code admin.token} are set, see {@link config.AdminEndpoints}.
+ */
+public class QueryStatsController extends HttpServlet {
+    private final transient QueryStatistics queryStatistics;
+    private final ObjectMapper objectMapper;
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryStatsController.class);
+
+    public QueryStatsController(QueryStatistics queryStatistics, ObjectMapper objectMapper) {
+        this.queryStatistics = queryStatistics;
+        this.objectMapper = objectMapper;
+    }
+
+    public QueryStatsController() {
+        this(QueryStatistics.global(), new ObjectMapper());
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        resp.setContentType("application/json");
+        try {
+            objectMapper.writeValue(resp.getOutputStream(), queryStatistics.snapshot());
+        } catch (IOException e) {
+            LOGGER.error("Error writing query statistics", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+final class RestResponses {
+
+    static final String HEADER_LOCATION = "Location";
+    static final String HEADER_PREFER = "Prefer";
+    static final String HEADER_PREFERENCE_APPLIED = "Preference-Applied";
+    static final String RETURN_MINIMAL = "return=minimal";
+    static final String RETURN_REPRESENTATION = "return=representation";
+
+    private RestResponses() {
+    }
+
+    static void setLocation(HttpServletRequest req, HttpServletResponse resp, String collection, Long id) {
+        if (id == null) {
+            return;
+        }
+        String contextPath = req.getContextPath() == null ? "" : req.getContextPath();
+        resp.setHeader(HEADER_LOCATION, contextPath + collection + "/" + id);
+    }
+
+    static boolean prefersRepresentation(HttpServletRequest req) {
+        return prefers(req, RETURN_REPRESENTATION);
+    }
+
+    static boolean prefersMinimal(HttpServletRequest req) {
+        return prefers(req, RETURN_MINIMAL);
+    }
+
+    /**
+     * Whether one of the comma-separated preferences in {@code Prefer} is exactly {@code expected}.
+     * Parameters after {@code ;}, whitespace around {@code =} and quotes around the value are ignored.
+     */
+    private static boolean prefers(HttpServletRequest req, String expected) {
+        String prefer = req.getHeader(HEADER_PREFER);
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split(";", 2)[0];
+            int equals = token.indexOf('=');
+            if (equals >= 0) {
+                token = token.substring(0, equals).trim() + "=" + token.substring(equals + 1).trim().replace("\"", "");
+            }
+            if (expected.equalsIgnoreCase(token.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package controller;
+
+import metrics.HttpRoute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Route templates served by the controllers, used to label request metrics.
+ */
+public final class Routes {
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+    private static final List<HttpRoute> ROUTES = new ArrayList<>();
+    private static final Set<HttpRoute> API_ROUTES = Collections.newSetFromMap(new IdentityHashMap<>());
+    public static final HttpRoute UNMATCHED = new HttpRoute("ANY", "", "/unmatched");
+
+    static {
+        resource("/tasks", "tags");
+        resource("/users", "tasks");
+        resource("/tags", "tasks");
+        ROUTES.add(new HttpRoute(POST, "/batch", ""));
+        API_ROUTES.addAll(ROUTES);
+        ROUTES.add(new HttpRoute(GET, "/metrics", ""));
+        ROUTES.add(new HttpRoute(GET, "/admin/queries", ""));
+        ROUTES.add(new HttpRoute(GET, "/admin/hotkeys", ""));
+        ROUTES.add(new HttpRoute(GET, "/health", "/live"));
+        ROUTES.add(new HttpRoute(GET, "/health", "/ready"));
+        ROUTES.add(new HttpRoute(GET, "/admin/jfr", ""));
+        ROUTES.add(new HttpRoute(GET, "/admin/jfr", "/recording"));
+        ROUTES.add(new HttpRoute(POST, "/admin/jfr", "/start"));
+        ROUTES.add(new HttpRoute(POST, "/admin/jfr", "/stop"));
+        ROUTES.add(new HttpRoute(GET, "/admin/faults", ""));
+        ROUTES.add(new HttpRoute(PUT, "/admin/faults", ""));
+        ROUTES.add(new HttpRoute(DELETE, "/admin/faults", ""));
+    }
+
+    private Routes() {
+    }
+
+    private static void resource(String servletPath, String assignment) {
+        ROUTES.add(new HttpRoute(GET, servletPath, ""));
+        ROUTES.add(new HttpRoute(GET, servletPath, "/{id}"));
+        ROUTES.add(new HttpRoute(POST, servletPath, ""));
+        ROUTES.add(new HttpRoute(POST, servletPath, "/{id}/" + assignment + "/{id}"));
+        ROUTES.add(new HttpRoute(PUT, servletPath, ""));
+        ROUTES.add(new HttpRoute(DELETE, servletPath, "/{id}"));
+    }
+
+    /**
+     * Whether the route is part of the REST API, as opposed to metrics, health and admin endpoints.
+     */
+    public static boolean isApi(HttpRoute route) {
+        return API_ROUTES.contains(route);
+    }
+
+    public static HttpRoute match(String method, String servletPath, String pathInfo) {
+        for (int i = 0; i < ROUTES.size(); i++) {
+            HttpRoute route = ROUTES.get(i);
+            if (route.matches(method, servletPath, pathInfo)) {
+                return route;
+            }
+        }
+        return UNMATCHED;
+    }
+}
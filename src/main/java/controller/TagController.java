@@ -20,6 +20,7 @@ import java.util.List;
 
 @WebServlet("/tags/*")
 public class TagController extends HttpServlet {
+    private static final String TAGS_PATH = "/tags";
     private final transient TagService tagService;
     private final ObjectMapper objectMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(TagController.class);
@@ -71,6 +72,12 @@ public class TagController extends HttpServlet {
             }
             tagService.createTag(tagDTO);
             resp.setStatus(HttpServletResponse.SC_CREATED);
+            RestResponses.setLocation(req, resp, TAGS_PATH, tagDTO.getId());
+            try {
+                writeResponse(resp, tagDTO);
+            } catch (IOException e) {
+                handleIOException(e, resp);
+            }
         } else if (pathInfo.matches("/\\d+/tasks/\\d+")) {
             try {
                 String[] pathParts = pathInfo.split("/");
@@ -105,6 +112,19 @@ public class TagController extends HttpServlet {
         }
         try {
             tagService.updateTag(tagDTO);
+            if (RestResponses.prefersRepresentation(req)) {
+                TagDTO updated = tagService.getTagById(tagDTO.getId());
+                if (updated != null) {
+                    updated.setTasks(tagService.getTasksByTagId(updated.getId()));
+                    resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_REPRESENTATION);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeResponse(resp, updated);
+                    return;
+                }
+            }
+            if (RestResponses.prefersMinimal(req)) {
+                resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_MINIMAL);
+            }
             resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         } catch (Exception e) {
             handleError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to update tag");
@@ -163,6 +183,11 @@ public class TagController extends HttpServlet {
         }
     }
 
+    void writeResponse(HttpServletResponse resp, Object data) throws IOException {
+        resp.setContentType("application/json");
+        objectMapper.writeValue(resp.getOutputStream(), data);
+    }
+
     void handleGetAllTags(HttpServletResponse resp) throws IOException {
         try {
             List<TagDTO> tags = tagService.getAllTags();
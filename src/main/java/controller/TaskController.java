@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dto.TagDTO;
 import dto.TaskDTO;
 import exception.ServiceException;
+import exception.WriteBehindRejectedException;
 import factory.impl.TaskControllerFactory;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -19,6 +20,7 @@ import java.util.List;
 @WebServlet("/tasks/*")
 public class TaskController extends HttpServlet {
 
+    private static final String TASKS_PATH = "/tasks";
     private final transient TaskService taskService;
     private final ObjectMapper objectMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskController.class);
@@ -61,8 +63,19 @@ public class TaskController extends HttpServlet {
                     resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid TaskDTO");
                     return;
                 }
-                taskService.createTask(taskDTO);
-                resp.setStatus(HttpServletResponse.SC_CREATED);
+                try {
+                    taskService.createTask(taskDTO);
+                } catch (WriteBehindRejectedException e) {
+                    resp.setHeader("Retry-After", "1");
+                    resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+                    return;
+                } catch (IllegalArgumentException e) {
+                    resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                    return;
+                }
+                resp.setStatus(taskService.isCreateDeferred() ? HttpServletResponse.SC_ACCEPTED : HttpServletResponse.SC_CREATED);
+                RestResponses.setLocation(req, resp, TASKS_PATH, taskDTO.getId());
+                writeResponse(resp, taskDTO);
             } catch (IOException e) {
                 LOGGER.error("Error processing POST request", e);
                 try {
@@ -95,6 +108,19 @@ public class TaskController extends HttpServlet {
                 return;
             }
             taskService.updateTask(taskDTO);
+            if (RestResponses.prefersRepresentation(req)) {
+                TaskDTO updated = taskService.getTaskById(taskDTO.getId());
+                if (updated != null) {
+                    updated.setTags(taskService.getTagsByTaskId(updated.getId()));
+                    resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_REPRESENTATION);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeResponse(resp, updated);
+                    return;
+                }
+            }
+            if (RestResponses.prefersMinimal(req)) {
+                resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_MINIMAL);
+            }
             resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         } catch (IOException e) {
             handleIOException(e, resp);
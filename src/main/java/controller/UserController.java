@@ -21,6 +21,7 @@ import java.util.List;
 @WebServlet("/users/*")
 public class UserController extends HttpServlet {
 
+    private static final String USERS_PATH = "/users";
     private final transient UserService userService;
     private final ObjectMapper objectMapper;
     private static final Logger LOGGER = LoggerFactory.getLogger(UserController.class);
@@ -72,6 +73,12 @@ public class UserController extends HttpServlet {
             }
             userService.createUser(userDTO);
             resp.setStatus(HttpServletResponse.SC_CREATED);
+            RestResponses.setLocation(req, resp, USERS_PATH, userDTO.getId());
+            try {
+                writeResponse(resp, userDTO);
+            } catch (IOException e) {
+                handleIOException(e, resp);
+            }
         } else if (pathInfo.matches("/\\d+/tasks/\\d+")) {
             try {
                 String[] pathParts = pathInfo.split("/");
@@ -106,6 +113,19 @@ public class UserController extends HttpServlet {
         }
         try {
             userService.updateUser(userDTO);
+            if (RestResponses.prefersRepresentation(req)) {
+                UserDTO updated = userService.getUserById(userDTO.getId());
+                if (updated != null) {
+                    updated.setTasks(userService.getTasksByUserId(updated.getId()));
+                    resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_REPRESENTATION);
+                    resp.setStatus(HttpServletResponse.SC_OK);
+                    writeResponse(resp, updated);
+                    return;
+                }
+            }
+            if (RestResponses.prefersMinimal(req)) {
+                resp.setHeader(RestResponses.HEADER_PREFERENCE_APPLIED, RestResponses.RETURN_MINIMAL);
+            }
             resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         } catch (Exception e) {
             handleError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to update user");
@@ -164,6 +184,11 @@ public class UserController extends HttpServlet {
         }
     }
 
+    void writeResponse(HttpServletResponse resp, Object data) throws IOException {
+        resp.setContentType("application/json");
+        objectMapper.writeValue(resp.getOutputStream(), data);
+    }
+
     void handleGetAllUsers(HttpServletResponse resp) throws IOException {
         try {
             List<UserDTO> users = userService.getAllUsers();
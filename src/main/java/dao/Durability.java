@@ -0,0 +1,28 @@
+package dao;
+
+public enum Durability {
+    ON("on"),
+    REMOTE_APPLY("remote_apply"),
+    REMOTE_WRITE("remote_write"),
+    LOCAL("local"),
+    OFF("off");
+
+    private final String setting;
+
+    Durability(String setting) {
+        this.setting = setting;
+    }
+
+    public String getSetting() {
+        return setting;
+    }
+
+    public static Durability fromSetting(String setting) {
+        for (Durability durability : values()) {
+            if (durability.setting.equalsIgnoreCase(setting.trim())) {
+                return durability;
+            }
+        }
+        throw new IllegalArgumentException("Unknown synchronous_commit level: " + setting);
+    }
+}
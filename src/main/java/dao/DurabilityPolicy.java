@@ -0,0 +1,34 @@
+package dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class DurabilityPolicy {
+    public static final String TASKS_CREATE = "tasks.create";
+    public static final String TASKS_UPDATE = "tasks.update";
+    public static final String TASKS_DELETE = "tasks.delete";
+    public static final String TASKS_ASSIGN_TAG = "tasks.assign-tag";
+    public static final String USERS_CREATE = "users.create";
+    public static final String USERS_UPDATE = "users.update";
+    public static final String USERS_DELETE = "users.delete";
+    public static final String USERS_ASSIGN_TASK = "users.assign-task";
+    public static final String TAGS_CREATE = "tags.create";
+    public static final String TAGS_UPDATE = "tags.update";
+    public static final String TAGS_DELETE = "tags.delete";
+    public static final String TAGS_ASSIGN_TASK = "tags.assign-task";
+    public static final DurabilityPolicy STRICT = new DurabilityPolicy(operation -> null);
+    private final Function<String, String> settings;
+    private final Map<String, Durability> resolved = new ConcurrentHashMap<>();
+
+    public DurabilityPolicy(Function<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public Durability forOperation(String operation) {
+        return resolved.computeIfAbsent(operation, key -> {
+            String setting = settings.apply(key);
+            return setting == null ? Durability.ON : Durability.fromSetting(setting);
+        });
+    }
+}
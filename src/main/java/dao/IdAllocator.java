@@ -0,0 +1,11 @@
+package dao;
+
+import java.sql.Connection;
+
+public interface IdAllocator {
+    /**
+     * Next id, reading the sequence through {@code connection} when a round trip is needed. The caller
+     * already holds that connection, so allocating never borrows a second one from the pool.
+     */
+    long nextId(Connection connection);
+}
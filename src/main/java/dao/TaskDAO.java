@@ -8,8 +8,13 @@ import java.util.List;
 public interface TaskDAO {
     void create(Task task);
 
+    void createAll(List<Task> tasks);
+
     Task findById(Long id);
 
+    /**
+     * Every task with its tags loaded, in a fixed number of statements regardless of the row count.
+     */
     List<Task> findAll();
 
     void update(Task task);
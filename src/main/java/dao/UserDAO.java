@@ -10,6 +10,16 @@ public interface UserDAO {
 
     User findById(Long id);
 
+    /**
+     * Whether the user exists, without loading it or its tasks.
+     */
+    default boolean existsById(Long id) {
+        return findById(id) != null;
+    }
+
+    /**
+     * Every user with its tasks loaded, in a fixed number of statements regardless of the row count.
+     */
     List<User> findAll();
 
     void update(User user);
@@ -0,0 +1,54 @@
+package dao.impl;
+
+import dao.Durability;
+import dao.DurabilityPolicy;
+import exception.DatabaseOperationException;
+import metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+final class DurableWrites {
+
+    private DurableWrites() {
+    }
+
+    static void run(Connection connection, DurabilityPolicy policy, String operation, Runnable work) {
+        Durability durability = policy.forOperation(operation);
+        MetricsRegistry.global()
+                .counter("db_writes_total", "Write operations by synchronous_commit level",
+                        "operation", operation, "durability", durability.getSetting())
+                .increment();
+        if (durability == Durability.ON) {
+            work.run();
+            return;
+        }
+        try {
+            boolean ownsTransaction = connection.getAutoCommit();
+            if (ownsTransaction) {
+                connection.setAutoCommit(false);
+            }
+            boolean committed = false;
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL synchronous_commit TO " + durability.getSetting());
+                }
+                work.run();
+                if (ownsTransaction) {
+                    connection.commit();
+                }
+                committed = true;
+            } finally {
+                if (ownsTransaction) {
+                    if (!committed) {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Database error while applying durability " + durability.getSetting(), e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package dao.impl;
+
+import dao.IdAllocator;
+import exception.DatabaseOperationException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids from blocks reserved with a single {@code nextval} each. The block size is the
+ * sequence's own {@code INCREMENT BY}, so every {@code nextval} - ours, another node's or a
+ * column default - owns a disjoint range and ids never collide.
+ * <p>
+ * A refill runs on the caller's connection. Threads that wait for it already hold a connection of
+ * their own and need no other, so refilling can never deadlock the pool.
+ */
+public class HiLoIdAllocator implements IdAllocator {
+    private static final String INCREMENT_SQL = "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?";
+    private static final String NEXTVAL_SQL = "SELECT nextval(CAST(? AS regclass))";
+    private static final Block EXHAUSTED = new Block(0, 0);
+    private final String sequence;
+    private volatile Block block = EXHAUSTED;
+    private long blockSize;
+
+    public HiLoIdAllocator(String sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public long nextId(Connection connection) {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.limit) {
+                return id;
+            }
+            refill(current, connection);
+        }
+    }
+
+    private synchronized void refill(Block exhausted, Connection connection) {
+        if (block != exhausted) {
+            return;
+        }
+        try {
+            if (blockSize == 0) {
+                blockSize = queryLong(connection, INCREMENT_SQL);
+                if (blockSize <= 0) {
+                    throw new DatabaseOperationException("Sequence " + sequence + " must have a positive increment");
+                }
+            }
+            long hi = queryLong(connection, NEXTVAL_SQL);
+            block = new Block(hi, hi + blockSize);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error reserving id block from " + sequence, e);
+        }
+    }
+
+    private long queryLong(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, sequence);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getLong(1);
+                }
+            }
+        }
+        throw new DatabaseOperationException("Sequence " + sequence + " not found");
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
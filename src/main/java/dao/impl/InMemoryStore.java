@@ -0,0 +1,127 @@
+package dao.impl;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The tables behind the in-memory DAOs: one concurrent map of immutable rows per entity and a
+ * {@link LongAdjacencyIndex} each for {@code user_tasks} and {@code task_tag}.
+ * <p>
+ * A row is replaced whole, so a read never locks and always sees one committed version of an
+ * entity. Writes are not lock-free: they run one at a time under the single lock in
+ * {@link #write(Supplier)}, because a foreign key check reads one entity while a delete of another
+ * must not interleave, and both directions of an index must move together. Each write becomes
+ * visible at the single map or index update that publishes it, so operations on one entity are
+ * linearizable. Reads spanning several entities, like a user with its tasks, are not a snapshot.
+ */
+public class InMemoryStore {
+    /** SQLSTATE PostgreSQL reports for a foreign key violation. */
+    static final String FOREIGN_KEY_VIOLATION = "23503";
+    static final String UNIQUE_VIOLATION = "23505";
+
+    final Map<Long, TaskRow> tasks = new ConcurrentHashMap<>();
+    final Map<Long, NamedRow> users = new ConcurrentHashMap<>();
+    final Map<Long, NamedRow> tags = new ConcurrentHashMap<>();
+    /** user id to task id */
+    final LongAdjacencyIndex userTasks = new LongAdjacencyIndex();
+    /** task id to tag id */
+    final LongAdjacencyIndex taskTags = new LongAdjacencyIndex();
+    private final AtomicLong taskIds = new AtomicLong();
+    private final AtomicLong userIds = new AtomicLong();
+    private final AtomicLong tagIds = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public static InMemoryStore global() {
+        return Holder.GLOBAL;
+    }
+
+    <T> T write(Supplier<T> operation) {
+        writeLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void write(Runnable operation) {
+        write(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    long nextTaskId() {
+        return taskIds.incrementAndGet();
+    }
+
+    long nextUserId() {
+        return userIds.incrementAndGet();
+    }
+
+    long nextTagId() {
+        return tagIds.incrementAndGet();
+    }
+
+    /**
+     * Keeps generated task ids clear of one supplied by the caller, as {@code setval} would.
+     */
+    void reserveTaskId(long id) {
+        taskIds.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Drops every row and restarts the ids, like {@code TRUNCATE ... RESTART IDENTITY}.
+     */
+    public void clear() {
+        write(() -> {
+            userTasks.clear();
+            taskTags.clear();
+            tasks.clear();
+            users.clear();
+            tags.clear();
+            taskIds.set(0);
+            userIds.set(0);
+            tagIds.set(0);
+        });
+    }
+
+    static SQLException foreignKeyViolation(String detail) {
+        return new SQLException(detail, FOREIGN_KEY_VIOLATION);
+    }
+
+    static final class TaskRow {
+        final long id;
+        final String title;
+        final String description;
+        final Long assignedUserId;
+
+        TaskRow(long id, String title, String description, Long assignedUserId) {
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.assignedUserId = assignedUserId;
+        }
+    }
+
+    /**
+     * A user or a tag; both are an id and a name.
+     */
+    static final class NamedRow {
+        final long id;
+        final String name;
+
+        NamedRow(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class Holder {
+        private static final InMemoryStore GLOBAL = new InMemoryStore();
+    }
+}
@@ -0,0 +1,114 @@
+package dao.impl;
+
+import dao.TagDAO;
+import entity.Tag;
+import entity.Task;
+import exception.DatabaseOperationException;
+import exception.TaskAssignmentException;
+import exception.UserNotFoundException;
+import factory.Factory;
+import factory.impl.TagFactoryImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link TagDAO} over an {@link InMemoryStore}. Failures surface as the same exceptions
+ * {@link TagDAOImpl} throws for the equivalent constraint violation.
+ */
+public class InMemoryTagDAO implements TagDAO {
+    private static final Factory<Tag> TAG_FACTORY = new TagFactoryImpl();
+    private final InMemoryStore store;
+
+    public InMemoryTagDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void create(Tag tag) {
+        store.write(() -> {
+            long id = store.nextTagId();
+            store.tags.put(id, new InMemoryStore.NamedRow(id, tag.getName()));
+            tag.setId(id);
+        });
+    }
+
+    @Override
+    public Tag findById(Long id) {
+        InMemoryStore.NamedRow row = store.tags.get(id);
+        if (row == null) {
+            return null;
+        }
+        Tag tag = tag(row);
+        tag.setTasks(getTasksByTagId(id));
+        return tag;
+    }
+
+    @Override
+    public List<Tag> findAll() {
+        List<Tag> tags = new ArrayList<>(store.tags.size());
+        for (InMemoryStore.NamedRow row : store.tags.values()) {
+            Tag tag = tag(row);
+            tag.setTasks(getTasksByTagId(row.id));
+            tags.add(tag);
+        }
+        tags.sort(Comparator.comparing(Tag::getId));
+        return tags;
+    }
+
+    @Override
+    public void update(Tag tag) {
+        store.write(() -> {
+            if (!store.tags.containsKey(tag.getId())) {
+                throw new UserNotFoundException("Tag not found with ID: " + tag.getId());
+            }
+            store.tags.put(tag.getId(), new InMemoryStore.NamedRow(tag.getId(), tag.getName()));
+        });
+    }
+
+    @Override
+    public void delete(Long id) {
+        store.write(() -> {
+            if (!store.tags.containsKey(id)) {
+                throw new UserNotFoundException("Tag not found with ID: " + id);
+            }
+            if (store.taskTags.sources(id).length > 0) {
+                throw new DatabaseOperationException("Database error while deleting tag",
+                        InMemoryStore.foreignKeyViolation("Tag " + id + " is still referenced from task_tag"));
+            }
+            store.tags.remove(id);
+        });
+    }
+
+    @Override
+    public void assignTaskToTag(Long tagId, Long taskId) {
+        store.write(() -> {
+            if (!store.tags.containsKey(tagId) || !store.tasks.containsKey(taskId)) {
+                throw new TaskAssignmentException("Error assigning task to tag",
+                        InMemoryStore.foreignKeyViolation("Tag " + tagId + " or task " + taskId + " does not exist"));
+            }
+            store.taskTags.add(taskId, tagId);
+        });
+    }
+
+    @Override
+    public List<Task> getTasksByTagId(Long tagId) {
+        long[] taskIds = store.taskTags.sources(tagId);
+        List<Task> tasks = new ArrayList<>(taskIds.length);
+        for (long taskId : taskIds) {
+            InMemoryStore.TaskRow row = store.tasks.get(taskId);
+            if (row != null) {
+                tasks.add(InMemoryTaskDAO.task(row));
+            }
+        }
+        return tasks;
+    }
+
+    static Tag tag(InMemoryStore.NamedRow row) {
+        Tag tag = TAG_FACTORY.create();
+        tag.setId(row.id);
+        tag.setName(row.name);
+        return tag;
+    }
+}
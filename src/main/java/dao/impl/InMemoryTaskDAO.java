@@ -0,0 +1,166 @@
+package dao.impl;
+
+import dao.TaskDAO;
+import entity.Tag;
+import entity.Task;
+import exception.DatabaseOperationException;
+import exception.SQLExceptionWrapper;
+import exception.TaskAssignmentException;
+import factory.Factory;
+import factory.impl.TaskFactoryImpl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link TaskDAO} over an {@link InMemoryStore}. Failures surface as the same exceptions
+ * {@link TaskDAOImpl} throws for the equivalent constraint violation.
+ */
+public class InMemoryTaskDAO implements TaskDAO {
+    private static final Factory<Task> TASK_FACTORY = new TaskFactoryImpl();
+    private final InMemoryStore store;
+
+    public InMemoryTaskDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void create(Task task) {
+        store.write(() -> {
+            checkAssignee(task.getAssignedUserId(), e -> new SQLExceptionWrapper("Error creating task", e));
+            long id = store.nextTaskId();
+            insert(id, task);
+            task.setId(id);
+        });
+    }
+
+    /**
+     * Inserts all tasks or none. Tasks without an id get a generated one; supplied ids, as the
+     * write-behind queue allocates them, must be unused.
+     */
+    @Override
+    public void createAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        store.write(() -> {
+            Set<Long> ids = new HashSet<>();
+            for (Task task : tasks) {
+                checkAssignee(task.getAssignedUserId(), e -> new SQLExceptionWrapper("Error creating tasks", e));
+                if (task.getId() != null && (store.tasks.containsKey(task.getId()) || !ids.add(task.getId()))) {
+                    throw new DatabaseOperationException("Database error occurred",
+                            new SQLException("Duplicate task id " + task.getId(), InMemoryStore.UNIQUE_VIOLATION));
+                }
+            }
+            for (Task task : tasks) {
+                if (task.getId() == null) {
+                    task.setId(store.nextTaskId());
+                } else {
+                    store.reserveTaskId(task.getId());
+                }
+                insert(task.getId(), task);
+            }
+        });
+    }
+
+    private void insert(long id, Task task) {
+        store.tasks.put(id, new InMemoryStore.TaskRow(id, task.getTitle(), task.getDescription(), task.getAssignedUserId()));
+        if (task.getAssignedUserId() != null) {
+            store.userTasks.add(task.getAssignedUserId(), id);
+        }
+    }
+
+    private void checkAssignee(Long userId, Function<SQLException, RuntimeException> failure) {
+        if (userId != null && !store.users.containsKey(userId)) {
+            throw failure.apply(InMemoryStore.foreignKeyViolation("User " + userId + " does not exist"));
+        }
+    }
+
+    @Override
+    public Task findById(Long id) {
+        InMemoryStore.TaskRow row = store.tasks.get(id);
+        return row == null ? null : task(row);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> tasks = new ArrayList<>(store.tasks.size());
+        for (InMemoryStore.TaskRow row : store.tasks.values()) {
+            Task task = task(row);
+            task.setTags(getTagsByTaskId(row.id));
+            tasks.add(task);
+        }
+        tasks.sort(Comparator.comparing(Task::getId));
+        return tasks;
+    }
+
+    @Override
+    public void update(Task task) {
+        store.write(() -> {
+            InMemoryStore.TaskRow existing = store.tasks.get(task.getId());
+            if (existing == null) {
+                throw new DatabaseOperationException("Database exception");
+            }
+            checkAssignee(task.getAssignedUserId(), e -> new DatabaseOperationException("Database exception"));
+            Long assignedUserId = task.getAssignedUserId() != null ? task.getAssignedUserId() : existing.assignedUserId;
+            store.tasks.put(existing.id, new InMemoryStore.TaskRow(existing.id,
+                    task.getTitle() != null ? task.getTitle() : existing.title,
+                    task.getDescription() != null ? task.getDescription() : existing.description,
+                    assignedUserId));
+            if (task.getAssignedUserId() != null) {
+                store.userTasks.removeTo(existing.id);
+                store.userTasks.add(assignedUserId, existing.id);
+            }
+        });
+    }
+
+    @Override
+    public void delete(Long id) {
+        store.write(() -> {
+            if (store.taskTags.targets(id).length > 0) {
+                throw new DatabaseOperationException("Database error occurred",
+                        InMemoryStore.foreignKeyViolation("Task " + id + " is still referenced from task_tag"));
+            }
+            store.userTasks.removeTo(id);
+            store.tasks.remove(id);
+        });
+    }
+
+    @Override
+    public void assignTagToTask(Long taskId, Long tagId) {
+        store.write(() -> {
+            if (!store.tasks.containsKey(taskId) || !store.tags.containsKey(tagId)) {
+                throw new TaskAssignmentException("Error assigning tag to task",
+                        InMemoryStore.foreignKeyViolation("Task " + taskId + " or tag " + tagId + " does not exist"));
+            }
+            store.taskTags.add(taskId, tagId);
+        });
+    }
+
+    @Override
+    public List<Tag> getTagsByTaskId(Long taskId) {
+        long[] tagIds = store.taskTags.targets(taskId);
+        List<Tag> tags = new ArrayList<>(tagIds.length);
+        for (long tagId : tagIds) {
+            InMemoryStore.NamedRow row = store.tags.get(tagId);
+            if (row != null) {
+                tags.add(InMemoryTagDAO.tag(row));
+            }
+        }
+        return tags;
+    }
+
+    static Task task(InMemoryStore.TaskRow row) {
+        Task task = TASK_FACTORY.create();
+        task.setId(row.id);
+        task.setTitle(row.title);
+        task.setDescription(row.description);
+        task.setAssignedUserId(row.assignedUserId);
+        return task;
+    }
+}
@@ -0,0 +1,113 @@
+package dao.impl;
+
+import dao.UserDAO;
+import entity.Task;
+import entity.User;
+import exception.DatabaseOperationException;
+import exception.TaskAssignmentException;
+import exception.UserNotFoundException;
+import factory.Factory;
+import factory.impl.UserFactoryImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link UserDAO} over an {@link InMemoryStore}. Failures surface as the same exceptions
+ * {@link UserDAOImpl} throws for the equivalent constraint violation.
+ */
+public class InMemoryUserDAO implements UserDAO {
+    private static final Factory<User> USER_FACTORY = new UserFactoryImpl();
+    private final InMemoryStore store;
+
+    public InMemoryUserDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void create(User user) {
+        store.write(() -> {
+            long id = store.nextUserId();
+            store.users.put(id, new InMemoryStore.NamedRow(id, user.getName()));
+            user.setId(id);
+        });
+    }
+
+    @Override
+    public User findById(Long id) {
+        InMemoryStore.NamedRow row = store.users.get(id);
+        return row == null ? null : user(row);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.users.containsKey(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>(store.users.size());
+        for (InMemoryStore.NamedRow row : store.users.values()) {
+            users.add(user(row));
+        }
+        users.sort(Comparator.comparing(User::getId));
+        return users;
+    }
+
+    @Override
+    public void update(User user) {
+        store.write(() -> {
+            if (!store.users.containsKey(user.getId())) {
+                throw new UserNotFoundException("User not found with ID: " + user.getId());
+            }
+            store.users.put(user.getId(), new InMemoryStore.NamedRow(user.getId(), user.getName()));
+        });
+    }
+
+    @Override
+    public void delete(Long id) {
+        store.write(() -> {
+            if (!store.users.containsKey(id)) {
+                throw new UserNotFoundException("User not found with ID: " + id);
+            }
+            if (store.userTasks.targets(id).length > 0) {
+                throw new DatabaseOperationException("Database error while deleting user",
+                        InMemoryStore.foreignKeyViolation("User " + id + " is still referenced from user_tasks"));
+            }
+            store.users.remove(id);
+        });
+    }
+
+    @Override
+    public void assignTaskToUser(Long userId, Long taskId) {
+        store.write(() -> {
+            if (!store.users.containsKey(userId) || !store.tasks.containsKey(taskId)) {
+                throw new TaskAssignmentException("Error assigning task to user",
+                        InMemoryStore.foreignKeyViolation("User " + userId + " or task " + taskId + " does not exist"));
+            }
+            store.userTasks.add(userId, taskId);
+        });
+    }
+
+    @Override
+    public List<Task> getTasksByUserId(Long userId) {
+        long[] taskIds = store.userTasks.targets(userId);
+        List<Task> tasks = new ArrayList<>(taskIds.length);
+        for (long taskId : taskIds) {
+            InMemoryStore.TaskRow row = store.tasks.get(taskId);
+            if (row != null) {
+                tasks.add(InMemoryTaskDAO.task(row));
+            }
+        }
+        return tasks;
+    }
+
+    private User user(InMemoryStore.NamedRow row) {
+        User user = USER_FACTORY.create();
+        user.setId(row.id);
+        user.setName(row.name);
+        user.setTasks(getTasksByUserId(row.id));
+        return user;
+    }
+}
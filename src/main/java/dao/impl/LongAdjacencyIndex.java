@@ -0,0 +1,97 @@
+package dao.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Both directions of a many-to-many join table keyed by long ids, each side a sorted {@code long[]}
+ * that is replaced rather than modified. Only the id lists are primitive; the keys are boxed
+ * {@code Long}s in a {@link ConcurrentHashMap}. Readers get an immutable snapshot without locking;
+ * mutators must be serialized by the caller, which {@link InMemoryStore} does with its write lock.
+ */
+final class LongAdjacencyIndex {
+    private static final long[] EMPTY = new long[0];
+    private final Map<Long, long[]> forward = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> reverse = new ConcurrentHashMap<>();
+
+    /**
+     * Ids linked from {@code from}, ascending. The array must not be modified.
+     */
+    long[] targets(long from) {
+        return forward.getOrDefault(from, EMPTY);
+    }
+
+    /**
+     * Ids linking to {@code to}, ascending. The array must not be modified.
+     */
+    long[] sources(long to) {
+        return reverse.getOrDefault(to, EMPTY);
+    }
+
+    boolean contains(long from, long to) {
+        return Arrays.binarySearch(targets(from), to) >= 0;
+    }
+
+    boolean add(long from, long to) {
+        if (!insert(forward, from, to)) {
+            return false;
+        }
+        insert(reverse, to, from);
+        return true;
+    }
+
+    void removeFrom(long from) {
+        long[] targets = forward.remove(from);
+        if (targets != null) {
+            for (long to : targets) {
+                delete(reverse, to, from);
+            }
+        }
+    }
+
+    void removeTo(long to) {
+        long[] sources = reverse.remove(to);
+        if (sources != null) {
+            for (long from : sources) {
+                delete(forward, from, to);
+            }
+        }
+    }
+
+    void clear() {
+        forward.clear();
+        reverse.clear();
+    }
+
+    private static boolean insert(Map<Long, long[]> side, long key, long value) {
+        long[] current = side.getOrDefault(key, EMPTY);
+        int index = Arrays.binarySearch(current, value);
+        if (index >= 0) {
+            return false;
+        }
+        int at = -index - 1;
+        long[] next = new long[current.length + 1];
+        System.arraycopy(current, 0, next, 0, at);
+        next[at] = value;
+        System.arraycopy(current, at, next, at + 1, current.length - at);
+        side.put(key, next);
+        return true;
+    }
+
+    private static void delete(Map<Long, long[]> side, long key, long value) {
+        long[] current = side.getOrDefault(key, EMPTY);
+        int at = Arrays.binarySearch(current, value);
+        if (at < 0) {
+            return;
+        }
+        if (current.length == 1) {
+            side.remove(key);
+            return;
+        }
+        long[] next = new long[current.length - 1];
+        System.arraycopy(current, 0, next, 0, at);
+        System.arraycopy(current, at + 1, next, at, current.length - at - 1);
+        side.put(key, next);
+    }
+}
@@ -0,0 +1,33 @@
+package dao.impl;
+
+import dao.IdAllocator;
+import exception.DatabaseOperationException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class SequenceIdAllocator implements IdAllocator {
+    private static final String NEXTVAL_SQL = "SELECT nextval(CAST(? AS regclass))";
+    private final String sequence;
+
+    public SequenceIdAllocator(String sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public long nextId(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(NEXTVAL_SQL)) {
+            statement.setString(1, sequence);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error allocating id from " + sequence, e);
+        }
+        throw new DatabaseOperationException("Sequence " + sequence + " returned no value");
+    }
+}
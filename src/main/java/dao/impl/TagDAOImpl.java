@@ -1,5 +1,8 @@
 package dao.impl;
 
+import context.IdentityMap;
+import dao.DurabilityPolicy;
+import dao.IdAllocator;
 import dao.TagDAO;
 import entity.Tag;
 import entity.Task;
@@ -17,34 +20,72 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TagDAOImpl implements TagDAO {
     private final Connection connection;
+    private final IdAllocator idAllocator;
+    private final DurabilityPolicy durabilityPolicy;
     private final Factory<Tag> tagsFactory = new TagFactoryImpl();
     private final Factory<Task> taskFactory = new TaskFactoryImpl();
     private static final Logger LOGGER = LoggerFactory.getLogger(UserDAOImpl.class);
+    static final String TAG_REGION = "tag";
+    static final String TAG_TASKS_REGION = "tag.tasks";
 
     public TagDAOImpl(Connection connection) {
+        this(connection, null, DurabilityPolicy.STRICT);
+    }
+
+    public TagDAOImpl(Connection connection, IdAllocator idAllocator) {
+        this(connection, idAllocator, DurabilityPolicy.STRICT);
+    }
+
+    public TagDAOImpl(Connection connection, IdAllocator idAllocator, DurabilityPolicy durabilityPolicy) {
         this.connection = connection;
+        this.idAllocator = idAllocator;
+        this.durabilityPolicy = durabilityPolicy;
     }
 
     @Override
     public void create(Tag tag) {
-        String sql = "INSERT INTO tags (name) VALUES (?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, tag.getName());
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new DatabaseOperationException("Creating tag failed, no rows affected.");
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TAGS_CREATE, () -> {
+            if (idAllocator != null) {
+                createWithAllocatedId(tag);
+                return;
             }
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    tag.setId(generatedKeys.getLong(1));
-                } else {
-                    throw new DatabaseOperationException("Creating tag failed, no ID obtained.");
+            String sql = "INSERT INTO tags (name) VALUES (?)";
+            try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, tag.getName());
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new DatabaseOperationException("Creating tag failed, no rows affected.");
                 }
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        tag.setId(generatedKeys.getLong(1));
+                    } else {
+                        throw new DatabaseOperationException("Creating tag failed, no ID obtained.");
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while creating tag", e);
+            }
+        });
+    }
+
+    private void createWithAllocatedId(Tag tag) {
+        String sql = "INSERT INTO tags (id, name) VALUES (?, ?)";
+        long id = idAllocator.nextId(connection);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            stmt.setString(2, tag.getName());
+            if (stmt.executeUpdate() == 0) {
+                throw new DatabaseOperationException("Creating tag failed, no rows affected.");
             }
+            tag.setId(id);
         } catch (SQLException e) {
             throw new DatabaseOperationException("Database error while creating tag", e);
         }
@@ -52,7 +93,10 @@ public class TagDAOImpl implements TagDAO {
 
     @Override
     public Tag findById(Long id) {
+        return IdentityMap.find(TAG_REGION, id, () -> loadById(id));
+    }
 
+    private Tag loadById(Long id) {
         String sql = "SELECT id, name FROM tags WHERE id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setLong(1, id);
@@ -84,71 +128,106 @@ public class TagDAOImpl implements TagDAO {
                 Tag tag = tagsFactory.create();
                 tag.setId(resultSet.getLong("id"));
                 tag.setName(resultSet.getString("name"));
-                List<Task> tasks = getTasksByTagId(tag.getId());
-                tag.setTasks(tasks);
                 tags.add(tag);
             }
         } catch (SQLException e) {
             LOGGER.error("Error find all tags", e);
         }
+        Map<Long, List<Task>> tasksByTag = loadAllTagTasks();
+        tags.replaceAll(tag -> {
+            Tag canonical = IdentityMap.canonical(TAG_REGION, tag.getId(), tag);
+            canonical.setTasks(IdentityMap.canonical(TAG_TASKS_REGION, canonical.getId(),
+                    tasksByTag.getOrDefault(tag.getId(), new ArrayList<>())));
+            return canonical;
+        });
         return tags;
     }
 
-    @Override
-    public void update(Tag tag) {
-        String sql = "UPDATE tags SET name = ? WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, tag.getName());
-            statement.setLong(2, tag.getId());
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows == 0) {
-                throw new UserNotFoundException("Tag not found with ID: " + tag.getId());
+    /**
+     * The tasks of every tag in one query rather than one per tag.
+     */
+    private Map<Long, List<Task>> loadAllTagTasks() {
+        Map<Long, List<Task>> tasksByTag = new HashMap<>();
+        String sql = "SELECT ut.tag_id, t.id, t.title, t.description, t.assigned_user_id FROM tasks t JOIN task_tag ut ON t.id = ut.task_id";
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                TaskDAOImpl.tasksSetList(resultSet, tasksByTag.computeIfAbsent(resultSet.getLong("tag_id"), id -> new ArrayList<>()), taskFactory);
             }
         } catch (SQLException e) {
-            throw new DatabaseOperationException("Database error while updating tag", e);
+            throw new TaskRetrievalException("Error retrieving tasks for all tags", e);
         }
+        return tasksByTag;
+    }
+
+    @Override
+    public void update(Tag tag) {
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TAGS_UPDATE, () -> {
+            String sql = "UPDATE tags SET name = ? WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, tag.getName());
+                statement.setLong(2, tag.getId());
+                int affectedRows = statement.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new UserNotFoundException("Tag not found with ID: " + tag.getId());
+                }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while updating tag", e);
+            }
+        });
     }
 
     @Override
     public void delete(Long id) {
-        String sql = "DELETE FROM tags WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setLong(1, id);
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows == 0) {
-                throw new UserNotFoundException("Tag not found with ID: " + id);
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TAGS_DELETE, () -> {
+            String sql = "DELETE FROM tags WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, id);
+                int affectedRows = statement.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new UserNotFoundException("Tag not found with ID: " + id);
+                }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while deleting tag", e);
             }
-        } catch (SQLException e) {
-            throw new DatabaseOperationException("Database error while deleting tag", e);
-        }
+        });
     }
     @Override
     public void assignTaskToTag(Long tagId, Long taskId) {
-        String checkSql = "SELECT COUNT(*) FROM task_tag WHERE tag_id = ? AND task_id = ?";
-        try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
-            checkStmt.setLong(1, taskId);
-            checkStmt.setLong(2, taskId);
-            try (ResultSet rs = checkStmt.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    return;
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TAGS_ASSIGN_TASK, () -> {
+            String checkSql = "SELECT COUNT(*) FROM task_tag WHERE tag_id = ? AND task_id = ?";
+            try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
+                checkStmt.setLong(1, taskId);
+                checkStmt.setLong(2, taskId);
+                try (ResultSet rs = checkStmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return;
+                    }
                 }
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error checking task assignment", e);
             }
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error checking task assignment", e);
-        }
 
-        String insertSql = "INSERT INTO task_tag (tag_id, task_id) VALUES (?, ?)";
-        try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
-            insertStmt.setLong(1, tagId);
-            insertStmt.setLong(2, taskId);
-            insertStmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error assigning task to tag", e);
-        }
+            String insertSql = "INSERT INTO task_tag (tag_id, task_id) VALUES (?, ?)";
+            try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
+                insertStmt.setLong(1, tagId);
+                insertStmt.setLong(2, taskId);
+                insertStmt.executeUpdate();
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error assigning task to tag", e);
+            }
+        });
     }
 
     @Override
     public List<Task> getTasksByTagId(Long tagId) {
+        return IdentityMap.find(TAG_TASKS_REGION, tagId, () -> loadTasksByTagId(tagId));
+    }
+
+    private List<Task> loadTasksByTagId(Long tagId) {
         List<Task> tasks = new ArrayList<>();
         String sql = "SELECT t.id, t.title, t.description, t.assigned_user_id FROM tasks t JOIN task_tag ut ON t.id = ut.task_id WHERE ut.tag_id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
@@ -1,5 +1,8 @@
 package dao.impl;
 
+import context.IdentityMap;
+import dao.DurabilityPolicy;
+import dao.IdAllocator;
 import dao.TaskDAO;
 import entity.Tag;
 import entity.Task;
@@ -18,7 +21,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TaskDAOImpl implements TaskDAO {
 
@@ -27,42 +32,116 @@ public class TaskDAOImpl implements TaskDAO {
     private static final String COLUMN_TITLE = "title";
     private static final String COLUMN_DESCRIPTION = "description";
     private static final String COLUMN_ASSIGNED_USER_ID = "assigned_user_id";
+    static final String TASK_REGION = "task";
+    static final String TASK_TAGS_REGION = "task.tags";
     private final Connection connection;
+    private final IdAllocator idAllocator;
+    private final DurabilityPolicy durabilityPolicy;
     private final Factory<Task> taskFactory = new TaskFactoryImpl();
     private static final Logger LOGGER = LoggerFactory.getLogger(TaskDAOImpl.class);
     private final Factory<Tag> tagsFactory = new TagFactoryImpl();
 
     public TaskDAOImpl(Connection connection) {
+        this(connection, null, DurabilityPolicy.STRICT);
+    }
+
+    public TaskDAOImpl(Connection connection, IdAllocator idAllocator) {
+        this(connection, idAllocator, DurabilityPolicy.STRICT);
+    }
+
+    public TaskDAOImpl(Connection connection, IdAllocator idAllocator, DurabilityPolicy durabilityPolicy) {
         this.connection = connection;
+        this.idAllocator = idAllocator;
+        this.durabilityPolicy = durabilityPolicy;
     }
 
     @Override
     public void create(Task task) {
-        String insertTaskSQL = "INSERT INTO tasks (title, description, assigned_user_id) VALUES (?, ?, ?) RETURNING id";
-        try (PreparedStatement insertTaskStmt = connection.prepareStatement(insertTaskSQL)) {
-            insertTaskStmt.setString(1, task.getTitle());
-            insertTaskStmt.setString(2, task.getDescription());
-            insertTaskStmt.setLong(3, task.getAssignedUserId());
-
-            try (ResultSet generatedKeys = insertTaskStmt.executeQuery()) {
-                if (generatedKeys.next()) {
-                    Long taskId = generatedKeys.getLong(1);
-                    task.setId(taskId);
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TASKS_CREATE, () -> {
+            if (idAllocator != null) {
+                task.setId(idAllocator.nextId(connection));
+                insertAll(List.of(task));
+                return;
+            }
+            String insertTaskSQL = "INSERT INTO tasks (title, description, assigned_user_id) VALUES (?, ?, ?) RETURNING id";
+            try (PreparedStatement insertTaskStmt = connection.prepareStatement(insertTaskSQL)) {
+                insertTaskStmt.setString(1, task.getTitle());
+                insertTaskStmt.setString(2, task.getDescription());
+                insertTaskStmt.setLong(3, task.getAssignedUserId());
+
+                try (ResultSet generatedKeys = insertTaskStmt.executeQuery()) {
+                    if (generatedKeys.next()) {
+                        Long taskId = generatedKeys.getLong(1);
+                        task.setId(taskId);
+                    }
+                    String insertUserTaskSQL = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
+                    try (PreparedStatement insertUserTaskStmt = connection.prepareStatement(insertUserTaskSQL)) {
+                        insertUserTaskStmt.setLong(1, task.getAssignedUserId());
+                        insertUserTaskStmt.setLong(2, task.getId());
+                        insertUserTaskStmt.executeUpdate();
+                    }
                 }
-                String insertUserTaskSQL = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
-                try (PreparedStatement insertUserTaskStmt = connection.prepareStatement(insertUserTaskSQL)) {
+            } catch (SQLException e) {
+                throw new SQLExceptionWrapper("Error creating task", e);
+            }
+        });
+    }
+
+    @Override
+    public void createAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TASKS_CREATE, () -> insertAll(tasks));
+    }
+
+    private void insertAll(List<Task> tasks) {
+        String insertTaskSQL = "INSERT INTO tasks (id, title, description, assigned_user_id) VALUES (?, ?, ?, ?)";
+        String insertUserTaskSQL = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
+        boolean commitSuccessful = false;
+        boolean ownsTransaction = false;
+        try {
+            ownsTransaction = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertTaskStmt = connection.prepareStatement(insertTaskSQL);
+                 PreparedStatement insertUserTaskStmt = connection.prepareStatement(insertUserTaskSQL)) {
+                for (Task task : tasks) {
+                    insertTaskStmt.setLong(1, task.getId());
+                    insertTaskStmt.setString(2, task.getTitle());
+                    insertTaskStmt.setString(3, task.getDescription());
+                    insertTaskStmt.setLong(4, task.getAssignedUserId());
+                    insertTaskStmt.addBatch();
                     insertUserTaskStmt.setLong(1, task.getAssignedUserId());
                     insertUserTaskStmt.setLong(2, task.getId());
-                    insertUserTaskStmt.executeUpdate();
+                    insertUserTaskStmt.addBatch();
                 }
+                insertTaskStmt.executeBatch();
+                insertUserTaskStmt.executeBatch();
+            }
+            if (ownsTransaction) {
+                connection.commit();
             }
+            commitSuccessful = true;
         } catch (SQLException e) {
-            throw new SQLExceptionWrapper("Error creating task", e);
+            if (!ownsTransaction) {
+                throw new SQLExceptionWrapper("Error creating tasks", e);
+            }
+            handleDatabaseError(e);
+        } finally {
+            if (ownsTransaction) {
+                restoreAutoCommitState(commitSuccessful);
+            }
         }
     }
 
     @Override
     public Task findById(Long id) {
+        return IdentityMap.find(TASK_REGION, id, () -> loadById(id));
+    }
+
+    private Task loadById(Long id) {
         String sql = "SELECT id, title, description, assigned_user_id FROM tasks WHERE id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setLong(1, id);
@@ -94,129 +173,186 @@ public class TaskDAOImpl implements TaskDAO {
         } catch (SQLException e) {
             throw new DatabaseOperationException(DATABASE_ERROR_MESSAGE, e);
         }
+        Map<Long, List<Tag>> tagsByTask = loadAllTaskTags();
+        // an instance already loaded by findById in this request wins, so the relation goes on that one
+        tasks.replaceAll(task -> {
+            Task canonical = IdentityMap.canonical(TASK_REGION, task.getId(), task);
+            canonical.setTags(IdentityMap.canonical(TASK_TAGS_REGION, canonical.getId(),
+                    tagsByTask.getOrDefault(task.getId(), new ArrayList<>())));
+            return canonical;
+        });
         return tasks;
     }
 
+    /**
+     * The tags of every task in one query rather than one per task.
+     */
+    private Map<Long, List<Tag>> loadAllTaskTags() {
+        Map<Long, List<Tag>> tagsByTask = new HashMap<>();
+        String sql = "SELECT ut.task_id, t.id, t.name FROM tags t JOIN task_tag ut ON t.id = ut.tag_id";
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                TagDAOImpl.tagsSetList(resultSet, tagsByTask.computeIfAbsent(resultSet.getLong("task_id"), id -> new ArrayList<>()), tagsFactory);
+            }
+        } catch (SQLException e) {
+            throw new TaskRetrievalException("Error retrieving tags for all tasks", e);
+        }
+        return tagsByTask;
+    }
+
     @Override
     public void update(Task taskDTO) {
-        Connection conn = null;
-        PreparedStatement updateTaskStmt = null;
-        PreparedStatement updateUserTasksStmt = null;
-        try {
-            conn = connection;
-            conn.setAutoCommit(false);
-            String selectSql = "SELECT * FROM tasks WHERE id = ?";
-            Task existingTask = null;
-            try (PreparedStatement selectStmt = conn.prepareStatement(selectSql)) {
-                selectStmt.setLong(1, taskDTO.getId());
-                try (ResultSet resultSet = selectStmt.executeQuery()) {
-                    existingTask = getExsistingTask(resultSet, existingTask);
-                }
-            }
-            existingTaskNotNull(taskDTO, existingTask);
-            StringBuilder updateSql = new StringBuilder("UPDATE tasks SET ");
-            List<Object> parameters = new ArrayList<>();
-
-            getTitleAndDescriptionQuery(taskDTO.getTitle(), existingTask.getTitle(), updateSql, "title = ?, ", parameters);
-            getTitleAndDescriptionQuery(taskDTO.getDescription(), existingTask.getDescription(), updateSql, "description = ?, ", parameters);
-            getAssignedUserIdQuery(taskDTO, existingTask, updateSql, parameters);
-
-            if (updateSql.length() > 0) {
-                updateSql.setLength(updateSql.length() - 2);
-                updateSql.append(" WHERE id = ?");
-                parameters.add(taskDTO.getId());
-
-                updateTaskStmt = conn.prepareStatement(updateSql.toString());
-                for (int i = 0; i < parameters.size(); i++) {
-                    updateTaskStmt.setObject(i + 1, parameters.get(i));
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TASKS_UPDATE, () -> {
+            Connection conn = null;
+            PreparedStatement updateTaskStmt = null;
+            PreparedStatement updateUserTasksStmt = null;
+            boolean ownsTransaction = false;
+            try {
+                conn = connection;
+                ownsTransaction = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                String selectSql = "SELECT * FROM tasks WHERE id = ?";
+                Task existingTask = null;
+                try (PreparedStatement selectStmt = conn.prepareStatement(selectSql)) {
+                    selectStmt.setLong(1, taskDTO.getId());
+                    try (ResultSet resultSet = selectStmt.executeQuery()) {
+                        existingTask = getExsistingTask(resultSet, existingTask);
+                    }
                 }
-                updateTaskStmt.executeUpdate();
-            }
-            if (taskDTO.getAssignedUserId() != null) {
-                String deleteOldUserTasksSql = "DELETE FROM user_tasks WHERE task_id = ?";
-                try (PreparedStatement deleteStmt = conn.prepareStatement(deleteOldUserTasksSql)) {
-                    deleteStmt.setLong(1, taskDTO.getId());
-                    deleteStmt.executeUpdate();
+                existingTaskNotNull(taskDTO, existingTask);
+                StringBuilder updateSql = new StringBuilder("UPDATE tasks SET ");
+                List<Object> parameters = new ArrayList<>();
+
+                getTitleAndDescriptionQuery(taskDTO.getTitle(), existingTask.getTitle(), updateSql, "title = ?, ", parameters);
+                getTitleAndDescriptionQuery(taskDTO.getDescription(), existingTask.getDescription(), updateSql, "description = ?, ", parameters);
+                getAssignedUserIdQuery(taskDTO, existingTask, updateSql, parameters);
+
+                if (updateSql.length() > 0) {
+                    updateSql.setLength(updateSql.length() - 2);
+                    updateSql.append(" WHERE id = ?");
+                    parameters.add(taskDTO.getId());
+
+                    updateTaskStmt = conn.prepareStatement(updateSql.toString());
+                    for (int i = 0; i < parameters.size(); i++) {
+                        updateTaskStmt.setObject(i + 1, parameters.get(i));
+                    }
+                    updateTaskStmt.executeUpdate();
                 }
+                if (taskDTO.getAssignedUserId() != null) {
+                    String deleteOldUserTasksSql = "DELETE FROM user_tasks WHERE task_id = ?";
+                    try (PreparedStatement deleteStmt = conn.prepareStatement(deleteOldUserTasksSql)) {
+                        deleteStmt.setLong(1, taskDTO.getId());
+                        deleteStmt.executeUpdate();
+                    }
 
-                String insertUserTasksSql = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
-                updateUserTasksStmt = conn.prepareStatement(insertUserTasksSql);
-                updateUserTasksStmt.setLong(1, taskDTO.getAssignedUserId());
-                updateUserTasksStmt.setLong(2, taskDTO.getId());
-                updateUserTasksStmt.executeUpdate();
-            }
+                    String insertUserTasksSql = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
+                    updateUserTasksStmt = conn.prepareStatement(insertUserTasksSql);
+                    updateUserTasksStmt.setLong(1, taskDTO.getAssignedUserId());
+                    updateUserTasksStmt.setLong(2, taskDTO.getId());
+                    updateUserTasksStmt.executeUpdate();
+                }
 
-            conn.commit();
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-            } catch (SQLException ex) {
-                ex.printStackTrace();
-            }
-            e.printStackTrace();
-            throw new DatabaseOperationException("Database exception");
-        } finally {
-            try {
-                if (updateTaskStmt != null) updateTaskStmt.close();
-                if (updateUserTasksStmt != null) updateUserTasksStmt.close();
-                conn.setAutoCommit(true);
+                if (ownsTransaction) {
+                    conn.commit();
+                }
             } catch (SQLException e) {
-                e.printStackTrace();
+                try {
+                    if (ownsTransaction) {
+                        conn.rollback();
+                    }
+                } catch (SQLException ex) {
+                    LOGGER.error("Error rollback task", ex);
+                }
+                LOGGER.error("Error updating task {}", taskDTO.getId(), e);
+                throw new DatabaseOperationException("Database exception");
+            } finally {
+                try {
+                    if (updateTaskStmt != null) updateTaskStmt.close();
+                    if (updateUserTasksStmt != null) updateUserTasksStmt.close();
+                    if (ownsTransaction) conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.error("Error restore auto commit", e);
+                }
             }
-        }
+        });
     }
 
     @Override
     public void delete(Long id) {
-        String deleteUserTasksSQL = "DELETE FROM user_tasks WHERE task_id = ?";
-        String deleteTaskSQL = "DELETE FROM tasks WHERE id = ?";
-        boolean commitSuccessful = false;
-        try {
-            connection.setAutoCommit(false);
-            try (PreparedStatement deleteUserTasksStmt = connection.prepareStatement(deleteUserTasksSQL)) {
-                deleteUserTasksStmt.setLong(1, id);
-                deleteUserTasksStmt.executeUpdate();
-            }
-            try (PreparedStatement deleteTaskStmt = connection.prepareStatement(deleteTaskSQL)) {
-                deleteTaskStmt.setLong(1, id);
-                deleteTaskStmt.executeUpdate();
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TASKS_DELETE, () -> {
+            String deleteUserTasksSQL = "DELETE FROM user_tasks WHERE task_id = ?";
+            String deleteTaskSQL = "DELETE FROM tasks WHERE id = ?";
+            boolean commitSuccessful = false;
+            boolean ownsTransaction = false;
+            try {
+                ownsTransaction = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                deleteTaskRows(id, deleteUserTasksSQL, deleteTaskSQL);
+                if (ownsTransaction) {
+                    connection.commit();
+                }
+                commitSuccessful = true;
+            } catch (SQLException e) {
+                if (!ownsTransaction) {
+                    throw new DatabaseOperationException("Database error occurred", e);
+                }
+                handleDatabaseError(e);
+            } finally {
+                if (ownsTransaction) {
+                    restoreAutoCommitState(commitSuccessful);
+                }
             }
-            connection.commit();
-            commitSuccessful = true;
-        } catch (SQLException e) {
-            handleDatabaseError(e);
-        } finally {
-            restoreAutoCommitState(commitSuccessful);
+        });
+    }
+
+    private void deleteTaskRows(Long id, String deleteUserTasksSQL, String deleteTaskSQL) throws SQLException {
+        try (PreparedStatement deleteUserTasksStmt = connection.prepareStatement(deleteUserTasksSQL)) {
+            deleteUserTasksStmt.setLong(1, id);
+            deleteUserTasksStmt.executeUpdate();
+        }
+        try (PreparedStatement deleteTaskStmt = connection.prepareStatement(deleteTaskSQL)) {
+            deleteTaskStmt.setLong(1, id);
+            deleteTaskStmt.executeUpdate();
         }
     }
 
     @Override
     public void assignTagToTask(Long taskId, Long tagId) {
-        String checkSql = "SELECT COUNT(*) FROM task_tag WHERE task_id = ? AND tag_id = ?";
-        try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
-            checkStmt.setLong(1, tagId);
-            checkStmt.setLong(2, tagId);
-            try (ResultSet rs = checkStmt.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    return;
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.TASKS_ASSIGN_TAG, () -> {
+            String checkSql = "SELECT COUNT(*) FROM task_tag WHERE task_id = ? AND tag_id = ?";
+            try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
+                checkStmt.setLong(1, taskId);
+                checkStmt.setLong(2, tagId);
+                try (ResultSet rs = checkStmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return;
+                    }
                 }
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error checking tags assignment", e);
             }
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error checking tags assignment", e);
-        }
 
-        String insertSql = "INSERT INTO task_tag (task_id, tag_id) VALUES (?, ?)";
-        try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
-            insertStmt.setLong(1, taskId);
-            insertStmt.setLong(2, tagId);
-            insertStmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error assigning tag to task", e);
-        }
+            String insertSql = "INSERT INTO task_tag (task_id, tag_id) VALUES (?, ?)";
+            try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
+                insertStmt.setLong(1, taskId);
+                insertStmt.setLong(2, tagId);
+                insertStmt.executeUpdate();
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error assigning tag to task", e);
+            }
+        });
     }
 
     @Override
     public List<Tag> getTagsByTaskId(Long taskId) {
+        return IdentityMap.find(TASK_TAGS_REGION, taskId, () -> loadTagsByTaskId(taskId));
+    }
+
+    private List<Tag> loadTagsByTaskId(Long taskId) {
         List<Tag> tags = new ArrayList<>();
         String sql = "SELECT t.id, t.name FROM tags t JOIN task_tag ut ON t.id = ut.tag_id WHERE ut.task_id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
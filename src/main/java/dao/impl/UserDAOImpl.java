@@ -1,5 +1,8 @@
 package dao.impl;
 
+import context.IdentityMap;
+import dao.DurabilityPolicy;
+import dao.IdAllocator;
 import dao.UserDAO;
 import entity.Task;
 import entity.User;
@@ -15,35 +18,73 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UserDAOImpl implements UserDAO {
 
     private final Connection connection;
+    private final IdAllocator idAllocator;
+    private final DurabilityPolicy durabilityPolicy;
     private final Factory<User> userFactory = new UserFactoryImpl();
     private final Factory<Task> taskFactory = new TaskFactoryImpl();
     private static final Logger LOGGER = LoggerFactory.getLogger(UserDAOImpl.class);
+    static final String USER_REGION = "user";
+    static final String USER_TASKS_REGION = "user.tasks";
 
     public UserDAOImpl(Connection connection) {
+        this(connection, null, DurabilityPolicy.STRICT);
+    }
+
+    public UserDAOImpl(Connection connection, IdAllocator idAllocator) {
+        this(connection, idAllocator, DurabilityPolicy.STRICT);
+    }
+
+    public UserDAOImpl(Connection connection, IdAllocator idAllocator, DurabilityPolicy durabilityPolicy) {
         this.connection = connection;
+        this.idAllocator = idAllocator;
+        this.durabilityPolicy = durabilityPolicy;
     }
 
     @Override
     public void create(User user) {
-        String sql = "INSERT INTO users (name) VALUES (?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, user.getName());
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new DatabaseOperationException("Creating user failed, no rows affected.");
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.USERS_CREATE, () -> {
+            if (idAllocator != null) {
+                createWithAllocatedId(user);
+                return;
             }
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    user.setId(generatedKeys.getLong(1));
-                } else {
-                    throw new DatabaseOperationException("Creating user failed, no ID obtained.");
+            String sql = "INSERT INTO users (name) VALUES (?)";
+            try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, user.getName());
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new DatabaseOperationException("Creating user failed, no rows affected.");
+                }
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        user.setId(generatedKeys.getLong(1));
+                    } else {
+                        throw new DatabaseOperationException("Creating user failed, no ID obtained.");
+                    }
                 }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while creating user", e);
             }
+        });
+    }
+
+    private void createWithAllocatedId(User user) {
+        String sql = "INSERT INTO users (id, name) VALUES (?, ?)";
+        long id = idAllocator.nextId(connection);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+            stmt.setString(2, user.getName());
+            if (stmt.executeUpdate() == 0) {
+                throw new DatabaseOperationException("Creating user failed, no rows affected.");
+            }
+            user.setId(id);
         } catch (SQLException e) {
             throw new DatabaseOperationException("Database error while creating user", e);
         }
@@ -51,7 +92,23 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public User findById(Long id) {
+        return IdentityMap.find(USER_REGION, id, () -> loadById(id));
+    }
 
+    @Override
+    public boolean existsById(Long id) {
+        String sql = "SELECT 1 FROM users WHERE id = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Database error while checking user " + id, e);
+        }
+    }
+
+    private User loadById(Long id) {
         String sql = "SELECT id, name FROM users WHERE id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setLong(1, id);
@@ -83,70 +140,105 @@ public class UserDAOImpl implements UserDAO {
                 User user = userFactory.create();
                 user.setId(resultSet.getLong("id"));
                 user.setName(resultSet.getString("name"));
-                List<Task> tasks = getTasksByUserId(user.getId());
-                user.setTasks(tasks);
                 users.add(user);
             }
         } catch (SQLException e) {
             LOGGER.error("Error find all", e);
         }
+        Map<Long, List<Task>> tasksByUser = loadAllUserTasks();
+        users.replaceAll(user -> {
+            User canonical = IdentityMap.canonical(USER_REGION, user.getId(), user);
+            canonical.setTasks(IdentityMap.canonical(USER_TASKS_REGION, canonical.getId(),
+                    tasksByUser.getOrDefault(user.getId(), new ArrayList<>())));
+            return canonical;
+        });
         return users;
     }
 
-    @Override
-    public void update(User user) {
-        String sql = "UPDATE users SET name = ? WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, user.getName());
-            statement.setLong(2, user.getId());
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows == 0) {
-                throw new UserNotFoundException("User not found with ID: " + user.getId());
+    /**
+     * The tasks of every user in one query rather than one per user.
+     */
+    private Map<Long, List<Task>> loadAllUserTasks() {
+        Map<Long, List<Task>> tasksByUser = new HashMap<>();
+        String sql = "SELECT ut.user_id, t.id, t.title, t.description, t.assigned_user_id FROM tasks t JOIN user_tasks ut ON t.id = ut.task_id";
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                TaskDAOImpl.tasksSetList(resultSet, tasksByUser.computeIfAbsent(resultSet.getLong("user_id"), id -> new ArrayList<>()), taskFactory);
             }
         } catch (SQLException e) {
-            throw new DatabaseOperationException("Database error while updating user", e);
+            throw new TaskRetrievalException("Error retrieving tasks for all users", e);
         }
+        return tasksByUser;
+    }
+
+    @Override
+    public void update(User user) {
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.USERS_UPDATE, () -> {
+            String sql = "UPDATE users SET name = ? WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, user.getName());
+                statement.setLong(2, user.getId());
+                int affectedRows = statement.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new UserNotFoundException("User not found with ID: " + user.getId());
+                }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while updating user", e);
+            }
+        });
     }
 
     @Override
     public void delete(Long id) {
-        String sql = "DELETE FROM users WHERE id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setLong(1, id);
-            int affectedRows = statement.executeUpdate();
-            if (affectedRows == 0) {
-                throw new UserNotFoundException("User not found with ID: " + id);
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.USERS_DELETE, () -> {
+            String sql = "DELETE FROM users WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, id);
+                int affectedRows = statement.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new UserNotFoundException("User not found with ID: " + id);
+                }
+            } catch (SQLException e) {
+                throw new DatabaseOperationException("Database error while deleting user", e);
             }
-        } catch (SQLException e) {
-            throw new DatabaseOperationException("Database error while deleting user", e);
-        }
+        });
     }
 
     public void assignTaskToUser(Long userId, Long taskId) {
-        String checkSql = "SELECT COUNT(*) FROM user_tasks WHERE user_id = ? AND task_id = ?";
-        try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
-            checkStmt.setLong(1, userId);
-            checkStmt.setLong(2, taskId);
-            try (ResultSet rs = checkStmt.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    return;
+        IdentityMap.invalidate();
+        DurableWrites.run(connection, durabilityPolicy, DurabilityPolicy.USERS_ASSIGN_TASK, () -> {
+            String checkSql = "SELECT COUNT(*) FROM user_tasks WHERE user_id = ? AND task_id = ?";
+            try (PreparedStatement checkStmt = connection.prepareStatement(checkSql)) {
+                checkStmt.setLong(1, userId);
+                checkStmt.setLong(2, taskId);
+                try (ResultSet rs = checkStmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return;
+                    }
                 }
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error checking task assignment", e);
             }
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error checking task assignment", e);
-        }
 
-        String insertSql = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
-        try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
-            insertStmt.setLong(1, userId);
-            insertStmt.setLong(2, taskId);
-            insertStmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new TaskAssignmentException("Error assigning task to user", e);
-        }
+            String insertSql = "INSERT INTO user_tasks (user_id, task_id) VALUES (?, ?)";
+            try (PreparedStatement insertStmt = connection.prepareStatement(insertSql)) {
+                insertStmt.setLong(1, userId);
+                insertStmt.setLong(2, taskId);
+                insertStmt.executeUpdate();
+            } catch (SQLException e) {
+                throw new TaskAssignmentException("Error assigning task to user", e);
+            }
+        });
     }
 
     public List<Task> getTasksByUserId(Long userId) {
+        return IdentityMap.find(USER_TASKS_REGION, userId, () -> loadTasksByUserId(userId));
+    }
+
+    private List<Task> loadTasksByUserId(Long userId) {
         List<Task> tasks = new ArrayList<>();
         String sql = "SELECT t.id, t.title, t.description, t.assigned_user_id FROM tasks t JOIN user_tasks ut ON t.id = ut.task_id WHERE ut.user_id = ?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
@@ -0,0 +1,62 @@
+package dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public class BatchOperationDTO {
+    private String ref;
+    private String method;
+    private String path;
+    private JsonNode body;
+
+    public BatchOperationDTO() {
+    }
+
+    public BatchOperationDTO(String ref, String method, String path, JsonNode body) {
+        this.ref = ref;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationDTO{" +
+                "ref='" + ref + '\'' +
+                ", method='" + method + '\'' +
+                ", path='" + path + '\'' +
+                ", body=" + body +
+                '}';
+    }
+}
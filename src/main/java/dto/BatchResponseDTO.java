@@ -0,0 +1,41 @@
+package dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResponseDTO {
+    private boolean committed;
+    private List<BatchResultDTO> results = new ArrayList<>();
+
+    public BatchResponseDTO() {
+    }
+
+    public BatchResponseDTO(boolean committed, List<BatchResultDTO> results) {
+        this.committed = committed;
+        this.results = results;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public List<BatchResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchResultDTO> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResponseDTO{" +
+                "committed=" + committed +
+                ", results=" + results +
+                '}';
+    }
+}
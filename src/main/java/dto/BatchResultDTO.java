@@ -0,0 +1,85 @@
+package dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO {
+    private int index;
+    private String ref;
+    private int status;
+    private Long id;
+    private Object body;
+    private String error;
+
+    public BatchResultDTO() {
+    }
+
+    public BatchResultDTO(int index, String ref, int status, Long id, Object body, String error) {
+        this.index = index;
+        this.ref = ref;
+        this.status = status;
+        this.id = id;
+        this.body = body;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public void setBody(Object body) {
+        this.body = body;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+                "index=" + index +
+                ", ref='" + ref + '\'' +
+                ", status=" + status +
+                ", id=" + id +
+                ", body=" + body +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package exception;
+
+public class BatchOperationException extends ServiceException {
+    private final int status;
+
+    public BatchOperationException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public BatchOperationException(int status, String message, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,11 @@
+package exception;
+
+public class WriteBehindRejectedException extends ServiceException {
+    public WriteBehindRejectedException(String message) {
+        super(message);
+    }
+
+    public WriteBehindRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package factory.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.DatabaseConfig;
+import config.TimedObjectMapper;
+import controller.BatchController;
+import service.BatchService;
+import service.impl.BatchServiceImpl;
+import tracing.Traced;
+
+public class BatchControllerFactory {
+
+    private BatchControllerFactory() {}
+    public static BatchController createBatchController() {
+        ObjectMapper objectMapper = new TimedObjectMapper();
+        BatchService batchService = new BatchServiceImpl(DatabaseConfig.getDataSource(), objectMapper,
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.TASKS_SEQUENCE),
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.USERS_SEQUENCE),
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.TAGS_SEQUENCE),
+                DurabilityPolicyFactory.fromProperties());
+        return new BatchController(Traced.proxy(BatchService.class, batchService), objectMapper);
+    }
+}
@@ -0,0 +1,66 @@
+package factory.impl;
+
+import config.ApplicationProperties;
+import config.DatabaseConfig;
+import dao.TagDAO;
+import dao.TaskDAO;
+import dao.UserDAO;
+import dao.impl.InMemoryStore;
+import dao.impl.InMemoryTagDAO;
+import dao.impl.InMemoryTaskDAO;
+import dao.impl.InMemoryUserDAO;
+import dao.impl.TagDAOImpl;
+import dao.impl.TaskDAOImpl;
+import dao.impl.UserDAOImpl;
+import exception.ConfigurationException;
+
+/**
+ * Picks the DAO implementations named by {@code dao.backend}: {@code jdbc} (the default) or
+ * {@code memory}, which keeps everything in the process-wide {@link InMemoryStore} and never opens
+ * a database connection.
+ */
+public class DAOFactory {
+    public static final String BACKEND_PROPERTY = "dao.backend";
+    public static final String JDBC = "jdbc";
+    public static final String MEMORY = "memory";
+
+    private DAOFactory() {}
+
+    public static boolean isInMemory() {
+        String backend = ApplicationProperties.get(BACKEND_PROPERTY, JDBC);
+        if (MEMORY.equals(backend)) {
+            return true;
+        }
+        if (JDBC.equals(backend)) {
+            return false;
+        }
+        throw new ConfigurationException("Unknown " + BACKEND_PROPERTY + ": " + backend);
+    }
+
+    public static TaskDAO createTaskDAO() {
+        if (isInMemory()) {
+            return new InMemoryTaskDAO(InMemoryStore.global());
+        }
+        return new TaskDAOImpl(DatabaseConfig.getRequestScopedConnection(),
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.TASKS_SEQUENCE),
+                DurabilityPolicyFactory.fromProperties());
+    }
+
+    public static UserDAO createUserDAO() {
+        if (isInMemory()) {
+            return new InMemoryUserDAO(InMemoryStore.global());
+        }
+        return new UserDAOImpl(DatabaseConfig.getRequestScopedConnection(),
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.USERS_SEQUENCE),
+                DurabilityPolicyFactory.fromProperties());
+    }
+
+    public static TagDAO createTagDAO() {
+        if (isInMemory()) {
+            return new InMemoryTagDAO(InMemoryStore.global());
+        }
+        return new TagDAOImpl(DatabaseConfig.getRequestScopedConnection(),
+                IdAllocatorFactory.forInserts(IdAllocatorFactory.TAGS_SEQUENCE),
+                DurabilityPolicyFactory.fromProperties());
+    }
+}
@@ -0,0 +1,14 @@
+package factory.impl;
+
+import config.ApplicationProperties;
+import dao.DurabilityPolicy;
+
+public class DurabilityPolicyFactory {
+    private static final DurabilityPolicy POLICY = new DurabilityPolicy(operation -> ApplicationProperties.get("durability." + operation));
+
+    private DurabilityPolicyFactory() {}
+
+    public static DurabilityPolicy fromProperties() {
+        return POLICY;
+    }
+}
@@ -0,0 +1,32 @@
+package factory.impl;
+
+import config.ApplicationProperties;
+import dao.IdAllocator;
+import dao.impl.HiLoIdAllocator;
+import dao.impl.SequenceIdAllocator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class IdAllocatorFactory {
+    public static final String TASKS_SEQUENCE = "tasks_id_seq";
+    public static final String USERS_SEQUENCE = "users_id_seq";
+    public static final String TAGS_SEQUENCE = "tags_id_seq";
+    private static final Map<String, IdAllocator> ALLOCATORS = new ConcurrentHashMap<>();
+
+    private IdAllocatorFactory() {}
+
+    public static boolean isBlockAllocationEnabled() {
+        return ApplicationProperties.getBoolean("ids.block-allocation.enabled", false);
+    }
+
+    public static IdAllocator forSequence(String sequence) {
+        return ALLOCATORS.computeIfAbsent(sequence, name -> isBlockAllocationEnabled()
+                ? new HiLoIdAllocator(name)
+                : new SequenceIdAllocator(name));
+    }
+
+    public static IdAllocator forInserts(String sequence) {
+        return isBlockAllocationEnabled() ? forSequence(sequence) : null;
+    }
+}
@@ -1,32 +1,24 @@
 package factory.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import config.DatabaseConfig;
+import config.TimedObjectMapper;
 import controller.TagController;
 import controller.UserController;
 import dao.TagDAO;
 import dao.UserDAO;
-import dao.impl.TagDAOImpl;
 import dao.impl.UserDAOImpl;
-import exception.InitializationException;
+import service.TagService;
 import service.impl.TagServiceImpl;
 import service.impl.UserServiceImpl;
-
-import java.sql.Connection;
-import java.sql.SQLException;
+import tracing.Traced;
 
 public class TagControllerFactory {
 
     private TagControllerFactory() {}
     public static TagController createTagController() {
-        try {
-            Connection connection = DatabaseConfig.getConnection();
-            TagDAO tagDAO = new TagDAOImpl(connection);
-            TagServiceImpl tagService = new TagServiceImpl(tagDAO);
-            ObjectMapper objectMapper = new ObjectMapper();
-            return new TagController(tagService, objectMapper);
-        } catch (SQLException e) {
-            throw new InitializationException("Failed to initialize components", e);
-        }
+        TagDAO tagDAO = Traced.proxy(TagDAO.class, DAOFactory.createTagDAO());
+        TagServiceImpl tagService = new TagServiceImpl(tagDAO);
+        ObjectMapper objectMapper = new TimedObjectMapper();
+        return new TagController(Traced.proxy(TagService.class, tagService), objectMapper);
     }
 }
@@ -1,30 +1,72 @@
 package factory.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ApplicationLifecycle;
+import config.ApplicationProperties;
 import config.DatabaseConfig;
 import config.InitSQLScheme;
+import config.TimedObjectMapper;
 import controller.TaskController;
+import dao.IdAllocator;
 import dao.TaskDAO;
+import dao.UserDAO;
 import dao.impl.TaskDAOImpl;
-import exception.InitializationException;
+import entity.Task;
+import exception.DatabaseOperationException;
+import service.TaskService;
 import service.impl.TaskServiceImpl;
+import service.impl.TaskWriteBehindQueue;
+import tracing.Traced;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 public class TaskControllerFactory {
 
     private TaskControllerFactory() {}
     public static TaskController createTaskController() {
-        try {
-            Connection connection = DatabaseConfig.getConnection();
-            TaskDAO taskDAO = new TaskDAOImpl(connection);
-            TaskServiceImpl taskService = new TaskServiceImpl(taskDAO);
-            ObjectMapper objectMapper = new ObjectMapper();
+        TaskDAO taskDAO = Traced.proxy(TaskDAO.class, DAOFactory.createTaskDAO());
+        TaskServiceImpl taskService = new TaskServiceImpl(taskDAO, createWriteBehindQueue());
+        ObjectMapper objectMapper = new TimedObjectMapper();
+        if (!DAOFactory.isInMemory()) {
             InitSQLScheme.initSqlScheme();
-            return new TaskController(taskService, objectMapper);
+        }
+        return new TaskController(Traced.proxy(TaskService.class, taskService), objectMapper);
+    }
+
+    /**
+     * Write-behind batches inserts into the database, so the in-memory backend never uses it.
+     * Assignees are checked and ids allocated at enqueue time on the request's leased connection, so
+     * an enqueue never waits for a second pooled connection; every flush borrows its own and returns it.
+     */
+    private static TaskWriteBehindQueue createWriteBehindQueue() {
+        if (!ApplicationProperties.getBoolean("tasks.write-behind.enabled", false) || DAOFactory.isInMemory()) {
+            return null;
+        }
+        UserDAO userDAO = DAOFactory.createUserDAO();
+        IdAllocator taskIds = IdAllocatorFactory.forSequence(IdAllocatorFactory.TASKS_SEQUENCE);
+        TaskWriteBehindQueue queue = new TaskWriteBehindQueue(
+                TaskControllerFactory::writeQueuedTasks,
+                () -> taskIds.nextId(DatabaseConfig.getRequestScopedConnection()),
+                userDAO::existsById,
+                ApplicationProperties.getInt("tasks.write-behind.capacity", 10000),
+                ApplicationProperties.getInt("tasks.write-behind.batch-size", 500),
+                ApplicationProperties.getLong("tasks.write-behind.flush-interval-ms", 50),
+                ApplicationProperties.getLong("tasks.write-behind.offer-timeout-ms", 100),
+                ApplicationProperties.getLong("tasks.write-behind.drain-timeout-ms", 30000),
+                ApplicationProperties.getInt("tasks.write-behind.flush-attempts", 3),
+                ApplicationProperties.getLong("tasks.write-behind.retry-backoff-ms", 100),
+                TaskWriteBehindQueue.DeadLetterSink.LOG);
+        ApplicationLifecycle.register(queue);
+        return queue;
+    }
+
+    private static void writeQueuedTasks(List<Task> tasks) {
+        try (Connection connection = DatabaseConfig.getConnection()) {
+            new TaskDAOImpl(connection, null, DurabilityPolicyFactory.fromProperties()).createAll(tasks);
         } catch (SQLException e) {
-            throw new InitializationException("Failed to initialize components", e);
+            throw new DatabaseOperationException("Error writing queued tasks", e);
         }
     }
 }
@@ -1,28 +1,20 @@
 package factory.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import config.DatabaseConfig;
+import config.TimedObjectMapper;
 import controller.UserController;
 import dao.UserDAO;
-import dao.impl.UserDAOImpl;
-import exception.InitializationException;
+import service.UserService;
 import service.impl.UserServiceImpl;
-
-import java.sql.Connection;
-import java.sql.SQLException;
+import tracing.Traced;
 
 public class UserControllerFactory {
 
     private UserControllerFactory() {}
     public static UserController createUserController() {
-        try {
-            Connection connection = DatabaseConfig.getConnection();
-            UserDAO userDAO = new UserDAOImpl(connection);
-            UserServiceImpl userService = new UserServiceImpl(userDAO);
-            ObjectMapper objectMapper = new ObjectMapper();
-            return new UserController(userService, objectMapper);
-        } catch (SQLException e) {
-            throw new InitializationException("Failed to initialize components", e);
-        }
+        UserDAO userDAO = Traced.proxy(UserDAO.class, DAOFactory.createUserDAO());
+        UserServiceImpl userService = new UserServiceImpl(userDAO);
+        ObjectMapper objectMapper = new TimedObjectMapper();
+        return new UserController(Traced.proxy(UserService.class, userService), objectMapper);
     }
 }
@@ -0,0 +1,174 @@
+package faults;
+
+import config.ApplicationProperties;
+import jdbc.JdbcProxies;
+import jdbc.StatementExecution;
+import jdbc.StatementListener;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Injects latency and errors between the application and PostgreSQL so timeouts, limiters and caches
+ * can be exercised against a degraded database without having one. Only installed when
+ * {@code faults.enabled} is set; the active {@link FaultPlan} can then be replaced at runtime.
+ * <p>
+ * Delays honour the limits the real server would: a statement delayed past its query timeout fails
+ * with SQL state 57014 as if cancelled, and an acquisition delayed past the pool's connection timeout
+ * fails the way Hikari does.
+ */
+public class FaultInjector implements StatementListener {
+    static final String QUERY_CANCELED = "57014";
+    private static final String CONNECTION_TIMEOUT = "08001";
+    private final boolean installed;
+    private final long connectionTimeoutNanos;
+    private final Counter statementDelays;
+    private final Counter statementErrors;
+    private final Counter acquireDelays;
+    private final Counter acquireErrors;
+    private volatile FaultPlan plan;
+
+    public FaultInjector(boolean installed, long connectionTimeoutMs, MetricsRegistry registry) {
+        this.installed = installed;
+        this.connectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMs);
+        String name = "db_faults_injected_total";
+        String help = "Faults injected into database access";
+        this.statementDelays = registry.counter(name, help, "target", "statement", "kind", "latency");
+        this.statementErrors = registry.counter(name, help, "target", "statement", "kind", "error");
+        this.acquireDelays = registry.counter(name, help, "target", "acquire", "kind", "latency");
+        this.acquireErrors = registry.counter(name, help, "target", "acquire", "kind", "error");
+    }
+
+    public static FaultInjector global() {
+        return Holder.GLOBAL;
+    }
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * Stalls or fails connection acquisition; wrap the pool itself so the delay shows up as acquire time.
+     */
+    public DataSource wrapAcquire(DataSource dataSource) {
+        if (!installed) {
+            return dataSource;
+        }
+        return (DataSource) Proxy.newProxyInstance(FaultInjector.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) {
+                        FaultPlan current = plan;
+                        if (current != null && current.getAcquire() != null) {
+                            inject(current.getAcquire(), connectionTimeoutNanos, acquireDelays, acquireErrors, true);
+                        }
+                    }
+                    try {
+                        return method.invoke(dataSource, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Delays or fails statements; wrap below the listener chain so the delay is measured as SQL time.
+     */
+    public DataSource wrapStatements(DataSource dataSource) {
+        return installed ? JdbcProxies.wrap(dataSource, this) : dataSource;
+    }
+
+    public FaultPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(FaultPlan plan) {
+        if (!installed) {
+            throw new IllegalStateException("Fault injection is not enabled (faults.enabled)");
+        }
+        if (plan == null) {
+            throw new IllegalArgumentException("Fault plan is required");
+        }
+        plan.validate();
+        this.plan = plan;
+    }
+
+    public void clear() {
+        this.plan = null;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("installed", installed);
+        status.put("plan", plan);
+        Map<String, Long> injected = new LinkedHashMap<>();
+        injected.put("statementDelays", statementDelays.get());
+        injected.put("statementErrors", statementErrors.get());
+        injected.put("acquireDelays", acquireDelays.get());
+        injected.put("acquireErrors", acquireErrors.get());
+        status.put("injected", injected);
+        return status;
+    }
+
+    @Override
+    public void beforeExecute(StatementExecution execution) throws SQLException {
+        FaultPlan current = plan;
+        if (current == null) {
+            return;
+        }
+        for (FaultRule rule : current.getStatements()) {
+            if (rule.matches(execution.getShape())) {
+                long timeoutNanos = TimeUnit.SECONDS.toNanos(execution.getStatement().getQueryTimeout());
+                inject(rule, timeoutNanos, statementDelays, statementErrors, false);
+                return;
+            }
+        }
+    }
+
+    private static void inject(FaultRule rule, long limitNanos, Counter delays, Counter errors, boolean acquire) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (rule.getLatency() != null && random.nextDouble() < rule.getLatencyProbability()) {
+            long delay = rule.getLatency().sampleNanos(random);
+            delays.increment();
+            if (limitNanos > 0 && delay >= limitNanos) {
+                sleep(limitNanos);
+                throw acquire
+                        ? new SQLTransientConnectionException("Connection is not available, request timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(limitNanos) + "ms (injected)", CONNECTION_TIMEOUT)
+                        : new SQLTimeoutException("canceling statement due to statement timeout (injected)", QUERY_CANCELED);
+            }
+            sleep(delay);
+        }
+        if (random.nextDouble() < rule.getErrorRate()) {
+            errors.increment();
+            throw acquire
+                    ? new SQLTransientConnectionException(rule.getMessage(), rule.getSqlState())
+                    : new SQLException(rule.getMessage(), rule.getSqlState());
+        }
+    }
+
+    private static void sleep(long nanos) throws SQLException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted during injected delay", QUERY_CANCELED, e);
+        }
+    }
+
+    private static final class Holder {
+        private static final FaultInjector GLOBAL = new FaultInjector(
+                ApplicationProperties.getBoolean("faults.enabled", false),
+                ApplicationProperties.getLong("database.pool.connection-timeout-ms", 30000),
+                MetricsRegistry.global());
+    }
+}
@@ -0,0 +1,41 @@
+package faults;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The faults currently injected: statement rules are tried in order and the first match applies;
+ * the acquire rule applies to every connection taken from the pool.
+ */
+public class FaultPlan {
+    private List<FaultRule> statements = new ArrayList<>();
+    private FaultRule acquire;
+
+    void validate() {
+        if (statements == null) {
+            statements = new ArrayList<>();
+        }
+        for (FaultRule rule : statements) {
+            rule.validate();
+        }
+        if (acquire != null) {
+            acquire.validate();
+        }
+    }
+
+    public List<FaultRule> getStatements() {
+        return statements;
+    }
+
+    public void setStatements(List<FaultRule> statements) {
+        this.statements = statements;
+    }
+
+    public FaultRule getAcquire() {
+        return acquire;
+    }
+
+    public void setAcquire(FaultRule acquire) {
+        this.acquire = acquire;
+    }
+}
@@ -0,0 +1,78 @@
+package faults;
+
+/**
+ * What to inject into matching statements or connection acquisitions: a delay drawn from
+ * {@code latency} with probability {@code latencyProbability}, then an error with probability
+ * {@code errorRate}. Statement rules match when their {@code shape} occurs in the statement's SQL
+ * shape, ignoring case; an empty shape matches everything.
+ */
+public class FaultRule {
+    static final String DEFAULT_SQL_STATE = "08006";
+    private String shape = "";
+    private LatencyDistribution latency;
+    private double latencyProbability = 1.0;
+    private double errorRate;
+    private String sqlState = DEFAULT_SQL_STATE;
+    private String message = "Injected fault";
+
+    boolean matches(String statementShape) {
+        return shape == null || shape.isEmpty() || statementShape.toLowerCase().contains(shape.toLowerCase());
+    }
+
+    void validate() {
+        if (latencyProbability < 0 || latencyProbability > 1 || errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Probabilities must be between 0 and 1");
+        }
+        if (latency != null) {
+            latency.validate();
+        }
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public void setShape(String shape) {
+        this.shape = shape;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public void setLatency(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    public double getLatencyProbability() {
+        return latencyProbability;
+    }
+
+    public void setLatencyProbability(double latencyProbability) {
+        this.latencyProbability = latencyProbability;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public String getSqlState() {
+        return sqlState;
+    }
+
+    public void setSqlState(String sqlState) {
+        this.sqlState = sqlState;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,105 @@
+package faults;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Injected delay, in milliseconds. {@code FIXED} waits {@code minMs}; {@code UNIFORM} draws between
+ * {@code minMs} and {@code maxMs}; {@code EXPONENTIAL} adds an exponential with mean {@code meanMs} to
+ * {@code minMs}; {@code LOGNORMAL} draws around {@code medianMs} with shape {@code sigma}, which gives
+ * the long right tail of a server under contention. A positive {@code maxMs} caps every type.
+ */
+public class LatencyDistribution {
+    public enum Type {
+        FIXED, UNIFORM, EXPONENTIAL, LOGNORMAL
+    }
+
+    private Type type = Type.FIXED;
+    private double minMs;
+    private double maxMs;
+    private double meanMs;
+    private double medianMs;
+    private double sigma = 1.0;
+
+    public static LatencyDistribution fixed(double ms) {
+        LatencyDistribution distribution = new LatencyDistribution();
+        distribution.setMinMs(ms);
+        return distribution;
+    }
+
+    public static LatencyDistribution lognormal(double medianMs, double sigma, double maxMs) {
+        LatencyDistribution distribution = new LatencyDistribution();
+        distribution.setType(Type.LOGNORMAL);
+        distribution.setMedianMs(medianMs);
+        distribution.setSigma(sigma);
+        distribution.setMaxMs(maxMs);
+        return distribution;
+    }
+
+    public long sampleNanos(RandomGenerator random) {
+        double ms = switch (type) {
+            case FIXED -> minMs;
+            case UNIFORM -> minMs + random.nextDouble() * Math.max(0, maxMs - minMs);
+            case EXPONENTIAL -> minMs - meanMs * Math.log(1 - random.nextDouble());
+            case LOGNORMAL -> medianMs * Math.exp(sigma * random.nextGaussian());
+        };
+        if (maxMs > 0) {
+            ms = Math.min(ms, maxMs);
+        }
+        return (long) (ms * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    void validate() {
+        if (type == null || minMs < 0 || maxMs < 0 || meanMs < 0 || medianMs < 0 || sigma < 0) {
+            throw new IllegalArgumentException("Latency needs a type and non-negative parameters");
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public double getMinMs() {
+        return minMs;
+    }
+
+    public void setMinMs(double minMs) {
+        this.minMs = minMs;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(double meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public double getMedianMs() {
+        return medianMs;
+    }
+
+    public void setMedianMs(double medianMs) {
+        this.medianMs = medianMs;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    public void setSigma(double sigma) {
+        this.sigma = sigma;
+    }
+}
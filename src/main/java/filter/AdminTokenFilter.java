@@ -0,0 +1,49 @@
+package filter;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards admin endpoints: the request must carry {@code Authorization: Bearer <admin.token>}.
+ * Registered by {@link config.AdminEndpoints}, which only maps admin servlets once a token is configured.
+ */
+public class AdminTokenFilter implements Filter {
+    static final String BEARER = "Bearer ";
+    private final byte[] token;
+
+    public AdminTokenFilter(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Admin token must not be blank");
+        }
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!authorized(httpRequest.getHeader("Authorization"))) {
+            httpResponse.setHeader("WWW-Authenticate", "Bearer");
+            httpResponse.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Admin token required");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    boolean authorized(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(token, presented);
+    }
+}
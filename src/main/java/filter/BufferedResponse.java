@@ -0,0 +1,130 @@
+package filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Holds the response body in memory so headers that depend on the whole request, such as
+ * {@code Server-Timing}, can still be set before anything is sent. {@code beforeCommit} runs
+ * exactly once, either when the body is released or when an error/redirect commits the response.
+ */
+class BufferedResponse extends HttpServletResponseWrapper {
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final Runnable beforeCommit;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean committed;
+
+    BufferedResponse(HttpServletResponse response, Runnable beforeCommit) {
+        super(response);
+        this.beforeCommit = beforeCommit;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    buffer.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException("Buffered responses are blocking");
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(buffer, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed || super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        buffer.reset();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        buffer.reset();
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        commit();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        commit();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        commit();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Runs the pre-commit hook if nothing has been sent yet and writes the buffered body through.
+     */
+    void release() throws IOException {
+        flushBuffer();
+        if (committed) {
+            return;
+        }
+        commit();
+        if (buffer.size() > 0) {
+            getResponse().setContentLength(buffer.size());
+            buffer.writeTo(getResponse().getOutputStream());
+        }
+    }
+
+    private void commit() {
+        if (!committed) {
+            committed = true;
+            beforeCommit.run();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package filter;
+
+import context.RequestContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Treats an I/O failure while writing the response as the client having gone away and cancels
+ * whatever the request still has running against the database. Also counts the body bytes written.
+ */
+class DisconnectAwareResponse extends HttpServletResponseWrapper {
+    private final RequestContext context;
+    private ServletOutputStream outputStream;
+    private long bytesWritten;
+
+    DisconnectAwareResponse(HttpServletResponse response, RequestContext context) {
+        super(response);
+        this.context = context;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new DisconnectAwareOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        try {
+            super.flushBuffer();
+        } catch (IOException e) {
+            throw disconnected(e);
+        }
+    }
+
+    private IOException disconnected(IOException e) {
+        context.cancel("client disconnected");
+        return e;
+    }
+
+    private final class DisconnectAwareOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        DisconnectAwareOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                delegate.write(b);
+                bytesWritten++;
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                delegate.write(b, off, len);
+                bytesWritten += len;
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                delegate.flush();
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } catch (IOException e) {
+                throw disconnected(e);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
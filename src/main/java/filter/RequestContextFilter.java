@@ -0,0 +1,202 @@
+package filter;
+
+import accesslog.AccessLog;
+import accesslog.AccessLogEntry;
+import config.ApplicationLifecycle;
+import config.ApplicationProperties;
+import context.DeadlineWatchdog;
+import context.RequestContext;
+import context.RequestTimings;
+import controller.Routes;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jfr.HttpRequestEvent;
+import metrics.HttpRoute;
+import metrics.ThreadAllocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import tracing.Span;
+import tracing.SpanKind;
+import tracing.Tracer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@WebFilter("/*")
+public class RequestContextFilter implements Filter {
+    static final String HEADER_REQUEST_TIMEOUT = "X-Request-Timeout-Ms";
+    static final String HEADER_REQUEST_ID = "X-Request-Id";
+    static final String HEADER_SERVER_TIMING = "Server-Timing";
+    static final String MDC_REQUEST_ID = "requestId";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+    private static final String TIMEOUT_PROPERTY = "request.timeout-ms";
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestContextFilter.class);
+    private final Map<String, Long> endpointTimeouts = new ConcurrentHashMap<>();
+    private long defaultTimeoutMillis;
+    private boolean serverTimingEnabled;
+    private boolean allocationTracking;
+    private AccessLog accessLog = AccessLog.global();
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        configure(ApplicationProperties.getLong(TIMEOUT_PROPERTY, 30000),
+                ApplicationProperties.getBoolean("server-timing.enabled", false),
+                ApplicationProperties.getBoolean("metrics.allocation.enabled", true));
+        ApplicationLifecycle.register(new DeadlineWatchdog(ApplicationProperties.getLong("request.deadline-check-interval-ms", 100)));
+    }
+
+    void configure(long defaultTimeoutMillis, boolean serverTimingEnabled, boolean allocationTracking) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.allocationTracking = allocationTracking && ThreadAllocation.isSupported();
+    }
+
+    void setAccessLog(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        RequestContext context = RequestContext.begin();
+        try {
+            if (request instanceof HttpServletRequest httpRequest && response instanceof HttpServletResponse httpResponse) {
+                context.setTimeout(timeoutFor(httpRequest));
+                doFilter(httpRequest, httpResponse, chain, context);
+            } else {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            RequestContext.end();
+        }
+    }
+
+    private void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain, RequestContext context)
+            throws IOException, ServletException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        long allocatedBefore = allocationTracking ? ThreadAllocation.currentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        HttpRoute route = Routes.match(request.getMethod(), request.getServletPath(), request.getPathInfo());
+        context.setRoute(route.getName());
+        String requestId = requestIdOf(request);
+        context.setRequestId(requestId);
+        response.setHeader(HEADER_REQUEST_ID, requestId);
+        MDC.put(MDC_REQUEST_ID, requestId);
+        Span span = Tracer.global().startRoot(route.getName(), SpanKind.SERVER, request.getHeader(Tracer.HEADER_TRACEPARENT));
+        span.setAttribute("http.request.method", request.getMethod())
+                .setAttribute("http.route", route.getTemplate())
+                .setAttribute("request.id", requestId);
+        DisconnectAwareResponse disconnectAware = new DisconnectAwareResponse(response, context);
+        HttpServletResponse target = disconnectAware;
+        BufferedResponse buffered = null;
+        if (serverTimingEnabled || accessLog.isEnabled()) {
+            context.enableTimings();
+        }
+        // Server-Timing holds the response until the handler is done; admin and metrics responses
+        // (JFR downloads, scrapes) are streamed instead
+        if (serverTimingEnabled && Routes.isApi(route)) {
+            buffered = new BufferedResponse(target,
+                    () -> response.setHeader(HEADER_SERVER_TIMING, context.getTimings().toHeader(System.nanoTime() - start)));
+            target = buffered;
+        }
+        boolean failed = false;
+        try {
+            chain.doFilter(request, target);
+            if (buffered != null) {
+                buffered.release();
+            }
+        } catch (RuntimeException e) {
+            if (!context.isCancelled()) {
+                failed = true;
+                throw e;
+            }
+            LOGGER.warn("Request {} {} cancelled: {}", request.getMethod(), request.getRequestURI(), context.getCancelReason());
+            if (!target.isCommitted()) {
+                target.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Request cancelled: " + context.getCancelReason());
+            }
+        } finally {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            long elapsed = System.nanoTime() - start;
+            route.record(status, elapsed);
+            if (allocationTracking) {
+                route.recordAllocation(ThreadAllocation.currentThreadAllocatedBytes() - allocatedBefore);
+            }
+            span.setAttribute("http.response.status_code", status);
+            if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                span.markError("HTTP " + status);
+            }
+            span.end();
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.route = route.getTemplate();
+                event.status = status;
+                event.requestId = requestId;
+                event.commit();
+            }
+            double sampleRate = accessLog.sampleRateFor(status);
+            if (sampleRate > 0) {
+                RequestTimings timings = context.getTimings();
+                accessLog.log(new AccessLogEntry(System.currentTimeMillis(), requestId, request.getMethod(), route.getTemplate(),
+                        status, disconnectAware.getBytesWritten(), elapsed, timings.getNanos(RequestTimings.Phase.SQL),
+                        timings.getCount(RequestTimings.Phase.SQL), timings.getRows(), sampleRate));
+            }
+            MDC.remove(MDC_REQUEST_ID);
+        }
+    }
+
+    /**
+     * Reuses a well-formed incoming request id so callers can correlate, otherwise generates one.
+     */
+    static String requestIdOf(HttpServletRequest request) {
+        String incoming = request.getHeader(HEADER_REQUEST_ID);
+        if (incoming != null && !incoming.isEmpty() && incoming.length() <= MAX_REQUEST_ID_LENGTH) {
+            boolean valid = true;
+            for (int i = 0; i < incoming.length() && valid; i++) {
+                char c = incoming.charAt(i);
+                valid = Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.';
+            }
+            if (valid) {
+                return incoming;
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+
+    long timeoutFor(HttpServletRequest request) {
+        String endpoint = endpointOf(request.getServletPath());
+        long timeout = endpointTimeouts.computeIfAbsent(endpoint,
+                key -> ApplicationProperties.getLong(TIMEOUT_PROPERTY + "." + key, defaultTimeoutMillis));
+        String header = request.getHeader(HEADER_REQUEST_TIMEOUT);
+        if (header != null) {
+            try {
+                long requested = Long.parseLong(header.trim());
+                if (requested > 0) {
+                    timeout = Math.min(timeout, requested);
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Ignoring invalid {} header: {}", HEADER_REQUEST_TIMEOUT, header);
+            }
+        }
+        return timeout;
+    }
+
+    private static String endpointOf(String servletPath) {
+        if (servletPath == null || servletPath.length() <= 1) {
+            return "root";
+        }
+        int end = servletPath.indexOf('/', 1);
+        return end < 0 ? servletPath.substring(1) : servletPath.substring(1, end);
+    }
+}
@@ -0,0 +1,178 @@
+package health;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Readiness of the database layer. Pool statistics are read live on every check; the validation
+ * query is rate-limited: its result is cached for the probe interval and only one caller at a time
+ * refreshes it, so a burst of health checks costs at most one {@code SELECT 1} per interval. The probe
+ * is skipped while the pool is exhausted, since borrowing a connection would queue behind real work.
+ * <p>
+ * The probe runs on its own thread, because borrowing the connection can block for the whole pool
+ * connection timeout. A check answers with the last result at once, and reports the probe as pending
+ * once it has been running for longer than the probe timeout.
+ */
+public class DatabaseHealth implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseHealth.class);
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private final HikariPoolMXBean pool;
+    private final int maximumPoolSize;
+    private final DataSource dataSource;
+    private final LongSupplier recentAcquireNanos;
+    private final long probeIntervalNanos;
+    private final int probeTimeoutSeconds;
+    private final long probeTimeoutNanos;
+    private final long maxAcquireNanos;
+    private final int maxPendingThreads;
+    private final LongSupplier clock;
+    private final Executor probeExecutor;
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long probeStartedNanos;
+    private volatile Probe lastProbe;
+
+    public DatabaseHealth(HikariPoolMXBean pool, int maximumPoolSize, DataSource dataSource, LongSupplier recentAcquireNanos,
+                          long probeIntervalMillis, int probeTimeoutSeconds, long maxAcquireMillis, int maxPendingThreads) {
+        this(pool, maximumPoolSize, dataSource, recentAcquireNanos, probeIntervalMillis, probeTimeoutSeconds,
+                maxAcquireMillis, maxPendingThreads, System::nanoTime, Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "database-health-probe");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    DatabaseHealth(HikariPoolMXBean pool, int maximumPoolSize, DataSource dataSource, LongSupplier recentAcquireNanos,
+                   long probeIntervalMillis, int probeTimeoutSeconds, long maxAcquireMillis, int maxPendingThreads,
+                   LongSupplier clock, Executor probeExecutor) {
+        this.pool = pool;
+        this.maximumPoolSize = maximumPoolSize;
+        this.dataSource = dataSource;
+        this.recentAcquireNanos = recentAcquireNanos;
+        this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMillis);
+        this.probeTimeoutSeconds = probeTimeoutSeconds;
+        this.probeTimeoutNanos = TimeUnit.SECONDS.toNanos(probeTimeoutSeconds);
+        this.maxAcquireNanos = TimeUnit.MILLISECONDS.toNanos(maxAcquireMillis);
+        this.maxPendingThreads = maxPendingThreads;
+        this.clock = clock;
+        this.probeExecutor = probeExecutor;
+    }
+
+    public HealthReport check() {
+        int active = pool.getActiveConnections();
+        int pending = pool.getThreadsAwaitingConnection();
+        long acquireNanos = recentAcquireNanos.getAsLong();
+        boolean exhausted = active >= maximumPoolSize && pending > 0;
+        Probe probe = exhausted ? lastProbe : probe();
+        long pendingNanos = probing.get() ? clock.getAsLong() - probeStartedNanos : 0;
+
+        List<String> reasons = new ArrayList<>();
+        if (pending > maxPendingThreads) {
+            reasons.add(pending + " threads waiting for a connection (max " + maxPendingThreads + ")");
+        }
+        if (acquireNanos > maxAcquireNanos) {
+            reasons.add("connection acquire takes " + millis(acquireNanos) + " ms (max " + millis(maxAcquireNanos) + ")");
+        }
+        if (probe != null && probe.error != null) {
+            reasons.add("validation query failed: " + probe.error);
+        }
+        if (pendingNanos > probeTimeoutNanos) {
+            reasons.add("validation probe pending for " + millis(pendingNanos) + " ms (timeout " + millis(probeTimeoutNanos) + ")");
+        }
+
+        Map<String, Object> poolDetails = new LinkedHashMap<>();
+        poolDetails.put("active", active);
+        poolDetails.put("idle", pool.getIdleConnections());
+        poolDetails.put("total", pool.getTotalConnections());
+        poolDetails.put("max", maximumPoolSize);
+        poolDetails.put("pending", pending);
+        poolDetails.put("acquireMs", millis(acquireNanos));
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("pool", poolDetails);
+        if (probe != null) {
+            Map<String, Object> database = new LinkedHashMap<>();
+            database.put("up", probe.error == null);
+            database.put("latencyMs", millis(probe.elapsedNanos));
+            database.put("ageMs", millis(clock.getAsLong() - probe.checkedAtNanos));
+            if (probe.error != null) {
+                database.put("error", probe.error);
+            }
+            details.put("database", database);
+        }
+        if (pendingNanos > 0) {
+            details.put("probePendingMs", millis(pendingNanos));
+        }
+        return new HealthReport(reasons.isEmpty(), reasons, details);
+    }
+
+    private Probe probe() {
+        Probe probe = lastProbe;
+        if ((probe == null || clock.getAsLong() - probe.checkedAtNanos >= probeIntervalNanos) && probing.compareAndSet(false, true)) {
+            probeStartedNanos = clock.getAsLong();
+            try {
+                probeExecutor.execute(() -> {
+                    try {
+                        lastProbe = runValidationQuery();
+                    } finally {
+                        probing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                probing.set(false);
+            }
+        }
+        return lastProbe;
+    }
+
+    private Probe runValidationQuery() {
+        long start = clock.getAsLong();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(probeTimeoutSeconds);
+            statement.execute("SELECT 1");
+            return new Probe(clock.getAsLong(), clock.getAsLong() - start, null);
+        } catch (SQLException e) {
+            LOGGER.warn("Database validation query failed", e);
+            return new Probe(clock.getAsLong(), clock.getAsLong() - start, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (probeExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000d;
+    }
+
+    private static final class Probe {
+        private final long checkedAtNanos;
+        private final long elapsedNanos;
+        private final String error;
+
+        Probe(long checkedAtNanos, long elapsedNanos, String error) {
+            this.checkedAtNanos = checkedAtNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+    }
+}
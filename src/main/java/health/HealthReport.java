@@ -0,0 +1,35 @@
+package health;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+import java.util.Map;
+
+public class HealthReport {
+    private final boolean up;
+    private final List<String> reasons;
+    private final Map<String, Object> details;
+
+    public HealthReport(boolean up, List<String> reasons, Map<String, Object> details) {
+        this.up = up;
+        this.reasons = reasons;
+        this.details = details;
+    }
+
+    public String getStatus() {
+        return up ? "UP" : "DOWN";
+    }
+
+    @JsonIgnore
+    public boolean isUp() {
+        return up;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+}
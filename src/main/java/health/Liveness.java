@@ -0,0 +1,28 @@
+package health;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whether the process can still serve anything at all. Deliberately independent of the database:
+ * a node whose database is down is not ready, but restarting it would not help.
+ */
+public final class Liveness {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private Liveness() {
+    }
+
+    public static HealthReport check() {
+        long[] deadlocked = THREADS.findDeadlockedThreads();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("threads", THREADS.getThreadCount());
+        details.put("deadlockedThreads", deadlocked == null ? 0 : deadlocked.length);
+        return deadlocked == null
+                ? new HealthReport(true, List.of(), details)
+                : new HealthReport(false, List.of(deadlocked.length + " threads are deadlocked"), details);
+    }
+}
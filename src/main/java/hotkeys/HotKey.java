@@ -0,0 +1,44 @@
+package hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An id with its estimated access count. The true count lies between {@code count - error} and {@code count}.
+ */
+public class HotKey {
+    private static final Comparator<HotKey> BY_COUNT = Comparator.comparingLong(HotKey::getCount).reversed()
+            .thenComparingLong(HotKey::getId);
+    private final long id;
+    private final long count;
+    private final long error;
+
+    HotKey(long id, long count, long error) {
+        this.id = id;
+        this.count = count;
+        this.error = error;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+    static List<HotKey> top(Map<Long, long[]> counts, int limit) {
+        List<HotKey> keys = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+            keys.add(new HotKey(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+        }
+        keys.sort(BY_COUNT);
+        return keys.size() > limit ? new ArrayList<>(keys.subList(0, limit)) : keys;
+    }
+}
@@ -0,0 +1,91 @@
+package hotkeys;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Heavy hitters over a sliding window made of fixed time buckets, each with its own {@link SpaceSaving}
+ * summary. A window query merges the buckets it covers, so the answer is exact to bucket granularity and
+ * the counts keep the Space-Saving guarantee: overestimates bounded by the reported error.
+ */
+public class HotKeyTracker {
+    private final long bucketMillis;
+    private final SpaceSaving[] buckets;
+    private final long[] bucketEpochs;
+    private final LongSupplier clock;
+
+    public HotKeyTracker(int capacity, Duration bucket, int bucketCount) {
+        this(capacity, bucket, bucketCount, System::currentTimeMillis);
+    }
+
+    HotKeyTracker(int capacity, Duration bucket, int bucketCount, LongSupplier clock) {
+        this.bucketMillis = bucket.toMillis();
+        this.buckets = new SpaceSaving[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        this.clock = clock;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new SpaceSaving(capacity);
+            bucketEpochs[i] = -1;
+        }
+    }
+
+    public synchronized void record(long id) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int index = (int) (epoch % buckets.length);
+        if (bucketEpochs[index] != epoch) {
+            buckets[index].clear();
+            bucketEpochs[index] = epoch;
+        }
+        buckets[index].offer(id);
+    }
+
+    /**
+     * Longest window that can be answered: the number of buckets times the bucket length.
+     */
+    public Duration getMaxWindow() {
+        return Duration.ofMillis(bucketMillis * buckets.length);
+    }
+
+    public synchronized Window window(Duration window, int limit) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        long covered = Math.min(buckets.length, Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis));
+        Map<Long, long[]> merged = new HashMap<>();
+        long[] missing = new long[2];
+        long total = 0;
+        for (long e = epoch - covered + 1; e <= epoch; e++) {
+            int index = (int) (e % buckets.length);
+            if (e >= 0 && bucketEpochs[index] == e) {
+                buckets[index].mergeInto(merged, missing);
+                total += buckets[index].getTotal();
+            }
+        }
+        return new Window(Duration.ofMillis(covered * bucketMillis), total, HotKey.top(merged, limit));
+    }
+
+    public static class Window {
+        private final Duration duration;
+        private final long total;
+        private final List<HotKey> top;
+
+        Window(Duration duration, long total, List<HotKey> top) {
+            this.duration = duration;
+            this.total = total;
+            this.top = top;
+        }
+
+        public long getSeconds() {
+            return duration.toSeconds();
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<HotKey> getTop() {
+            return top;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hotkeys;
+
+import config.ApplicationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One {@link HotKeyTracker} per entity and access kind. Services record the ids they read and write;
+ * list endpoints are not recorded since they are not keyed by id.
+ */
+public class HotKeys {
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+    public static final String TAGS = "tags";
+
+    public enum Access {
+        READ, WRITE
+    }
+
+    private final Map<String, HotKeyTracker[]> trackers = new LinkedHashMap<>();
+    private final boolean enabled;
+
+    public HotKeys(boolean enabled, int capacity, Duration bucket, int bucketCount) {
+        this.enabled = enabled;
+        for (String entity : new String[]{TASKS, USERS, TAGS}) {
+            HotKeyTracker[] byAccess = new HotKeyTracker[Access.values().length];
+            for (Access access : Access.values()) {
+                byAccess[access.ordinal()] = new HotKeyTracker(capacity, bucket, bucketCount);
+            }
+            trackers.put(entity, byAccess);
+        }
+    }
+
+    public static HotKeys global() {
+        return Holder.GLOBAL;
+    }
+
+    public void record(String entity, Access access, Long id) {
+        if (enabled && id != null) {
+            trackers.get(entity)[access.ordinal()].record(id);
+        }
+    }
+
+    public Duration getMaxWindow() {
+        return trackers.get(TASKS)[0].getMaxWindow();
+    }
+
+    /**
+     * Heavy hitters per entity and access kind, e.g. {@code tasks -> READ -> window}.
+     */
+    public Map<String, Map<Access, HotKeyTracker.Window>> snapshot(Duration window, int limit) {
+        Map<String, Map<Access, HotKeyTracker.Window>> result = new LinkedHashMap<>();
+        trackers.forEach((entity, byAccess) -> {
+            Map<Access, HotKeyTracker.Window> windows = new LinkedHashMap<>();
+            for (Access access : Access.values()) {
+                windows.put(access, byAccess[access.ordinal()].window(window, limit));
+            }
+            result.put(entity, windows);
+        });
+        return result;
+    }
+
+    private static final class Holder {
+        private static final HotKeys GLOBAL = new HotKeys(
+                ApplicationProperties.getBoolean("hotkeys.enabled", true),
+                ApplicationProperties.getInt("hotkeys.capacity", 64),
+                Duration.ofSeconds(ApplicationProperties.getLong("hotkeys.bucket-seconds", 60)),
+                ApplicationProperties.getInt("hotkeys.buckets", 15));
+    }
+}
@@ -0,0 +1,136 @@
+package hotkeys;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving summary (Metwally et al.) over long keys: at most {@code capacity} counters, and a key
+ * that is not tracked replaces the current minimum, inheriting its count as the error bound. Any key
+ * seen more than {@code total / capacity} times is guaranteed to be tracked. Counters are kept in an
+ * indexed min-heap so both hits and replacements are O(log capacity). Not thread-safe.
+ */
+class SpaceSaving {
+    private final int capacity;
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<Long, Integer> positions;
+    private int size;
+    private long total;
+
+    SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    void offer(long key) {
+        total++;
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position]++;
+            siftDown(position);
+        } else if (size < capacity) {
+            keys[size] = key;
+            counts[size] = 1;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+        } else {
+            positions.remove(keys[0]);
+            long minimum = counts[0];
+            keys[0] = key;
+            counts[0] = minimum + 1;
+            errors[0] = minimum;
+            positions.put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    /**
+     * Count that any untracked key may have had: the smallest counter once the summary is full.
+     */
+    long getFloor() {
+        return size < capacity ? 0 : counts[0];
+    }
+
+    void clear() {
+        positions.clear();
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * Adds every tracked counter to {@code into}; keys tracked elsewhere but not here get this summary's floor.
+     */
+    void mergeInto(Map<Long, long[]> into, long[] missing) {
+        for (int i = 0; i < size; i++) {
+            long[] entry = into.computeIfAbsent(keys[i], key -> Arrays.copyOf(missing, 2));
+            entry[0] += counts[i];
+            entry[1] += errors[i];
+        }
+        long floor = getFloor();
+        for (Map.Entry<Long, long[]> entry : into.entrySet()) {
+            if (!positions.containsKey(entry.getKey())) {
+                entry.getValue()[0] += floor;
+                entry.getValue()[1] += floor;
+            }
+        }
+        missing[0] += floor;
+        missing[1] += floor;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+}
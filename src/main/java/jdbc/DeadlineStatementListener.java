@@ -0,0 +1,34 @@
+package jdbc;
+
+import context.RequestContext;
+
+import java.sql.SQLException;
+
+/**
+ * Applies the current request's remaining time as the statement timeout and registers the
+ * statement with the request so it can be cancelled on deadline or client disconnect.
+ */
+public class DeadlineStatementListener implements StatementListener {
+
+    @Override
+    public void beforeExecute(StatementExecution execution) throws SQLException {
+        RequestContext context = RequestContext.current();
+        if (context == null) {
+            return;
+        }
+        context.checkRunnable();
+        long remaining = context.remainingMillis();
+        if (remaining != RequestContext.NO_DEADLINE) {
+            execution.getStatement().setQueryTimeout((int) Math.max(1, (remaining + 999) / 1000));
+        }
+        context.registerStatement(execution.getStatement());
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        RequestContext context = RequestContext.current();
+        if (context != null) {
+            context.unregisterStatement(execution.getStatement());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package jdbc;
+
+import context.RequestContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dynamic-proxy wrappers that route every statement execution through a {@link StatementListener}.
+ * Everything else is passed straight to the driver objects.
+ */
+public final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    public static DataSource wrap(DataSource dataSource, StatementListener listener) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? wrap(connection, listener) : result;
+        });
+    }
+
+    public static Connection wrap(Connection connection, StatementListener listener) {
+        return proxy(Connection.class, new ConnectionHandler(connection, listener));
+    }
+
+    /**
+     * A long-lived connection handle for DAOs. Every call goes to the connection leased by the
+     * {@link RequestContext}; outside a request it fails with SQL state 08003, and background work
+     * borrows its own connection from the pool instead. Closing the handle is a no-op because leases
+     * are released when the request ends.
+     */
+    public static Connection requestScoped(DataSource dataSource) {
+        return proxy(Connection.class, new RequestScopedHandler(dataSource));
+    }
+
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    static Object identity(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return proxy.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+    }
+
+    private static final class RequestScopedHandler implements InvocationHandler {
+        private static final String CONNECTION_DOES_NOT_EXIST = "08003";
+        private final DataSource dataSource;
+
+        RequestScopedHandler(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            if (method.getName().equals("close")) {
+                return null;
+            }
+            return JdbcProxies.invoke(target(), method, args);
+        }
+
+        private Connection target() throws SQLException {
+            RequestContext context = RequestContext.current();
+            if (context == null) {
+                throw new SQLException("Request-scoped connection used outside a request; "
+                        + "borrow one with DatabaseConfig.getConnection() instead", CONNECTION_DOES_NOT_EXIST);
+            }
+            return context.leaseConnection(dataSource);
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final StatementListener listener;
+
+        ConnectionHandler(Connection connection, StatementListener listener) {
+            this.connection = connection;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = JdbcProxies.invoke(connection, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            Class<?> type = method.getReturnType();
+            if (type != CallableStatement.class && type != PreparedStatement.class) {
+                type = Statement.class;
+            }
+            return proxy(type, new StatementHandler(statement, sql, (Connection) proxy, listener));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final Connection connection;
+        private final StatementListener listener;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        StatementHandler(Statement statement, String sql, Connection connection, StatementListener listener) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connection = connection;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return JdbcProxies.invoke(statement, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            StatementExecution execution = new StatementExecution(statement, executed, new TreeMap<>(parameters),
+                    method.getName().startsWith("executeBatch") || method.getName().startsWith("executeLargeBatch"));
+            try {
+                listener.beforeExecute(execution);
+            } catch (Throwable e) {
+                listener.afterExecute(execution, 0, e);
+                throw e;
+            }
+            long start = System.nanoTime();
+            Throwable failure = null;
+            Object result = null;
+            try {
+                result = JdbcProxies.invoke(statement, method, args);
+                execution.setRows(rowsOf(result));
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                listener.afterExecute(execution, System.nanoTime() - start, failure);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return JdbcProxies.proxy(ResultSet.class, new ResultSetHandler(resultSet, (Statement) proxy, execution, listener));
+            }
+            return result;
+        }
+
+        private long rowsOf(Object result) throws SQLException {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof Boolean hasResultSet && !hasResultSet) {
+                return statement.getUpdateCount();
+            }
+            return StatementExecution.UNKNOWN_ROWS;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final Statement statement;
+        private final StatementExecution execution;
+        private final StatementListener listener;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet resultSet, Statement statement, StatementExecution execution, StatementListener listener) {
+            this.resultSet = resultSet;
+            this.statement = statement;
+            this.execution = execution;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            switch (method.getName()) {
+                case "getStatement":
+                    return statement;
+                case "next":
+                    boolean hasRow = (Boolean) JdbcProxies.invoke(resultSet, method, args);
+                    if (hasRow) {
+                        rows++;
+                    }
+                    return hasRow;
+                case "close":
+                    try {
+                        return JdbcProxies.invoke(resultSet, method, args);
+                    } finally {
+                        if (!reported) {
+                            reported = true;
+                            execution.setRows(rows);
+                            listener.afterResult(execution, rows);
+                        }
+                    }
+                default:
+                    return JdbcProxies.invoke(resultSet, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package jdbc;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import context.RequestContext;
+import context.RequestTimings;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long callers wait for a pooled connection and how long they hold it, attributed
+ * to the route of the current request ({@value #BACKGROUND} outside requests). Connections held
+ * longer than the leak threshold are reported once, with the stack that borrowed them when
+ * stack capture is enabled.
+ */
+public class PoolTelemetry implements AutoCloseable {
+    static final String BACKGROUND = "background";
+    private static final Logger LOGGER = LoggerFactory.getLogger(PoolTelemetry.class);
+    private final MetricsRegistry registry;
+    private final long leakThresholdNanos;
+    private final boolean captureStacks;
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final Map<String, LatencyHistogram> acquireByRoute = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> holdByRoute = new ConcurrentHashMap<>();
+    private final Map<String, Counter> leaksByRoute = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leakChecker;
+    private volatile long recentAcquireNanos;
+
+    public PoolTelemetry(MetricsRegistry registry, long leakThresholdMillis, boolean captureStacks) {
+        this.registry = registry;
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        this.captureStacks = captureStacks;
+        if (leakThresholdMillis > 0) {
+            long interval = Math.max(100, leakThresholdMillis / 2);
+            leakChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-leak-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            leakChecker.scheduleWithFixedDelay(this::checkLeaks, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            leakChecker = null;
+        }
+    }
+
+    public void registerPool(HikariPoolMXBean pool, int maximumPoolSize) {
+        registry.gauge("db_pool_connections", "Pool connections by state", pool::getActiveConnections, "state", "active");
+        registry.gauge("db_pool_connections", "Pool connections by state", pool::getIdleConnections, "state", "idle");
+        registry.gauge("db_pool_connections", "Pool connections by state", pool::getTotalConnections, "state", "total");
+        registry.gauge("db_pool_pending_threads", "Threads waiting for a pool connection", pool::getThreadsAwaitingConnection);
+        registry.gauge("db_pool_max_connections", "Configured maximum pool size", () -> maximumPoolSize);
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return JdbcProxies.proxy(DataSource.class, (proxy, method, args) -> {
+            if (!method.getName().equals("getConnection")) {
+                return JdbcProxies.invoke(dataSource, method, args);
+            }
+            String route = currentRoute();
+            long start = System.nanoTime();
+            Connection connection = (Connection) JdbcProxies.invoke(dataSource, method, args);
+            long acquired = System.nanoTime();
+            histogram(acquireByRoute, "db_pool_acquire_seconds", "Time spent waiting for a pool connection", route)
+                    .record(acquired - start);
+            RequestTimings.add(RequestTimings.Phase.ACQUIRE, acquired - start);
+            long recent = recentAcquireNanos;
+            recentAcquireNanos = recent + (acquired - start - recent) / 8;
+            Lease lease = new Lease(route, Thread.currentThread().getName(), acquired,
+                    captureStacks ? new Throwable("Connection borrowed by " + route) : null);
+            leases.add(lease);
+            return JdbcProxies.proxy(Connection.class, new LeaseHandler(connection, lease));
+        });
+    }
+
+    /**
+     * Exponentially weighted moving average of recent acquire times (weight 1/8 per acquire).
+     * Concurrent updates may overwrite each other, which only makes the average slightly noisier.
+     */
+    public long getRecentAcquireNanos() {
+        return recentAcquireNanos;
+    }
+
+    int openLeases() {
+        return leases.size();
+    }
+
+    synchronized void checkLeaks() {
+        long now = System.nanoTime();
+        for (Lease lease : leases) {
+            if (!lease.reported && now - lease.acquiredNanos > leakThresholdNanos) {
+                lease.reported = true;
+                leaksByRoute.computeIfAbsent(lease.route, route ->
+                        registry.counter("db_pool_leaks_total", "Connections held past the leak threshold", "route", route)).increment();
+                LOGGER.warn("Possible connection leak: held for {} ms by {} on thread {}",
+                        TimeUnit.NANOSECONDS.toMillis(now - lease.acquiredNanos), lease.route, lease.thread, lease.stack);
+            }
+        }
+    }
+
+    private void release(Lease lease) {
+        if (!leases.remove(lease)) {
+            return;
+        }
+        long held = System.nanoTime() - lease.acquiredNanos;
+        histogram(holdByRoute, "db_pool_hold_seconds", "Time a pool connection was held", lease.route).record(held);
+        if (lease.reported) {
+            LOGGER.info("Previously reported connection from {} returned after {} ms", lease.route, TimeUnit.NANOSECONDS.toMillis(held));
+        }
+    }
+
+    private LatencyHistogram histogram(Map<String, LatencyHistogram> cache, String name, String help, String route) {
+        LatencyHistogram histogram = cache.get(route);
+        return histogram != null ? histogram : cache.computeIfAbsent(route, key -> registry.histogram(name, help, "route", key));
+    }
+
+    private static String currentRoute() {
+        RequestContext context = RequestContext.current();
+        return context == null || context.getRoute() == null ? BACKGROUND : context.getRoute();
+    }
+
+    @Override
+    public void close() {
+        if (leakChecker != null) {
+            leakChecker.shutdownNow();
+        }
+    }
+
+    private static final class Lease {
+        private final String route;
+        private final String thread;
+        private final long acquiredNanos;
+        private final Throwable stack;
+        private volatile boolean reported;
+
+        Lease(String route, String thread, long acquiredNanos, Throwable stack) {
+            this.route = route;
+            this.thread = thread;
+            this.acquiredNanos = acquiredNanos;
+            this.stack = stack;
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Lease lease;
+
+        LeaseHandler(Connection connection, Lease lease) {
+            this.connection = connection;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (JdbcProxies.isIdentityMethod(method)) {
+                return JdbcProxies.identity(proxy, method, args);
+            }
+            if (method.getName().equals("close")) {
+                try {
+                    return JdbcProxies.invoke(connection, method, args);
+                } finally {
+                    release(lease);
+                }
+            }
+            return JdbcProxies.invoke(connection, method, args);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package jdbc;
+
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates executions per SQL shape. The per-shape histograms and row counters are also
+ * registered with the {@link MetricsRegistry}, so they appear on {@code /metrics}.
+ */
+public class QueryStatistics implements StatementListener {
+    private static final QueryStatistics GLOBAL = new QueryStatistics(MetricsRegistry.global());
+    private static final int MAX_SHAPES = 500;
+    private static final String OVERFLOW_SHAPE = "other";
+    private final MetricsRegistry registry;
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    public QueryStatistics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static QueryStatistics global() {
+        return GLOBAL;
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        ShapeStats stats = statsFor(execution.getShape());
+        stats.latency.record(elapsedNanos);
+        if (failure != null) {
+            stats.errors.increment();
+        } else if (execution.getRows() > 0) {
+            stats.rows.add(execution.getRows());
+        }
+    }
+
+    @Override
+    public void afterResult(StatementExecution execution, long rows) {
+        statsFor(execution.getShape()).rows.add(rows);
+    }
+
+    /**
+     * Current aggregates ordered by total time spent, most expensive first.
+     */
+    public List<ShapeSnapshot> snapshot() {
+        List<ShapeSnapshot> result = new ArrayList<>();
+        shapes.forEach((shape, stats) -> result.add(new ShapeSnapshot(shape, stats)));
+        result.sort(Comparator.comparingDouble(ShapeSnapshot::getTotalMillis).reversed());
+        return result;
+    }
+
+    private ShapeStats statsFor(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        String key = shapes.size() < MAX_SHAPES ? shape : OVERFLOW_SHAPE;
+        return shapes.computeIfAbsent(key, this::newStats);
+    }
+
+    private ShapeStats newStats(String shape) {
+        return new ShapeStats(
+                registry.histogram("db_statement_seconds", "JDBC statement execution time by SQL shape", "shape", shape),
+                registry.counter("db_statement_rows_total", "Rows returned or affected by SQL shape", "shape", shape),
+                registry.counter("db_statement_errors_total", "Failed statements by SQL shape", "shape", shape));
+    }
+
+    private static final class ShapeStats {
+        private final LatencyHistogram latency;
+        private final Counter rows;
+        private final Counter errors;
+
+        ShapeStats(LatencyHistogram latency, Counter rows, Counter errors) {
+            this.latency = latency;
+            this.rows = rows;
+            this.errors = errors;
+        }
+    }
+
+    public static final class ShapeSnapshot {
+        private static final double NANOS_PER_MILLI = 1_000_000d;
+        private final String shape;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final double totalMillis;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        ShapeSnapshot(String shape, ShapeStats stats) {
+            this.shape = shape;
+            this.count = stats.latency.getCount();
+            this.errors = stats.errors.get();
+            this.rows = stats.rows.get();
+            this.totalMillis = stats.latency.getSum() / NANOS_PER_MILLI;
+            this.p50Millis = stats.latency.valueAtQuantile(0.5) / NANOS_PER_MILLI;
+            this.p99Millis = stats.latency.valueAtQuantile(0.99) / NANOS_PER_MILLI;
+            this.maxMillis = stats.latency.getMax() / NANOS_PER_MILLI;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getTotalMillis() {
+            return totalMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package jdbc;
+
+import context.RequestTimings;
+
+/**
+ * Adds statement execution time and rows to the current request's timings.
+ */
+public class RequestTimingListener implements StatementListener {
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        RequestTimings.add(RequestTimings.Phase.SQL, elapsedNanos);
+        if (failure == null && execution.getRows() > 0) {
+            RequestTimings.addRows(execution.getRows());
+        }
+    }
+
+    @Override
+    public void afterResult(StatementExecution execution, long rows) {
+        RequestTimings.addRows(rows);
+    }
+}
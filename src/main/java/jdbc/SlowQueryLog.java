@@ -0,0 +1,109 @@
+package jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs statements slower than a threshold together with their bind values. A sample of slow
+ * {@code SELECT}s is re-run as {@code EXPLAIN (ANALYZE, BUFFERS)} on a background thread using
+ * a connection from the uninstrumented pool; writes are never explained because ANALYZE would
+ * execute them again.
+ */
+public class SlowQueryLog implements StatementListener, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+    private final long thresholdNanos;
+    private final double explainSampleRate;
+    private final long explainIntervalNanos;
+    private final DataSource explainDataSource;
+    private final ThreadPoolExecutor explainExecutor;
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(long thresholdMillis, double explainSampleRate, long explainIntervalMillis, DataSource explainDataSource) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.explainSampleRate = explainSampleRate;
+        this.explainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(explainIntervalMillis);
+        this.explainDataSource = explainDataSource;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        LOGGER.warn("Slow statement ({} ms, rows {}): {} binds {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                execution.getRows(), execution.getSql(), execution.getParameters());
+        if (failure == null && shouldExplain(execution)) {
+            try {
+                explainExecutor.execute(() -> explain(execution));
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Explain queue full, skipping {}", execution.getShape());
+            }
+        }
+    }
+
+    boolean shouldExplain(StatementExecution execution) {
+        if (explainSampleRate <= 0 || !isExplainable(execution.getSql())) {
+            return false;
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= explainSampleRate) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(execution.getShape());
+        if (previous != null && now - previous < explainIntervalNanos) {
+            return false;
+        }
+        lastExplained.put(execution.getShape(), now);
+        return true;
+    }
+
+    static boolean isExplainable(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String normalized = sql.trim().toUpperCase(Locale.ROOT);
+        return normalized.startsWith("SELECT") && !normalized.contains(" FOR UPDATE") && !normalized.contains(" FOR SHARE");
+    }
+
+    private void explain(StatementExecution execution) {
+        try (Connection connection = explainDataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + execution.getSql())) {
+            for (Map.Entry<Integer, Object> parameter : execution.getParameters().entrySet()) {
+                stmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append('\n').append(rs.getString(1));
+                }
+            }
+            LOGGER.warn("Plan for slow statement {} binds {}:{}", execution.getSql(), execution.getParameters(), plan);
+        } catch (SQLException e) {
+            LOGGER.error("Error explaining slow statement {}", execution.getSql(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,72 @@
+package jdbc;
+
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StatementExecution {
+    public static final long UNKNOWN_ROWS = -1;
+    private final Statement statement;
+    private final String sql;
+    private final Map<Integer, Object> parameters;
+    private final boolean batch;
+    private volatile long rows = UNKNOWN_ROWS;
+    private String shape;
+    private Map<String, Object> attributes;
+
+    StatementExecution(Statement statement, String sql, Map<Integer, Object> parameters, boolean batch) {
+        this.statement = statement;
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.batch = batch;
+    }
+
+    public Statement getStatement() {
+        return statement;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getShape() {
+        if (shape == null) {
+            shape = SqlShapes.shapeOf(sql);
+        }
+        return shape;
+    }
+
+    public Map<Integer, Object> getParameters() {
+        return parameters;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    /**
+     * Rows affected by an update, or {@link #UNKNOWN_ROWS} for queries until the result set is consumed.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Per-execution state a listener carries from {@code beforeExecute} to {@code afterExecute}.
+     */
+    public Object getAttribute(String name) {
+        return attributes == null ? null : attributes.get(name);
+    }
+
+    public void setAttribute(String name, Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(name, value);
+    }
+}
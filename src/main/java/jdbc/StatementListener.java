@@ -0,0 +1,22 @@
+package jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Hook around every statement executed through a connection returned by {@link JdbcProxies}.
+ * Throwing from {@link #beforeExecute} aborts the execution with that exception.
+ */
+public interface StatementListener {
+
+    default void beforeExecute(StatementExecution execution) throws SQLException {
+    }
+
+    default void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+    }
+
+    /**
+     * Called once the result set of a query has been closed, with the number of rows read from it.
+     */
+    default void afterResult(StatementExecution execution, long rows) {
+    }
+}
@@ -0,0 +1,43 @@
+package jdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class StatementListenerChain implements StatementListener {
+    private static final StatementListenerChain GLOBAL = new StatementListenerChain();
+    private final List<StatementListener> listeners = new CopyOnWriteArrayList<>();
+
+    public static StatementListenerChain global() {
+        return GLOBAL;
+    }
+
+    public void add(StatementListener listener) {
+        listeners.add(listener);
+    }
+
+    public void remove(StatementListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void beforeExecute(StatementExecution execution) throws SQLException {
+        for (StatementListener listener : listeners) {
+            listener.beforeExecute(execution);
+        }
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        for (StatementListener listener : listeners) {
+            listener.afterExecute(execution, elapsedNanos, failure);
+        }
+    }
+
+    @Override
+    public void afterResult(StatementExecution execution, long rows) {
+        for (StatementListener listener : listeners) {
+            listener.afterResult(execution, rows);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("taskmanager.HttpRequest")
+@Label("HTTP Request")
+@Description("One request handled by the controllers")
+@Category({"Task Manager", "HTTP"})
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Request Id")
+    public String requestId;
+}
@@ -0,0 +1,53 @@
+package jfr;
+
+import context.RequestContext;
+import jdbc.StatementExecution;
+import jdbc.StatementListener;
+
+/**
+ * Emits a {@link SqlStatementEvent} per statement. Update counts are known when the statement
+ * returns; for queries the event is committed once the result set is closed so it can carry the
+ * number of rows read, while its duration still covers only the execute call.
+ */
+public class JfrStatementListener implements StatementListener {
+    private static final String EVENT_ATTRIBUTE = "jfr.event";
+
+    @Override
+    public void beforeExecute(StatementExecution execution) {
+        SqlStatementEvent event = new SqlStatementEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            execution.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        if (!(execution.getAttribute(EVENT_ATTRIBUTE) instanceof SqlStatementEvent event)) {
+            return;
+        }
+        event.end();
+        if (failure != null || execution.getRows() != StatementExecution.UNKNOWN_ROWS) {
+            commit(event, execution, execution.getRows(), failure != null);
+        }
+    }
+
+    @Override
+    public void afterResult(StatementExecution execution, long rows) {
+        if (execution.getAttribute(EVENT_ATTRIBUTE) instanceof SqlStatementEvent event) {
+            commit(event, execution, rows, false);
+        }
+    }
+
+    private static void commit(SqlStatementEvent event, StatementExecution execution, long rows, boolean failed) {
+        execution.setAttribute(EVENT_ATTRIBUTE, null);
+        if (event.shouldCommit()) {
+            RequestContext context = RequestContext.current();
+            event.shape = execution.getShape();
+            event.rows = rows;
+            event.route = context == null ? null : context.getRoute();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
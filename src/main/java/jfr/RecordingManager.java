@@ -0,0 +1,124 @@
+package jfr;
+
+import config.ApplicationLifecycle;
+import exception.ServiceException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs at most one time-boxed Flight Recorder recording at a time. The recording stops by itself
+ * once its duration elapses; the resulting file can be fetched until the next recording starts.
+ */
+public class RecordingManager implements AutoCloseable {
+    private static final RecordingManager GLOBAL = new RecordingManager();
+
+    static {
+        ApplicationLifecycle.register(GLOBAL);
+    }
+
+    private static final String EVENT_PREFIX = "taskmanager.";
+    /**
+     * JDK events that capture the command line, system properties, environment or other processes;
+     * these carry credentials such as {@code -Ddatabase.password} and never leave the process.
+     */
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialSystemProperty", "jdk.InitialEnvironmentVariable", "jdk.JVMInformation", "jdk.SystemProcess");
+    private Recording recording;
+    private Path file;
+
+    public static RecordingManager global() {
+        return GLOBAL;
+    }
+
+    public synchronized Map<String, Object> start(Duration duration, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        discard();
+        try {
+            Configuration configuration = Configuration.getConfiguration(settings);
+            file = Files.createTempFile("task-manager-", ".jfr");
+            recording = new Recording(configuration);
+            recording.setName("task-manager-admin");
+            recording.enable(EVENT_PREFIX + "HttpRequest");
+            recording.enable(EVENT_PREFIX + "ServiceCall");
+            recording.enable(EVENT_PREFIX + "SqlStatement");
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setDestination(file);
+            recording.start();
+            return status();
+        } catch (IOException | ParseException e) {
+            discard();
+            throw new ServiceException("Failed to start recording with settings " + settings, e);
+        }
+    }
+
+    /**
+     * Stops the recording if it is still running and returns the file it was written to.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+        }
+        return file;
+    }
+
+    /**
+     * File of a finished recording, or {@code null} while it is still running.
+     */
+    public synchronized Path finishedFile() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        return recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED ? file : null;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        Instant startTime = recording.getStartTime();
+        status.put("startTime", startTime == null ? null : startTime.toString());
+        status.put("durationSeconds", recording.getDuration() == null ? null : recording.getDuration().toSeconds());
+        return status;
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // a stale temp file is harmless; the next recording gets a new one
+            }
+            file = null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        discard();
+    }
+}
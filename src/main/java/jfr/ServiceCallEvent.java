@@ -0,0 +1,26 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("taskmanager.ServiceCall")
+@Label("Service Call")
+@Description("A call through a service or DAO interface")
+@Category({"Task Manager", "Service"})
+@StackTrace(false)
+public class ServiceCallEvent extends jdk.jfr.Event {
+    @Label("Component")
+    public String component;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,25 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("taskmanager.SqlStatement")
+@Label("SQL Statement")
+@Description("Execution of a JDBC statement issued by the DAOs")
+@Category({"Task Manager", "JDBC"})
+public class SqlStatementEvent extends jdk.jfr.Event {
+    @Label("SQL Shape")
+    public String shape;
+
+    @Label("Rows")
+    @Description("Rows affected by an update or read from a query, -1 if unknown")
+    public long rows;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -1,5 +1,6 @@
 package mapper.impl;
 
+import context.RequestTimings;
 import dto.TagDTO;
 import entity.Tag;
 import factory.Factory;
@@ -14,6 +15,15 @@ public class TagMapperImpl implements TagMapper {
 
     @Override
     public TagDTO toDTO(Tag tag) {
+        long start = RequestTimings.start();
+        try {
+            return mapDTO(tag);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private TagDTO mapDTO(Tag tag) {
         if (tag == null) {
             return null;
         }
@@ -28,6 +38,15 @@ public class TagMapperImpl implements TagMapper {
 
     @Override
     public Tag toEntity(TagDTO tagDTO) {
+        long start = RequestTimings.start();
+        try {
+            return mapEntity(tagDTO);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private Tag mapEntity(TagDTO tagDTO) {
         if (tagDTO == null) {
             return null;
         }
@@ -1,5 +1,6 @@
 package mapper.impl;
 
+import context.RequestTimings;
 import dto.TaskDTO;
 import entity.Task;
 import factory.Factory;
@@ -14,6 +15,15 @@ public class TaskMapperImpl implements TaskMapper {
 
     @Override
     public TaskDTO toDTO(Task task) {
+        long start = RequestTimings.start();
+        try {
+            return mapDTO(task);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private TaskDTO mapDTO(Task task) {
         if (task == null) {
             return null;
         }
@@ -31,6 +41,15 @@ public class TaskMapperImpl implements TaskMapper {
 
     @Override
     public Task toEntity(dto.TaskDTO taskDTO) {
+        long start = RequestTimings.start();
+        try {
+            return mapEntity(taskDTO);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private Task mapEntity(dto.TaskDTO taskDTO) {
         if (taskDTO == null) {
             return null;
         }
@@ -1,5 +1,6 @@
 package mapper.impl;
 
+import context.RequestTimings;
 import dto.UserDTO;
 import entity.User;
 import factory.Factory;
@@ -14,6 +15,15 @@ public class UserMapperImpl implements UserMapper {
 
     @Override
     public UserDTO toDTO(User user) {
+        long start = RequestTimings.start();
+        try {
+            return mapDTO(user);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private UserDTO mapDTO(User user) {
         if (user == null) {
             return null;
         }
@@ -28,6 +38,15 @@ public class UserMapperImpl implements UserMapper {
 
     @Override
     public User toEntity(dto.UserDTO userDTO) {
+        long start = RequestTimings.start();
+        try {
+            return mapEntity(userDTO);
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+        }
+    }
+
+    private User mapEntity(dto.UserDTO userDTO) {
         if (userDTO == null) {
             return null;
         }
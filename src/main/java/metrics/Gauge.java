@@ -0,0 +1,15 @@
+package metrics;
+
+import java.util.function.LongSupplier;
+
+public class Gauge {
+    private final LongSupplier value;
+
+    Gauge(LongSupplier value) {
+        this.value = value;
+    }
+
+    public long get() {
+        return value.getAsLong();
+    }
+}
@@ -0,0 +1,29 @@
+package metrics;
+
+/**
+ * How a histogram's raw values map onto exported values and which {@code le} bounds it is exported on.
+ */
+public enum HistogramUnit {
+    SECONDS(1_000_000_000d, new double[]{
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    }),
+    BYTES(1d, new double[]{
+            1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216, 67108864, 268435456
+    });
+
+    private final double rawPerUnit;
+    private final double[] bounds;
+
+    HistogramUnit(double rawPerUnit, double[] bounds) {
+        this.rawPerUnit = rawPerUnit;
+        this.bounds = bounds;
+    }
+
+    double getRawPerUnit() {
+        return rawPerUnit;
+    }
+
+    double[] getBounds() {
+        return bounds;
+    }
+}
@@ -0,0 +1,116 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A route template such as {@code GET /tasks/{id}}. Matching and recording do not allocate:
+ * the template is pre-split and the histogram for each status code is created once and cached.
+ */
+public class HttpRoute {
+    public static final String REQUEST_METRIC = "http_server_requests_seconds";
+    public static final String ALLOCATION_METRIC = "http_server_allocated_bytes";
+    private static final String REQUEST_HELP = "HTTP request latency by route and status";
+    private static final String ALLOCATION_HELP = "Bytes allocated by the request thread per request, by route";
+    private static final String ID = "{id}";
+    private static final int MAX_STATUS = 600;
+
+    private final String method;
+    private final String servletPath;
+    private final String template;
+    private final String name;
+    private final String[] segments;
+    private final MetricsRegistry registry;
+    private final AtomicReferenceArray<LatencyHistogram> byStatus = new AtomicReferenceArray<>(MAX_STATUS);
+    private volatile LatencyHistogram allocations;
+
+    public HttpRoute(String method, String servletPath, String pathTemplate) {
+        this(method, servletPath, pathTemplate, MetricsRegistry.global());
+    }
+
+    HttpRoute(String method, String servletPath, String pathTemplate, MetricsRegistry registry) {
+        this.method = method;
+        this.servletPath = servletPath;
+        this.template = servletPath + pathTemplate;
+        this.name = method + " " + template;
+        this.segments = pathTemplate.isEmpty() ? new String[0] : pathTemplate.substring(1).split("/");
+        this.registry = registry;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Method and template, e.g. {@code GET /tasks/{id}}; precomputed so it can be attached to a request for free.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public boolean matches(String requestMethod, String requestServletPath, String pathInfo) {
+        if (!method.equals(requestMethod) || !servletPath.equals(requestServletPath)) {
+            return false;
+        }
+        if (pathInfo == null || pathInfo.equals("/")) {
+            return segments.length == 0;
+        }
+        int position = 1;
+        for (String segment : segments) {
+            if (position > pathInfo.length()) {
+                return false;
+            }
+            int end = pathInfo.indexOf('/', position);
+            if (end < 0) {
+                end = pathInfo.length();
+            }
+            if (!segmentMatches(segment, pathInfo, position, end)) {
+                return false;
+            }
+            position = end + 1;
+        }
+        return position == pathInfo.length() + 1;
+    }
+
+    private static boolean segmentMatches(String segment, String path, int start, int end) {
+        if (!ID.equals(segment)) {
+            return end - start == segment.length() && path.regionMatches(start, segment, 0, segment.length());
+        }
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void record(int status, long elapsedNanos) {
+        int index = status >= 0 && status < MAX_STATUS ? status : 0;
+        LatencyHistogram histogram = byStatus.get(index);
+        if (histogram == null) {
+            histogram = registry.histogram(REQUEST_METRIC, REQUEST_HELP,
+                    "method", method, "route", template, "status", Integer.toString(status));
+            byStatus.set(index, histogram);
+        }
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * Records the bytes a request allocated on its own thread; work handed to other threads is not included.
+     */
+    public void recordAllocation(long bytes) {
+        LatencyHistogram histogram = allocations;
+        if (histogram == null) {
+            histogram = registry.histogram(ALLOCATION_METRIC, ALLOCATION_HELP, HistogramUnit.BYTES,
+                    "method", method, "route", template);
+            allocations = histogram;
+        }
+        histogram.record(bytes);
+    }
+}
@@ -0,0 +1,49 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class MetricFamily<M> {
+    private final String name;
+    private final String help;
+    private final String type;
+    private final HistogramUnit unit;
+    private final ConcurrentMap<String, M> series = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, String type, HistogramUnit unit) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.unit = unit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Unit of a histogram family; {@code null} for counters and gauges.
+     */
+    public HistogramUnit getUnit() {
+        return unit;
+    }
+
+    public Map<String, M> getSeries() {
+        return series;
+    }
+
+    M series(String labels, Supplier<M> factory) {
+        M metric = series.get(labels);
+        return metric != null ? metric : series.computeIfAbsent(labels, key -> factory.get());
+    }
+}
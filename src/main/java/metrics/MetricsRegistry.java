@@ -0,0 +1,71 @@
+package metrics;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+public class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    private static final String COUNTER = "counter";
+    private static final String HISTOGRAM = "histogram";
+    private static final String GAUGE = "gauge";
+    private final ConcurrentMap<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name, String help, String... labels) {
+        return this.<Counter>family(name, help, COUNTER, null).series(labels(labels), Counter::new);
+    }
+
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return histogram(name, help, HistogramUnit.SECONDS, labels);
+    }
+
+    /**
+     * Histogram of raw values in the given unit; {@link #histogram(String, String, String...)} records nanoseconds.
+     */
+    public LatencyHistogram histogram(String name, String help, HistogramUnit unit, String... labels) {
+        return this.<LatencyHistogram>family(name, help, HISTOGRAM, unit).series(labels(labels), LatencyHistogram::new);
+    }
+
+    public Gauge gauge(String name, String help, LongSupplier value, String... labels) {
+        return this.<Gauge>family(name, help, GAUGE, null).series(labels(labels), () -> new Gauge(value));
+    }
+
+    public Collection<MetricFamily<?>> getFamilies() {
+        return families.values();
+    }
+
+    @SuppressWarnings("unchecked")
+    <M> MetricFamily<M> family(String name, String help, String type, HistogramUnit unit) {
+        MetricFamily<?> family = families.computeIfAbsent(name, key -> new MetricFamily<>(name, help, type, unit));
+        if (!family.getType().equals(type) || family.getUnit() != unit) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.getType());
+        }
+        return (MetricFamily<M>) family;
+    }
+
+    static String labels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        if (labels.length == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
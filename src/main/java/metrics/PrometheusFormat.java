@@ -0,0 +1,56 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes a {@link MetricsRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * Histograms are exported on the fixed {@code le} bounds of their {@link HistogramUnit}, e.g. nanoseconds
+ * are recorded and seconds are exported.
+ */
+public final class PrometheusFormat {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusFormat() {
+    }
+
+    public static void write(MetricsRegistry registry, Writer writer) throws IOException {
+        for (MetricFamily<?> family : registry.getFamilies()) {
+            writer.append("# HELP ").append(family.getName()).append(' ').append(family.getHelp()).append('\n');
+            writer.append("# TYPE ").append(family.getName()).append(' ').append(family.getType()).append('\n');
+            for (Map.Entry<String, ?> series : family.getSeries().entrySet()) {
+                Object metric = series.getValue();
+                if (metric instanceof Counter counter) {
+                    sample(writer, family.getName(), series.getKey(), Long.toString(counter.get()));
+                } else if (metric instanceof Gauge gauge) {
+                    sample(writer, family.getName(), series.getKey(), Long.toString(gauge.get()));
+                } else if (metric instanceof LatencyHistogram histogram) {
+                    writeHistogram(writer, family.getName(), series.getKey(), histogram, family.getUnit());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeHistogram(Writer writer, String name, String labels, LatencyHistogram histogram,
+                                       HistogramUnit unit) throws IOException {
+        long count = histogram.getCount();
+        for (double bound : unit.getBounds()) {
+            long cumulative = histogram.countAtOrBelow((long) (bound * unit.getRawPerUnit()));
+            sample(writer, name + "_bucket", withLabel(labels, "le", Double.toString(bound)), Long.toString(cumulative));
+        }
+        sample(writer, name + "_bucket", withLabel(labels, "le", "+Inf"), Long.toString(count));
+        sample(writer, name + "_sum", labels, Double.toString(histogram.getSum() / unit.getRawPerUnit()));
+        sample(writer, name + "_count", labels, Long.toString(count));
+    }
+
+    private static void sample(Writer writer, String name, String labels, String value) throws IOException {
+        writer.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+}
@@ -0,0 +1,37 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated by the current thread, as reported by HotSpot's thread allocation counters.
+ * Reading the counter is cheap (a TLAB-aware field read) and does not allocate.
+ */
+public final class ThreadAllocation {
+    public static final long UNSUPPORTED = -1;
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private ThreadAllocation() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Running total for the current thread, or {@link #UNSUPPORTED} on JVMs without the counter.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? UNSUPPORTED : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+}
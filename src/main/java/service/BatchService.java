@@ -0,0 +1,10 @@
+package service;
+
+import dto.BatchOperationDTO;
+import dto.BatchResponseDTO;
+
+import java.util.List;
+
+public interface BatchService {
+    BatchResponseDTO execute(List<BatchOperationDTO> operations);
+}
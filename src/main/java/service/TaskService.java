@@ -8,6 +8,8 @@ import java.util.List;
 public interface TaskService {
     void createTask(TaskDTO taskDTO);
 
+    boolean isCreateDeferred();
+
     TaskDTO getTaskById(Long id);
 
     List<TaskDTO> getAllTasks();
@@ -0,0 +1,286 @@
+package service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dao.DurabilityPolicy;
+import dao.IdAllocator;
+import dao.impl.TagDAOImpl;
+import dao.impl.TaskDAOImpl;
+import dao.impl.UserDAOImpl;
+import dto.BatchOperationDTO;
+import dto.BatchResponseDTO;
+import dto.BatchResultDTO;
+import dto.TagDTO;
+import dto.TaskDTO;
+import dto.UserDTO;
+import exception.BatchOperationException;
+import exception.ServiceException;
+import exception.UserNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.BatchService;
+import service.TagService;
+import service.TaskService;
+import service.UserService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class BatchServiceImpl implements BatchService {
+
+    private static final String REFERENCE_PREFIX = "$";
+    private static final String TASKS = "tasks";
+    private static final String USERS = "users";
+    private static final String TAGS = "tags";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchServiceImpl.class);
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final IdAllocator taskIds;
+    private final IdAllocator userIds;
+    private final IdAllocator tagIds;
+    private final DurabilityPolicy durabilityPolicy;
+
+    public BatchServiceImpl(DataSource dataSource, ObjectMapper objectMapper) {
+        this(dataSource, objectMapper, null, null, null, DurabilityPolicy.STRICT);
+    }
+
+    public BatchServiceImpl(DataSource dataSource, ObjectMapper objectMapper, IdAllocator taskIds, IdAllocator userIds,
+                            IdAllocator tagIds, DurabilityPolicy durabilityPolicy) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.taskIds = taskIds;
+        this.userIds = userIds;
+        this.tagIds = tagIds;
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    @Override
+    public BatchResponseDTO execute(List<BatchOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Batch cannot be empty");
+        }
+        List<BatchResultDTO> results = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Scope scope = new Scope(connection);
+                for (int i = 0; i < operations.size(); i++) {
+                    BatchOperationDTO operation = operations.get(i);
+                    try {
+                        results.add(scope.apply(i, operation));
+                    } catch (RuntimeException e) {
+                        connection.rollback();
+                        results.add(failure(i, operation, e));
+                        return new BatchResponseDTO(false, results);
+                    }
+                }
+                connection.commit();
+                return new BatchResponseDTO(true, results);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new ServiceException("Batch transaction failed", e);
+        }
+    }
+
+    private BatchResultDTO failure(int index, BatchOperationDTO operation, RuntimeException e) {
+        int status;
+        if (e instanceof BatchOperationException batchOperationException) {
+            status = batchOperationException.getStatus();
+        } else if (e instanceof UserNotFoundException) {
+            status = HttpServletResponse.SC_NOT_FOUND;
+        } else if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+            status = HttpServletResponse.SC_BAD_REQUEST;
+        } else {
+            LOGGER.error("Batch operation {} failed", index, e);
+            status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        }
+        return new BatchResultDTO(index, operation.getRef(), status, null, null, e.getMessage());
+    }
+
+    private class Scope {
+        private final TaskService taskService;
+        private final UserService userService;
+        private final TagService tagService;
+        private final Map<String, Long> references = new HashMap<>();
+
+        Scope(Connection connection) {
+            this.taskService = new TaskServiceImpl(new TaskDAOImpl(connection, taskIds, durabilityPolicy));
+            this.userService = new UserServiceImpl(new UserDAOImpl(connection, userIds, durabilityPolicy));
+            this.tagService = new TagServiceImpl(new TagDAOImpl(connection, tagIds, durabilityPolicy));
+        }
+
+        BatchResultDTO apply(int index, BatchOperationDTO operation) {
+            if (operation.getMethod() == null || operation.getPath() == null) {
+                throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Operation method and path are required");
+            }
+            String[] segments = operation.getPath().replaceAll("^/+|/+$", "").split("/");
+            String method = operation.getMethod().toUpperCase();
+            BatchResultDTO result = switch (method) {
+                case "GET" -> get(segments);
+                case "POST" -> post(segments, operation.getBody());
+                case "PUT" -> put(segments, operation.getBody());
+                case "DELETE" -> delete(segments);
+                default -> throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Unsupported method: " + method);
+            };
+            result.setIndex(index);
+            result.setRef(operation.getRef());
+            if (operation.getRef() != null && result.getId() != null) {
+                references.put(operation.getRef(), result.getId());
+            }
+            return result;
+        }
+
+        private BatchResultDTO get(String[] segments) {
+            requireLength(segments, 2);
+            Long id = resolveId(segments[1]);
+            Object body = switch (segments[0]) {
+                case TASKS -> {
+                    TaskDTO task = taskService.getTaskById(id);
+                    if (task != null) {
+                        task.setTags(taskService.getTagsByTaskId(id));
+                    }
+                    yield task;
+                }
+                case USERS -> {
+                    UserDTO user = userService.getUserById(id);
+                    if (user != null) {
+                        user.setTasks(userService.getTasksByUserId(id));
+                    }
+                    yield user;
+                }
+                case TAGS -> {
+                    TagDTO tag = tagService.getTagById(id);
+                    if (tag != null) {
+                        tag.setTasks(tagService.getTasksByTagId(id));
+                    }
+                    yield tag;
+                }
+                default -> throw unknownPath(segments);
+            };
+            if (body == null) {
+                throw new BatchOperationException(HttpServletResponse.SC_NOT_FOUND, "Resource not found: " + String.join("/", segments));
+            }
+            return new BatchResultDTO(0, null, HttpServletResponse.SC_OK, id, body, null);
+        }
+
+        private BatchResultDTO post(String[] segments, JsonNode body) {
+            if (segments.length == 1) {
+                return switch (segments[0]) {
+                    case TASKS -> {
+                        TaskDTO task = readBody(body, TaskDTO.class);
+                        taskService.createTask(task);
+                        yield created(task.getId(), task);
+                    }
+                    case USERS -> {
+                        UserDTO user = readBody(body, UserDTO.class);
+                        userService.createUser(user);
+                        yield created(user.getId(), user);
+                    }
+                    case TAGS -> {
+                        TagDTO tag = readBody(body, TagDTO.class);
+                        tagService.createTag(tag);
+                        yield created(tag.getId(), tag);
+                    }
+                    default -> throw unknownPath(segments);
+                };
+            }
+            requireLength(segments, 4);
+            Long ownerId = resolveId(segments[1]);
+            Long targetId = resolveId(segments[3]);
+            String relation = segments[0] + "/" + segments[2];
+            switch (relation) {
+                case TASKS + "/" + TAGS -> taskService.assignTagsToTask(ownerId, targetId);
+                case USERS + "/" + TASKS -> userService.assignTaskToUser(ownerId, targetId);
+                case TAGS + "/" + TASKS -> tagService.assignTaskToTag(ownerId, targetId);
+                default -> throw unknownPath(segments);
+            }
+            return new BatchResultDTO(0, null, HttpServletResponse.SC_NO_CONTENT, null, null, null);
+        }
+
+        private BatchResultDTO put(String[] segments, JsonNode body) {
+            if (segments.length == 2 && body instanceof ObjectNode objectNode) {
+                objectNode.put("id", resolveId(segments[1]));
+            } else {
+                requireLength(segments, 1);
+            }
+            switch (segments[0]) {
+                case TASKS -> taskService.updateTask(readBody(body, TaskDTO.class));
+                case USERS -> userService.updateUser(readBody(body, UserDTO.class));
+                case TAGS -> tagService.updateTag(readBody(body, TagDTO.class));
+                default -> throw unknownPath(segments);
+            }
+            return new BatchResultDTO(0, null, HttpServletResponse.SC_NO_CONTENT, null, null, null);
+        }
+
+        private BatchResultDTO delete(String[] segments) {
+            requireLength(segments, 2);
+            Long id = resolveId(segments[1]);
+            switch (segments[0]) {
+                case TASKS -> taskService.deleteTask(id);
+                case USERS -> userService.deleteUser(id);
+                case TAGS -> tagService.deleteTag(id);
+                default -> throw unknownPath(segments);
+            }
+            return new BatchResultDTO(0, null, HttpServletResponse.SC_NO_CONTENT, null, null, null);
+        }
+
+        private BatchResultDTO created(Long id, Object body) {
+            return new BatchResultDTO(0, null, HttpServletResponse.SC_CREATED, id, body, null);
+        }
+
+        private <T> T readBody(JsonNode body, Class<T> type) {
+            if (body == null || !body.isObject()) {
+                throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Operation body must be a JSON object");
+            }
+            ObjectNode resolved = (ObjectNode) body;
+            Iterator<Map.Entry<String, JsonNode>> fields = resolved.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue().isTextual() && field.getValue().asText().startsWith(REFERENCE_PREFIX)) {
+                    field.setValue(resolved.numberNode(resolveId(field.getValue().asText())));
+                }
+            }
+            try {
+                return objectMapper.treeToValue(resolved, type);
+            } catch (JsonProcessingException e) {
+                throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + type.getSimpleName(), e);
+            }
+        }
+
+        private Long resolveId(String token) {
+            if (token.startsWith(REFERENCE_PREFIX)) {
+                Long id = references.get(token.substring(REFERENCE_PREFIX.length()));
+                if (id == null) {
+                    throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Unknown reference: " + token);
+                }
+                return id;
+            }
+            try {
+                return Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                throw new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Invalid ID format: " + token);
+            }
+        }
+
+        private void requireLength(String[] segments, int length) {
+            if (segments.length != length) {
+                throw unknownPath(segments);
+            }
+        }
+
+        private BatchOperationException unknownPath(String[] segments) {
+            return new BatchOperationException(HttpServletResponse.SC_BAD_REQUEST, "Invalid path: /" + String.join("/", segments));
+        }
+    }
+}
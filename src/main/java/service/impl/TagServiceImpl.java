@@ -5,6 +5,7 @@ import dto.TagDTO;
 import dto.TaskDTO;
 import entity.Tag;
 import entity.Task;
+import hotkeys.HotKeys;
 import mapper.TagMapper;
 import mapper.TaskMapper;
 import mapper.impl.TagMapperImpl;
@@ -18,6 +19,7 @@ public class TagServiceImpl implements TagService {
     private final TagDAO tagDAO;
     private final TagMapper tagMapper = new TagMapperImpl();
     private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final HotKeys hotKeys = HotKeys.global();
 
     public TagServiceImpl(TagDAO tagDAO) {
         this.tagDAO = tagDAO;
@@ -33,10 +35,13 @@ public class TagServiceImpl implements TagService {
             throw new IllegalStateException("Tag cannot be null");
         }
         tagDAO.create(tag);
+        tagDTO.setId(tag.getId());
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.WRITE, tag.getId());
     }
 
     @Override
     public TagDTO getTagById(Long id) {
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.READ, id);
         Tag tag = tagDAO.findById(id);
         return tagMapper.toDTO(tag);
     }
@@ -46,7 +51,7 @@ public class TagServiceImpl implements TagService {
         List<Tag> tags = tagDAO.findAll();
         return tags.stream()
                 .map(tag -> {
-                    List<Task> tasks = tagDAO.getTasksByTagId(tag.getId());
+                    List<Task> tasks = tag.getTasks();
                     TagDTO tagDTO = tagMapper.toDTO(tag);
 
                     tagDTO.setTasks(tasks.stream()
@@ -66,21 +71,26 @@ public class TagServiceImpl implements TagService {
         if (tag == null) {
             throw new IllegalStateException("Tag cannot be null");
         }
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.WRITE, tag.getId());
         tagDAO.update(tag);
     }
 
     @Override
     public void deleteTag(Long id) {
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.WRITE, id);
         tagDAO.delete(id);
     }
 
     @Override
     public void assignTaskToTag(Long tagId, Long taskId) {
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.WRITE, tagId);
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, taskId);
         tagDAO.assignTaskToTag(tagId, taskId);
     }
 
     @Override
     public List<TaskDTO> getTasksByTagId(Long tagId) {
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.READ, tagId);
         List<Task> tasks = tagDAO.getTasksByTagId(tagId);
         return tasks.stream()
                 .map(taskMapper::toDTO)
@@ -5,6 +5,7 @@ import dto.TagDTO;
 import dto.TaskDTO;
 import entity.Tag;
 import entity.Task;
+import hotkeys.HotKeys;
 import mapper.TagMapper;
 import mapper.TaskMapper;
 import mapper.impl.TagMapperImpl;
@@ -19,9 +20,17 @@ public class TaskServiceImpl implements TaskService {
     private final TaskMapper taskMapper = new TaskMapperImpl();
 
     private final TagMapper tagMapper = new TagMapperImpl();
+    private final HotKeys hotKeys = HotKeys.global();
+
+    private final TaskWriteBehindQueue writeBehindQueue;
 
     public TaskServiceImpl(TaskDAO taskDAO) {
+        this(taskDAO, null);
+    }
+
+    public TaskServiceImpl(TaskDAO taskDAO, TaskWriteBehindQueue writeBehindQueue) {
         this.taskDAO = taskDAO;
+        this.writeBehindQueue = writeBehindQueue;
     }
 
     @Override
@@ -33,11 +42,23 @@ public class TaskServiceImpl implements TaskService {
         if (task == null) {
             throw new IllegalStateException("Task cannot be null");
         }
-        taskDAO.create(task);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueue(task);
+        } else {
+            taskDAO.create(task);
+        }
+        taskDTO.setId(task.getId());
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, task.getId());
+    }
+
+    @Override
+    public boolean isCreateDeferred() {
+        return writeBehindQueue != null;
     }
 
     @Override
     public TaskDTO getTaskById(Long id) {
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.READ, id);
         Task task = taskDAO.findById(id);
         return taskMapper.toDTO(task);
     }
@@ -47,7 +68,7 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskDAO.findAll();
         return tasks.stream()
                 .map(task -> {
-                    List<Tag> tags = taskDAO.getTagsByTaskId(task.getId());
+                    List<Tag> tags = task.getTags();
                     TaskDTO taskDTO = taskMapper.toDTO(task);
 
                     taskDTO.setTags(tags.stream()
@@ -66,21 +87,26 @@ public class TaskServiceImpl implements TaskService {
         if (task == null) {
             throw new IllegalStateException("Task cannot be null");
         }
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, task.getId());
         taskDAO.update(task);
     }
 
     @Override
     public void deleteTask(Long id) {
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, id);
         taskDAO.delete(id);
     }
 
     @Override
     public void assignTagsToTask(Long taskId, Long tagId) {
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, taskId);
+        hotKeys.record(HotKeys.TAGS, HotKeys.Access.WRITE, tagId);
         taskDAO.assignTagToTask(taskId, tagId);
     }
 
     @Override
     public List<TagDTO> getTagsByTaskId(Long taskId) {
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.READ, taskId);
         List<Tag> tags = taskDAO.getTagsByTaskId(taskId);
         return tags.stream()
                 .map(tagMapper::toDTO)
@@ -0,0 +1,221 @@
+package service.impl;
+
+import entity.Task;
+import exception.WriteBehindRejectedException;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded queue that defers task inserts. Ids are allocated up front so callers can be
+ * answered immediately; a single flusher thread writes queued tasks in batches, one
+ * transaction per batch, when the batch is full or the flush interval has elapsed.
+ * <p>
+ * Queued tasks have already been acknowledged, so a failed batch is retried, then written row by
+ * row; only rows that still fail are handed to the {@link DeadLetterSink} and counted in
+ * {@code tasks_write_behind_dropped_total}.
+ * <p>
+ * {@code assigneeExists} and {@code ids} run on the caller's thread and must use the connection the
+ * caller already holds: a request that waits for a second pooled connection while holding one can
+ * deadlock the pool once every slot is held that way.
+ */
+public class TaskWriteBehindQueue implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskWriteBehindQueue.class);
+    private final Consumer<List<Task>> writer;
+    private final LongSupplier ids;
+    private final LongPredicate assigneeExists;
+    private final BlockingQueue<Task> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final long drainTimeoutMillis;
+    private final int flushAttempts;
+    private final long retryBackoffMillis;
+    private final DeadLetterSink deadLetters;
+    private final Counter dropped = MetricsRegistry.global()
+            .counter("tasks_write_behind_dropped_total", "Queued tasks that could not be written and went to the dead-letter sink");
+    /** Enqueues hold the read lock, so once close() has the write lock no task can slip in after the drain. */
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public TaskWriteBehindQueue(Consumer<List<Task>> writer, LongSupplier ids, LongPredicate assigneeExists,
+                                int capacity, int batchSize, long flushIntervalMillis, long offerTimeoutMillis,
+                                long drainTimeoutMillis, int flushAttempts, long retryBackoffMillis, DeadLetterSink deadLetters) {
+        if (capacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0 || flushAttempts <= 0) {
+            throw new IllegalArgumentException("Capacity, batch size, flush interval and flush attempts must be positive");
+        }
+        this.writer = writer;
+        this.ids = ids;
+        this.assigneeExists = assigneeExists;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.flushAttempts = flushAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.deadLetters = deadLetters;
+        this.flusher = new Thread(this::runFlusher, "task-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Validates the task before accepting it, so a row the database would reject never joins a batch.
+     *
+     * @throws IllegalArgumentException if the task is not assigned to an existing user
+     * @throws WriteBehindRejectedException if the queue is full or shut down
+     */
+    public void enqueue(Task task) {
+        Long assignee = task.getAssignedUserId();
+        if (assignee == null || !assigneeExists.test(assignee)) {
+            throw new IllegalArgumentException("Task must be assigned to an existing user");
+        }
+        shutdownLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new WriteBehindRejectedException("Write-behind queue is shut down");
+            }
+            task.setId(ids.getAsLong());
+            if (!queue.offer(task, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new WriteBehindRejectedException("Write-behind queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindRejectedException("Interrupted while enqueuing task", e);
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(drainTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            LOGGER.warn("Write-behind flusher did not drain within {} ms, {} tasks left", drainTimeoutMillis, queue.size());
+        }
+    }
+
+    private void runFlusher() {
+        List<Task> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Task first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Task next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Task> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (!writeBatch(batch)) {
+                writeRowByRow(batch);
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private boolean writeBatch(List<Task> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.accept(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= flushAttempts || !backOff(attempt)) {
+                    LOGGER.error("Error flushing {} queued tasks after {} attempts, writing them one by one", batch.size(), attempt, e);
+                    return false;
+                }
+                LOGGER.warn("Error flushing {} queued tasks (attempt {} of {}), retrying", batch.size(), attempt, flushAttempts, e);
+            }
+        }
+    }
+
+    private void writeRowByRow(List<Task> batch) {
+        for (Task task : batch) {
+            try {
+                writer.accept(List.of(task));
+            } catch (RuntimeException e) {
+                dropped.increment();
+                deadLetters.accept(task, e);
+            }
+        }
+    }
+
+    /**
+     * Sleeps before the next attempt; false when interrupted, which means the JVM is going down.
+     */
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Receives acknowledged tasks that could not be written.
+     */
+    @FunctionalInterface
+    public interface DeadLetterSink {
+        DeadLetterSink LOG = new DeadLetterSink() {
+            private final Logger deadLetterLogger = LoggerFactory.getLogger("deadletter.tasks");
+
+            @Override
+            public void accept(Task task, RuntimeException cause) {
+                deadLetterLogger.error("Dropped queued task {}", task, cause);
+            }
+        };
+
+        void accept(Task task, RuntimeException cause);
+    }
+}
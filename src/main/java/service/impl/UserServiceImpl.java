@@ -4,6 +4,7 @@ import dao.UserDAO;
 import dto.TaskDTO;
 import dto.UserDTO;
 import entity.Task;
+import hotkeys.HotKeys;
 import entity.User;
 import mapper.TaskMapper;
 import mapper.UserMapper;
@@ -18,6 +19,7 @@ public class UserServiceImpl implements UserService {
     private final UserDAO userDAO;
     private final UserMapper userMapper = new UserMapperImpl();
     private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final HotKeys hotKeys = HotKeys.global();
 
     public UserServiceImpl(UserDAO userDAO) {
         this.userDAO = userDAO;
@@ -33,10 +35,13 @@ public class UserServiceImpl implements UserService {
             throw new IllegalStateException("User cannot be null");
         }
         userDAO.create(user);
+        userDTO.setId(user.getId());
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.WRITE, user.getId());
     }
 
     @Override
     public dto.UserDTO getUserById(Long id) {
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.READ, id);
         User user = userDAO.findById(id);
         return userMapper.toDTO(user);
     }
@@ -46,7 +51,7 @@ public class UserServiceImpl implements UserService {
         List<User> users = userDAO.findAll();
         return users.stream()
                 .map(user -> {
-                    List<Task> tasks = userDAO.getTasksByUserId(user.getId());
+                    List<Task> tasks = user.getTasks();
                     UserDTO userDTO = userMapper.toDTO(user);
 
                     userDTO.setTasks(tasks.stream()
@@ -66,19 +71,24 @@ public class UserServiceImpl implements UserService {
         if (user == null) {
             throw new IllegalStateException("User cannot be null");
         }
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.WRITE, user.getId());
         userDAO.update(user);
     }
 
     @Override
     public void deleteUser(Long id) {
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.WRITE, id);
         userDAO.delete(id);
     }
 
     public void assignTaskToUser(Long userId, Long taskId) {
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.WRITE, userId);
+        hotKeys.record(HotKeys.TASKS, HotKeys.Access.WRITE, taskId);
         userDAO.assignTaskToUser(userId, taskId);
     }
 
     public List<TaskDTO> getTasksByUserId(Long userId) {
+        hotKeys.record(HotKeys.USERS, HotKeys.Access.READ, userId);
         List<Task> tasks = userDAO.getTasksByUserId(userId);
         return tasks.stream()
                 .map(taskMapper::toDTO)
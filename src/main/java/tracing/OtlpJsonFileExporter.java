@@ -0,0 +1,194 @@
+package tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import concurrent.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Drains finished spans on a background thread and appends them to {@value #CURRENT_FILE} as
+ * OTLP/JSON, one {@code ExportTraceServiceRequest} per line (the layout of the OpenTelemetry
+ * collector's file exporter). The file is rolled once it exceeds the size limit and only the
+ * newest rolled files are kept.
+ */
+public class OtlpJsonFileExporter implements AutoCloseable {
+    static final String CURRENT_FILE = "spans.jsonl";
+    private static final String ROLLED_PREFIX = "spans-";
+    private static final int BATCH_SIZE = 512;
+    private static final Logger LOGGER = LoggerFactory.getLogger(OtlpJsonFileExporter.class);
+    private final RingBuffer<Span> buffer;
+    private final Path directory;
+    private final String serviceName;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final long intervalMillis;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public OtlpJsonFileExporter(RingBuffer<Span> buffer, Path directory, String serviceName, long maxFileBytes,
+                                int maxFiles, long intervalMillis) {
+        this.buffer = buffer;
+        this.directory = directory;
+        this.serviceName = serviceName;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.intervalMillis = intervalMillis;
+        this.worker = new Thread(this::run, "span-exporter");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (exportBatch() == 0) {
+                    TimeUnit.MILLISECONDS.sleep(intervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch of spans and returns how many were exported.
+     */
+    int exportBatch() {
+        List<Span> spans = new ArrayList<>();
+        buffer.drain(spans::add, BATCH_SIZE);
+        if (spans.isEmpty()) {
+            return 0;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path current = directory.resolve(CURRENT_FILE);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(current,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                writeRequest(out, spans);
+                out.write('\n');
+            }
+            if (Files.size(current) >= maxFileBytes) {
+                roll(current);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error exporting {} spans to {}", spans.size(), directory, e);
+        }
+        return spans.size();
+    }
+
+    void writeRequest(OutputStream out, List<Span> spans) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            writeAttribute(json, "service.name", serviceName);
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", serviceName);
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : spans) {
+                writeSpan(json, span);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeSpan(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getTraceId());
+        json.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            json.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        json.writeStringField("name", span.getName());
+        json.writeNumberField("kind", span.getKind().getCode());
+        json.writeStringField("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        json.writeArrayFieldStart("attributes");
+        for (int i = 0; i < span.getAttributeCount(); i++) {
+            writeAttribute(json, span.getAttributeKey(i), span.getAttributeValue(i));
+        }
+        json.writeEndArray();
+        json.writeObjectFieldStart("status");
+        json.writeNumberField("code", span.isError() ? 2 : 1);
+        if (span.getErrorMessage() != null) {
+            json.writeStringField("message", span.getErrorMessage());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, Object value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        if (value instanceof Boolean bool) {
+            json.writeBooleanField("boolValue", bool);
+        } else if (value instanceof Integer || value instanceof Long) {
+            json.writeStringField("intValue", value.toString());
+        } else if (value instanceof Number number) {
+            json.writeNumberField("doubleValue", number.doubleValue());
+        } else {
+            json.writeStringField("stringValue", String.valueOf(value));
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void roll(Path current) throws IOException {
+        Files.move(current, directory.resolve(ROLLED_PREFIX + System.currentTimeMillis() + ".jsonl"));
+        List<Path> rolled;
+        try (Stream<Path> files = Files.list(directory)) {
+            rolled = files.filter(path -> path.getFileName().toString().startsWith(ROLLED_PREFIX))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList();
+        }
+        for (int i = 0; i < rolled.size() - maxFiles; i++) {
+            Files.deleteIfExists(rolled.get(i));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (exportBatch() > 0) {
+            // flush what is left so spans of the last requests are not lost on shutdown
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package tracing;
+
+import java.util.Arrays;
+
+/**
+ * One timed operation within a trace. Spans are created by {@link Tracer} and are not thread-safe:
+ * each one is started, annotated and ended on the thread serving the request.
+ */
+public class Span {
+    static final Span NOOP = new Span(null, null, null, null, null, SpanKind.INTERNAL, 0, null);
+    private static final int INITIAL_ATTRIBUTES = 4;
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final SpanKind kind;
+    private final long startEpochNanos;
+    private final Span parent;
+    private long endEpochNanos;
+    private String[] attributeKeys = new String[INITIAL_ATTRIBUTES];
+    private Object[] attributeValues = new Object[INITIAL_ATTRIBUTES];
+    private int attributeCount;
+    private String errorMessage;
+    private boolean error;
+
+    Span(Tracer tracer, String traceId, String spanId, String parentSpanId, String name, SpanKind kind,
+         long startEpochNanos, Span parent) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochNanos = startEpochNanos;
+        this.parent = parent;
+    }
+
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (tracer == null || value == null) {
+            return this;
+        }
+        if (attributeCount == attributeKeys.length) {
+            attributeKeys = Arrays.copyOf(attributeKeys, attributeCount * 2);
+            attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+        }
+        attributeKeys[attributeCount] = key;
+        attributeValues[attributeCount] = value;
+        attributeCount++;
+        return this;
+    }
+
+    public Span recordError(Throwable throwable) {
+        if (tracer != null) {
+            error = true;
+            errorMessage = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+        }
+        return this;
+    }
+
+    public Span markError(String message) {
+        if (tracer != null) {
+            error = true;
+            errorMessage = message;
+        }
+        return this;
+    }
+
+    public void end() {
+        if (tracer != null && endEpochNanos == 0) {
+            endEpochNanos = Tracer.epochNanos();
+            tracer.finish(this);
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SpanKind getKind() {
+        return kind;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    public String getAttributeKey(int index) {
+        return attributeKeys[index];
+    }
+
+    public Object getAttributeValue(int index) {
+        return attributeValues[index];
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    Span getParent() {
+        return parent;
+    }
+}
@@ -0,0 +1,68 @@
+package tracing;
+
+import config.ApplicationProperties;
+import context.RequestContext;
+import jfr.ServiceCallEvent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service or DAO so each interface method call becomes a child span named
+ * {@code Interface.method} and a {@link ServiceCallEvent} for Flight Recorder. Returns the
+ * target itself when neither tracing nor JFR service events are enabled.
+ */
+public final class Traced {
+
+    private Traced() {
+    }
+
+    public static <T> T proxy(Class<T> type, T target) {
+        return proxy(type, target, Tracer.global(), ApplicationProperties.getBoolean("jfr.service-events.enabled", true));
+    }
+
+    static <T> T proxy(Class<T> type, T target, Tracer tracer, boolean serviceEvents) {
+        if (target == null || !tracer.isEnabled() && !serviceEvents) {
+            return target;
+        }
+        String component = type.getSimpleName();
+        String prefix = component + ".";
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(target, method, args);
+            }
+            Span span = tracer.startSpan(prefix + method.getName(), SpanKind.INTERNAL);
+            ServiceCallEvent event = serviceEvents ? new ServiceCallEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            boolean failed = false;
+            try {
+                return invoke(target, method, args);
+            } catch (Throwable e) {
+                failed = true;
+                span.recordError(e);
+                throw e;
+            } finally {
+                span.end();
+                if (event != null && event.shouldCommit()) {
+                    RequestContext context = RequestContext.current();
+                    event.component = component;
+                    event.method = method.getName();
+                    event.route = context == null ? null : context.getRoute();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package tracing;
+
+import concurrent.RingBuffer;
+import context.RequestContext;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates spans for the current request and queues finished ones for export.
+ * <p>
+ * Sampling is head-based: the decision is made once when the root span is started and every
+ * child follows it, so unsampled requests pay only a thread-local lookup per hook. An incoming
+ * W3C {@code traceparent} header continues the caller's trace and sampling decision. Finished
+ * spans go into a lock-free ring buffer; if the exporter falls behind they are dropped and counted.
+ */
+public class Tracer {
+    public static final String HEADER_TRACEPARENT = "traceparent";
+    private static final long EPOCH_BASE_NANOS = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private static final long NANO_TIME_BASE = System.nanoTime();
+    private static final Tracer DISABLED = new Tracer(0, new RingBuffer<>(2), new Counter());
+
+    private final double sampleRate;
+    private final RingBuffer<Span> buffer;
+    private final Counter dropped;
+
+    public Tracer(double sampleRate, RingBuffer<Span> buffer, Counter dropped) {
+        this.sampleRate = sampleRate;
+        this.buffer = buffer;
+        this.dropped = dropped;
+    }
+
+    public static Tracer global() {
+        return TracingConfig.tracer();
+    }
+
+    static Tracer disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    public RingBuffer<Span> getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Starts the root span of a request, continuing the caller's trace if {@code traceparent} is valid.
+     */
+    public Span startRoot(String name, SpanKind kind, String traceparent) {
+        RequestContext context = RequestContext.current();
+        if (context == null || !isEnabled()) {
+            return Span.NOOP;
+        }
+        String traceId;
+        String parentSpanId = null;
+        boolean sampled;
+        if (isValidTraceparent(traceparent)) {
+            traceId = traceparent.substring(3, 35);
+            parentSpanId = traceparent.substring(36, 52);
+            sampled = (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+        } else {
+            traceId = randomHex() + randomHex();
+            sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, traceId, randomHex(), parentSpanId, name, kind, epochNanos(), null);
+        context.setCurrentSpan(span);
+        return span;
+    }
+
+    /**
+     * Starts a child of the current span, or returns a no-op span if the request is not sampled.
+     */
+    public Span startSpan(String name, SpanKind kind) {
+        RequestContext context = RequestContext.current();
+        Span parent = context == null ? null : context.getCurrentSpan();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent.getTraceId(), randomHex(), parent.getSpanId(), name, kind, epochNanos(), parent);
+        context.setCurrentSpan(span);
+        return span;
+    }
+
+    void finish(Span span) {
+        RequestContext context = RequestContext.current();
+        if (context != null && context.getCurrentSpan() == span) {
+            context.setCurrentSpan(span.getParent());
+        }
+        if (!buffer.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    static long epochNanos() {
+        return EPOCH_BASE_NANOS + (System.nanoTime() - NANO_TIME_BASE);
+    }
+
+    private static String randomHex() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+
+    private static boolean isValidTraceparent(String value) {
+        if (value == null || value.length() != 55 || !value.startsWith("00-")
+                || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return false;
+        }
+        for (int i = 3; i < 55; i++) {
+            if (i != 35 && i != 52 && Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return !value.startsWith("00000000000000000000000000000000", 3) && !value.startsWith("0000000000000000", 36);
+    }
+
+    static Counter droppedCounter() {
+        return MetricsRegistry.global().counter("tracing_spans_dropped_total", "Spans dropped because the export buffer was full");
+    }
+}
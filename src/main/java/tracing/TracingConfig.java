@@ -0,0 +1,41 @@
+package tracing;
+
+import concurrent.RingBuffer;
+import config.ApplicationLifecycle;
+import config.ApplicationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Builds the global {@link Tracer} and its file exporter from {@code tracing.*} properties on first use.
+ */
+final class TracingConfig {
+
+    private TracingConfig() {
+    }
+
+    static Tracer tracer() {
+        return Holder.TRACER;
+    }
+
+    private static final class Holder {
+        private static final Tracer TRACER = create();
+
+        private static Tracer create() {
+            if (!ApplicationProperties.getBoolean("tracing.enabled", false)) {
+                return Tracer.disabled();
+            }
+            RingBuffer<Span> buffer = new RingBuffer<>(ApplicationProperties.getInt("tracing.buffer-capacity", 8192));
+            Tracer tracer = new Tracer(ApplicationProperties.getDouble("tracing.sample-rate", 0.01), buffer, Tracer.droppedCounter());
+            OtlpJsonFileExporter exporter = new OtlpJsonFileExporter(buffer,
+                    Path.of(ApplicationProperties.get("tracing.export.directory", System.getProperty("java.io.tmpdir") + "/task-manager-traces")),
+                    ApplicationProperties.get("tracing.service-name", "task-manager"),
+                    ApplicationProperties.getLong("tracing.export.max-file-bytes", 10L * 1024 * 1024),
+                    ApplicationProperties.getInt("tracing.export.max-files", 5),
+                    ApplicationProperties.getLong("tracing.export.interval-ms", 1000));
+            exporter.start();
+            ApplicationLifecycle.register(exporter);
+            return tracer;
+        }
+    }
+}
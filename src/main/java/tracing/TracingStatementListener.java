@@ -0,0 +1,52 @@
+package tracing;
+
+import jdbc.StatementExecution;
+import jdbc.StatementListener;
+
+import java.util.Locale;
+
+/**
+ * Records each statement executed by the DAOs as a client span under the current span.
+ */
+public class TracingStatementListener implements StatementListener {
+    private static final String SPAN_ATTRIBUTE = "tracing.span";
+    private final Tracer tracer;
+
+    public TracingStatementListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void beforeExecute(StatementExecution execution) {
+        Span span = tracer.startSpan(operationOf(execution.getSql()), SpanKind.CLIENT);
+        if (span.isRecording()) {
+            span.setAttribute("db.system", "postgresql").setAttribute("db.statement", execution.getShape());
+            execution.setAttribute(SPAN_ATTRIBUTE, span);
+        }
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        if (execution.getAttribute(SPAN_ATTRIBUTE) instanceof Span span) {
+            if (failure != null) {
+                span.recordError(failure);
+            }
+            if (execution.getRows() >= 0) {
+                span.setAttribute("db.rows_affected", execution.getRows());
+            }
+            span.end();
+        }
+    }
+
+    private static String operationOf(String sql) {
+        if (sql == null) {
+            return "db";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "db" : "db " + trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+-- Applied only with ids.block-allocation.enabled: every nextval then reserves a block of 100 ids,
+-- so ids handed out by the database (column defaults included) advance in steps of 100.
+ALTER SEQUENCE users_id_seq INCREMENT BY 100;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 100;
+ALTER SEQUENCE tags_id_seq INCREMENT BY 100;
@@ -76,8 +76,3 @@ VALUES (1, 1),
        (3, 4),
        (4, 4),
        (5, 4);
-
-
-
-
-
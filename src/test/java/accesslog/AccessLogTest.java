@@ -0,0 +1,78 @@
+package accesslog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import concurrent.RingBuffer;
+import metrics.Counter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testErrorsAreAlwaysLoggedAndSuccessesSampled() {
+        AccessLog accessLog = new AccessLog(true, 0, new RingBuffer<>(4), new Counter());
+
+        assertEquals(0, accessLog.sampleRateFor(200));
+        assertEquals(1, accessLog.sampleRateFor(404));
+        assertEquals(1, accessLog.sampleRateFor(503));
+        assertEquals(1, new AccessLog(true, 1, new RingBuffer<>(4), new Counter()).sampleRateFor(200));
+        assertEquals(0, AccessLog.disabled().sampleRateFor(500));
+    }
+
+    @Test
+    public void testFullBufferDropsInsteadOfBlocking() {
+        Counter dropped = new Counter();
+        AccessLog accessLog = new AccessLog(true, 1, new RingBuffer<>(2), dropped);
+
+        for (int i = 0; i < 5; i++) {
+            accessLog.log(entry(200));
+        }
+
+        assertEquals(3, dropped.get());
+    }
+
+    @Test
+    public void testWriterAppendsJsonLinesAndRolls() throws IOException {
+        RingBuffer<AccessLogEntry> buffer = new RingBuffer<>(16);
+        AccessLogWriter writer = new AccessLogWriter(buffer, directory, 500, 1, 10);
+        buffer.offer(entry(200));
+        buffer.offer(entry(500));
+
+        assertEquals(2, writer.writeBatch());
+        List<String> lines = Files.readAllLines(directory.resolve(AccessLogWriter.CURRENT_FILE));
+        assertEquals(2, lines.size());
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertEquals("GET", first.get("method").asText());
+        assertEquals("/tasks/{id}", first.get("route").asText());
+        assertEquals(200, first.get("status").asInt());
+        assertEquals(512, first.get("bytes").asLong());
+        assertEquals(12.5, first.get("durationMs").asDouble());
+        assertEquals(3, first.get("rows").asLong());
+        assertEquals(500, new ObjectMapper().readTree(lines.get(1)).get("status").asInt());
+
+        for (int i = 0; i < 3; i++) {
+            buffer.offer(entry(200));
+            writer.writeBatch();
+        }
+        writer.close();
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    private static AccessLogEntry entry(int status) {
+        return new AccessLogEntry(1_700_000_000_000L, "abc", "GET", "/tasks/{id}", status, 512,
+                12_500_000L, 4_000_000L, 2, 3, 1);
+    }
+}
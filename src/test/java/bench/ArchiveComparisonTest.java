@@ -0,0 +1,112 @@
+package bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveComparisonTest {
+
+    private static final String JMH_JSON = "[{\"benchmark\":\"benchmark.MapperBenchmark.taskToDto\",\"mode\":\"thrpt\","
+            + "\"params\":{\"size\":\"100\"},"
+            + "\"primaryMetric\":{\"score\":1050.0,\"scoreUnit\":\"ops/s\",\"rawData\":[[1000.0,1100.0],[1050.0,1050.0]]},"
+            + "\"secondaryMetrics\":{\"gc.alloc.rate\":{\"scoreUnit\":\"MB/sec\",\"rawData\":[[5.0,5.0]]},"
+            + "\"gc.alloc.rate.norm\":{\"scoreUnit\":\"B/op\",\"rawData\":[[96.0,96.0],[96.0,96.0]]}}}]";
+
+    private static BenchmarkResult result(String metric, boolean higherIsBetter, Double... samples) {
+        BenchmarkResult result = new BenchmarkResult("benchmark.Dao.findAll", metric, "ops/s", higherIsBetter);
+        result.setSamples(List.of(samples));
+        return result;
+    }
+
+    private static ResultArchive archive(BenchmarkResult... results) {
+        ResultArchive archive = ResultArchive.create("jmh", null);
+        for (BenchmarkResult result : results) {
+            archive.add(result);
+        }
+        return archive;
+    }
+
+    @Test
+    public void testWelchPValueMatchesReferenceValues() {
+        double[] a = {27.5, 21.0, 19.0, 23.6, 17.0, 17.9, 16.9, 20.1, 21.9, 22.6, 23.1, 19.6, 19.0, 21.7, 21.4};
+        double[] b = {27.1, 22.0, 20.8, 23.4, 23.4, 23.5, 25.8, 22.0, 24.8, 20.2, 21.9, 22.1, 22.9, 20.5, 24.4};
+
+        assertEquals(0.02138, Statistics.welchPValue(a, b), 1e-4);
+        assertEquals(0.00488, Statistics.welchPValue(new double[]{1, 2, 3}, new double[]{4, 5, 6, 7, 8}), 1e-4);
+        assertEquals(1.0, Statistics.welchPValue(a, a), 1e-9);
+        assertTrue(Double.isNaN(Statistics.welchPValue(new double[]{1}, b)));
+    }
+
+    @Test
+    public void testSignificantThroughputDropIsRegression() {
+        ResultArchive baseline = archive(result("thrpt", true, 1000.0, 1010.0, 990.0, 1005.0, 995.0));
+        ResultArchive candidate = archive(result("thrpt", true, 800.0, 810.0, 790.0, 805.0, 795.0));
+
+        ArchiveComparison comparison = new ArchiveComparison(baseline, candidate, 0.05, 5);
+
+        ArchiveComparison.Row row = comparison.getRows().get(0);
+        assertEquals(ArchiveComparison.Verdict.REGRESSED, row.getVerdict());
+        assertEquals(-20.0, row.getChangePercent(), 1e-9);
+        assertTrue(row.getPValue() < 0.001);
+        assertEquals(1, comparison.regressions().size());
+    }
+
+    @Test
+    public void testLowerLatencyIsImprovement() {
+        ResultArchive baseline = archive(result("p99", false, 10.0, 11.0, 10.5, 9.5));
+        ResultArchive candidate = archive(result("p99", false, 5.0, 5.5, 5.2, 4.8));
+
+        ArchiveComparison comparison = new ArchiveComparison(baseline, candidate, 0.05, 5);
+
+        assertEquals(ArchiveComparison.Verdict.IMPROVED, comparison.getRows().get(0).getVerdict());
+        assertTrue(comparison.regressions().isEmpty());
+    }
+
+    @Test
+    public void testNoisyDifferenceIsNotFlagged() {
+        ResultArchive baseline = archive(result("thrpt", true, 1000.0, 600.0, 1400.0));
+        ResultArchive candidate = archive(result("thrpt", true, 900.0, 500.0, 1300.0));
+
+        ArchiveComparison comparison = new ArchiveComparison(baseline, candidate, 0.05, 5);
+
+        assertEquals(ArchiveComparison.Verdict.UNCHANGED, comparison.getRows().get(0).getVerdict());
+    }
+
+    @Test
+    public void testAddedAndRemovedResultsAreReported() {
+        ResultArchive baseline = archive(result("thrpt", true, 1.0, 1.0));
+        ResultArchive candidate = archive(result("avgt", false, 1.0, 1.0));
+
+        List<ArchiveComparison.Row> rows = new ArchiveComparison(baseline, candidate, 0.05, 5).getRows();
+
+        assertEquals(ArchiveComparison.Verdict.NEW, rows.get(0).getVerdict());
+        assertEquals(ArchiveComparison.Verdict.MISSING, rows.get(1).getVerdict());
+    }
+
+    @Test
+    public void testJmhResultsKeepIterationsAndNormalizedAllocation(@TempDir Path dir) throws IOException {
+        ResultArchive archive = JmhResults.convert(new ObjectMapper().readTree(JMH_JSON), "before");
+        Path file = dir.resolve("jmh.json");
+        archive.write(file);
+
+        ResultArchive read = ResultArchive.read(file);
+
+        assertEquals("jmh", read.getKind());
+        assertEquals("before", read.getLabel());
+        assertEquals(2, read.getResults().size());
+        BenchmarkResult allocation = read.getResults().get(0);
+        assertEquals("benchmark.MapperBenchmark.taskToDto{size=100}:gc.alloc.rate.norm", allocation.getKey());
+        assertFalse(allocation.isHigherIsBetter());
+        BenchmarkResult throughput = read.getResults().get(1);
+        assertEquals("benchmark.MapperBenchmark.taskToDto{size=100}:thrpt", throughput.getKey());
+        assertTrue(throughput.isHigherIsBetter());
+        assertEquals(List.of(1000.0, 1100.0, 1050.0, 1050.0), throughput.getSamples());
+        assertEquals(1050.0, throughput.getMean(), 1e-9);
+    }
+}
@@ -0,0 +1,108 @@
+package context;
+
+import dao.TaskDAO;
+import dao.impl.TaskDAOImpl;
+import entity.Tag;
+import entity.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class IdentityMapTest {
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private TaskDAO taskDAO;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> taskRow());
+        taskDAO = new TaskDAOImpl(connection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    public void testFindByIdReturnsSameInstanceWithinRequest() throws SQLException {
+        RequestContext.begin();
+
+        Task first = taskDAO.findById(1L);
+        Task second = taskDAO.findById(1L);
+
+        assertSame(first, second);
+        verify(connection, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    public void testFindByIdQueriesEveryTimeOutsideRequest() throws SQLException {
+        Task first = taskDAO.findById(1L);
+        Task second = taskDAO.findById(1L);
+
+        assertNotSame(first, second);
+        verify(connection, times(2)).prepareStatement(anyString());
+    }
+
+    @Test
+    public void testFindAllLoadsRelationsOntoInstanceFromFindById() {
+        RequestContext.begin();
+
+        Task loaded = taskDAO.findById(1L);
+        List<Task> all = taskDAO.findAll();
+
+        assertSame(loaded, all.get(0));
+        assertEquals(List.of("urgent"), loaded.getTags().stream().map(Tag::getName).toList());
+    }
+
+    @Test
+    public void testWriteInvalidatesIdentityMap() throws SQLException {
+        RequestContext.begin();
+
+        Task first = taskDAO.findById(1L);
+        taskDAO.assignTagToTask(1L, 2L);
+        Task second = taskDAO.findById(1L);
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testIdentityMapIsDiscardedAtRequestEnd() {
+        RequestContext.begin();
+        Task first = taskDAO.findById(1L);
+        RequestContext.end();
+
+        RequestContext.begin();
+        Task second = taskDAO.findById(1L);
+
+        assertNotSame(first, second);
+        assertEquals(first.getId(), second.getId());
+    }
+
+    private ResultSet taskRow() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(1);
+        when(resultSet.getLong("id")).thenReturn(1L);
+        when(resultSet.getString("title")).thenReturn("Task1");
+        when(resultSet.getString("description")).thenReturn("desc 1");
+        when(resultSet.getLong("assigned_user_id")).thenReturn(1L);
+        when(resultSet.getLong("task_id")).thenReturn(1L);
+        when(resultSet.getString("name")).thenReturn("urgent");
+        return resultSet;
+    }
+}
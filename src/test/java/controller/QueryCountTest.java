@@ -0,0 +1,160 @@
+package controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dao.impl.TagDAOImpl;
+import dao.impl.TaskDAOImpl;
+import dao.impl.UserDAOImpl;
+import dataset.DatasetGenerator;
+import dataset.DatasetSpec;
+import exception.ConfigurationException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdbc.StatementCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import service.impl.TagServiceImpl;
+import service.impl.TaskServiceImpl;
+import service.impl.UserServiceImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement budgets of the read endpoints against a generated dataset, so an N+1 regression
+ * fails the build instead of showing up as latency in production.
+ */
+@Testcontainers
+public class QueryCountTest {
+    private static final int TASKS = 1000;
+    private static final int USERS = 200;
+    private static final int TAGS = 50;
+    private static PostgreSQLContainer<?> postgresContainer;
+    private static Connection connection;
+    private final StatementCounter counter = new StatementCounter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TaskController taskController;
+    private UserController userController;
+    private TagController tagController;
+
+    @BeforeAll
+    public static void setUpBeforeClass() throws SQLException {
+        Properties properties = new Properties();
+        String rootPath = Objects.requireNonNull(Thread.currentThread().getContextClassLoader().getResource("")).getPath().replace("%20", " ");
+        try (FileInputStream inputStream = new FileInputStream(rootPath + "database.properties")) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to load database configuration", e);
+        }
+        postgresContainer = new PostgreSQLContainer<>(properties.getProperty("container.name"))
+                .withUsername(properties.getProperty("database.username"))
+                .withPassword(properties.getProperty("database.password"));
+        postgresContainer.start();
+        connection = DriverManager.getConnection(postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGSERIAL PRIMARY KEY, name VARCHAR(255))");
+            statement.execute("CREATE TABLE tasks (id BIGSERIAL PRIMARY KEY, title VARCHAR(255), description TEXT, assigned_user_id BIGINT)");
+            statement.execute("CREATE TABLE user_tasks (user_id BIGINT REFERENCES users(id), task_id BIGINT REFERENCES tasks(id), PRIMARY KEY(user_id, task_id))");
+            statement.execute("CREATE TABLE tags (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE TABLE task_tag (task_id BIGINT REFERENCES tasks(id), tag_id BIGINT REFERENCES tags(id), PRIMARY KEY (task_id, tag_id))");
+        }
+        DatasetSpec spec = new DatasetSpec();
+        spec.setTasks(TASKS);
+        spec.setUsers(USERS);
+        spec.setTags(TAGS);
+        new DatasetGenerator(spec).load(connection);
+    }
+
+    @AfterAll
+    public static void tearDownAfterClass() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+        if (postgresContainer != null) {
+            postgresContainer.stop();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Connection counted = counter.wrap(connection);
+        taskController = new TaskController(new TaskServiceImpl(new TaskDAOImpl(counted)), objectMapper);
+        userController = new UserController(new UserServiceImpl(new UserDAOImpl(counted)), objectMapper);
+        tagController = new TagController(new TagServiceImpl(new TagDAOImpl(counted)), objectMapper);
+    }
+
+    private JsonNode get(Handler controller, String pathInfo, long maxStatements, String description) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        when(request.getPathInfo()).thenReturn(pathInfo);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+
+        counter.expectAtMost(maxStatements, description, () -> controller.handle(request, response));
+        return objectMapper.readTree(body.toByteArray());
+    }
+
+    @Test
+    public void testGetAllTasksIsTwoStatements() throws Exception {
+        JsonNode tasks = get(taskController::doGet, null, 2, "GET /tasks with " + TASKS + " tasks");
+
+        assertEquals(TASKS, tasks.size());
+    }
+
+    @Test
+    public void testGetAllUsersIsTwoStatements() throws Exception {
+        JsonNode users = get(userController::doGet, null, 2, "GET /users with " + USERS + " users");
+
+        assertEquals(USERS, users.size());
+    }
+
+    @Test
+    public void testGetAllTagsIsTwoStatements() throws Exception {
+        JsonNode tags = get(tagController::doGet, null, 2, "GET /tags with " + TAGS + " tags");
+
+        assertEquals(TAGS, tags.size());
+    }
+
+    @Test
+    public void testGetTaskByIdIsBounded() throws Exception {
+        JsonNode task = get(taskController::doGet, "/1", 2, "GET /tasks/1");
+
+        assertEquals(1, task.get("id").asLong());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+}
@@ -0,0 +1,35 @@
+package controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RestResponsesTest {
+
+    private static HttpServletRequest prefer(String header) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("Prefer")).thenReturn(header);
+        return request;
+    }
+
+    @Test
+    public void testPreferencesAreMatchedAsWholeTokens() {
+        assertTrue(RestResponses.prefersMinimal(prefer("return=minimal")));
+        assertTrue(RestResponses.prefersMinimal(prefer("respond-async, Return = \"minimal\"; foo=bar")));
+        assertFalse(RestResponses.prefersMinimal(prefer("return=minimalist")));
+        assertFalse(RestResponses.prefersMinimal(prefer("x-return=minimal")));
+        assertFalse(RestResponses.prefersMinimal(prefer("handling=lenient; note=\"return=minimal\"")));
+        assertFalse(RestResponses.prefersMinimal(prefer(null)));
+    }
+
+    @Test
+    public void testRepresentationAndMinimalShareTheParser() {
+        HttpServletRequest request = prefer("wait=10, return=representation");
+
+        assertTrue(RestResponses.prefersRepresentation(request));
+        assertFalse(RestResponses.prefersMinimal(request));
+        assertFalse(RestResponses.prefersRepresentation(prefer("wait=10; return=representation")));
+    }
+}
@@ -163,11 +163,32 @@ public class TagsControllerTest {
         doNothing().when(tagService).createTag(any(TagDTO.class));
         doNothing().when(response).setStatus(HttpServletResponse.SC_CREATED);
 
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ServletOutputStream servletOutputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+
+            }
+
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+        };
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+
         tagController.doPost(request, response);
 
         verify(request).getInputStream();
         verify(tagService).createTag(any(TagDTO.class));
         verify(response).setStatus(HttpServletResponse.SC_CREATED);
+        verify(response).setHeader("Location", "/tags/1");
+        assertEquals(1L, objectMapper.readValue(outputStream.toByteArray(), TagDTO.class).getId());
     }
 
     @Test
@@ -154,11 +154,32 @@ public class TaskControllerTest {
         doNothing().when(taskService).createTask(any(TaskDTO.class));
         doNothing().when(response).setStatus(HttpServletResponse.SC_CREATED);
 
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ServletOutputStream servletOutputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+
+            }
+
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+        };
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+
         taskController.doPost(request, response);
 
         verify(request).getInputStream();
         verify(taskService).createTask(any(TaskDTO.class));
         verify(response).setStatus(HttpServletResponse.SC_CREATED);
+        verify(response).setHeader("Location", "/tasks/1");
+        assertEquals(1L, objectMapper.readValue(outputStream.toByteArray(), TaskDTO.class).getId());
     }
 
     @Test
@@ -554,4 +575,100 @@ public class TaskControllerTest {
         verify(taskService).assignTagsToTask(1L, 2L);
         verify(response).setStatus(HttpServletResponse.SC_NO_CONTENT);
     }
+    @Test
+    void testDoPutReturnsRepresentationWhenPreferred() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        TaskDTO taskDTO = new TaskDTO(1L, "UpdatedTaskTitle", "Description", 1L, null);
+        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(objectMapper.writeValueAsBytes(taskDTO));
+
+        ServletInputStream servletInputStream = new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return byteArrayInputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return byteArrayInputStream.read();
+            }
+        };
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ServletOutputStream servletOutputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+
+            }
+
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+        };
+
+        when(request.getInputStream()).thenReturn(servletInputStream);
+        when(request.getHeader("Prefer")).thenReturn("return=representation");
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+        when(taskService.getTaskById(1L)).thenReturn(taskDTO);
+        when(taskService.getTagsByTaskId(1L)).thenReturn(new ArrayList<>());
+
+        taskController.doPut(request, response);
+
+        verify(taskService).updateTask(any(TaskDTO.class));
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setHeader("Preference-Applied", "return=representation");
+        assertEquals(objectMapper.writeValueAsString(taskDTO), outputStream.toString());
+    }
+
+    @Test
+    void testDoPutReturnsNoContentByDefault() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(
+                objectMapper.writeValueAsBytes(new TaskDTO(1L, "UpdatedTaskTitle", null, 1L, null)));
+
+        ServletInputStream servletInputStream = new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return byteArrayInputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return byteArrayInputStream.read();
+            }
+        };
+
+        when(request.getInputStream()).thenReturn(servletInputStream);
+
+        taskController.doPut(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NO_CONTENT);
+        verify(taskService, never()).getTaskById(anyLong());
+    }
 }
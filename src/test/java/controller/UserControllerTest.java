@@ -162,11 +162,32 @@ public class UserControllerTest {
         doNothing().when(userService).createUser(any(UserDTO.class));
         doNothing().when(response).setStatus(HttpServletResponse.SC_CREATED);
 
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ServletOutputStream servletOutputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+
+            }
+
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+        };
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+
         userController.doPost(request, response);
 
         verify(request).getInputStream();
         verify(userService).createUser(any(UserDTO.class));
         verify(response).setStatus(HttpServletResponse.SC_CREATED);
+        verify(response).setHeader("Location", "/users/1");
+        assertEquals(1L, objectMapper.readValue(outputStream.toByteArray(), UserDTO.class).getId());
     }
 
     @Test
@@ -0,0 +1,97 @@
+package dao;
+
+import dao.impl.TaskDAOImpl;
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DurabilityPolicyTest {
+
+    private Connection connection;
+    private Statement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+    }
+
+    @Test
+    public void testForOperationDefaultsToOn() {
+        DurabilityPolicy policy = new DurabilityPolicy(Map.of(DurabilityPolicy.TAGS_ASSIGN_TASK, "off")::get);
+
+        assertEquals(Durability.ON, policy.forOperation(DurabilityPolicy.TASKS_CREATE));
+        assertEquals(Durability.OFF, policy.forOperation(DurabilityPolicy.TAGS_ASSIGN_TASK));
+        assertEquals(Durability.ON, DurabilityPolicy.STRICT.forOperation(DurabilityPolicy.TAGS_ASSIGN_TASK));
+    }
+
+    @Test
+    public void testUnknownSettingIsRejected() {
+        DurabilityPolicy policy = new DurabilityPolicy(operation -> "eventually");
+
+        assertThrows(IllegalArgumentException.class, () -> policy.forOperation(DurabilityPolicy.TASKS_CREATE));
+    }
+
+    @Test
+    public void testRelaxedWriteRunsInTransactionWithSetLocal() throws SQLException {
+        DurabilityPolicy policy = new DurabilityPolicy(Map.of(DurabilityPolicy.TASKS_ASSIGN_TAG, "off")::get);
+        long before = writes(DurabilityPolicy.TASKS_ASSIGN_TAG, "off");
+
+        new TaskDAOImpl(connection, null, policy).assignTagToTask(1L, 2L);
+
+        InOrder inOrder = inOrder(connection, statement);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(statement).execute("SET LOCAL synchronous_commit TO off");
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setAutoCommit(true);
+        assertEquals(before + 1, writes(DurabilityPolicy.TASKS_ASSIGN_TAG, "off"));
+    }
+
+    @Test
+    public void testStrictWriteIsLeftUntouched() throws SQLException {
+        new TaskDAOImpl(connection, null, DurabilityPolicy.STRICT).assignTagToTask(1L, 2L);
+
+        verify(connection, never()).createStatement();
+        verify(connection, never()).setAutoCommit(anyBoolean());
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    public void testRelaxedWriteJoinsOuterTransaction() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+        DurabilityPolicy policy = new DurabilityPolicy(operation -> "local");
+
+        new TaskDAOImpl(connection, null, policy).assignTagToTask(1L, 2L);
+
+        verify(statement).execute("SET LOCAL synchronous_commit TO local");
+        verify(connection, never()).setAutoCommit(anyBoolean());
+        verify(connection, never()).commit();
+    }
+
+    private long writes(String operation, String durability) {
+        return MetricsRegistry.global()
+                .counter("db_writes_total", "Write operations by synchronous_commit level",
+                        "operation", operation, "durability", durability)
+                .get();
+    }
+}
@@ -0,0 +1,102 @@
+package dao;
+
+import dao.impl.HiLoIdAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+public class HiLoIdAllocatorTest {
+
+    private static final long INCREMENT = 10;
+    private final AtomicLong sequence = new AtomicLong(1 - INCREMENT);
+    private final AtomicLong nextvalCalls = new AtomicLong();
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        PreparedStatement incrementStatement = mock(PreparedStatement.class);
+        PreparedStatement nextvalStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(contains("increment_by"))).thenReturn(incrementStatement);
+        when(connection.prepareStatement(contains("nextval"))).thenReturn(nextvalStatement);
+        when(incrementStatement.executeQuery()).thenAnswer(invocation -> singleValue(INCREMENT));
+        when(nextvalStatement.executeQuery()).thenAnswer(invocation -> {
+            nextvalCalls.incrementAndGet();
+            return singleValue(sequence.addAndGet(INCREMENT));
+        });
+    }
+
+    @Test
+    public void testNextIdHandsOutBlockBeforeQueryingAgain() {
+        IdAllocator allocator = new HiLoIdAllocator("tasks_id_seq");
+
+        for (long expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, allocator.nextId(connection));
+        }
+        assertEquals(3, nextvalCalls.get());
+    }
+
+    @Test
+    public void testRefillRunsOnCallerConnectionWithoutClosingIt() throws SQLException {
+        IdAllocator allocator = new HiLoIdAllocator("tasks_id_seq");
+
+        allocator.nextId(connection);
+
+        verify(connection, atLeastOnce()).prepareStatement(contains("nextval"));
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void testNextIdIsUniqueAcrossThreads() throws InterruptedException {
+        IdAllocator allocator = new HiLoIdAllocator("tasks_id_seq");
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(allocator.nextId(connection));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, ids.size());
+        assertEquals(800, nextvalCalls.get());
+    }
+
+    @Test
+    public void testNextIdFailsForUnknownSequence() throws SQLException {
+        connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet empty = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(empty);
+
+        IdAllocator allocator = new HiLoIdAllocator("missing_seq");
+
+        assertThrows(RuntimeException.class, () -> allocator.nextId(connection));
+    }
+
+    private ResultSet singleValue(long value) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getLong(1)).thenReturn(value);
+        return resultSet;
+    }
+}
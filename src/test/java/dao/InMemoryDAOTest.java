@@ -0,0 +1,193 @@
+package dao;
+
+import dao.impl.InMemoryStore;
+import dao.impl.InMemoryTagDAO;
+import dao.impl.InMemoryTaskDAO;
+import dao.impl.InMemoryUserDAO;
+import entity.Tag;
+import entity.Task;
+import entity.User;
+import exception.DatabaseOperationException;
+import exception.SQLExceptionWrapper;
+import exception.TaskAssignmentException;
+import exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryDAOTest {
+    private InMemoryStore store;
+    private TaskDAO taskDAO;
+    private UserDAO userDAO;
+    private TagDAO tagDAO;
+
+    @BeforeEach
+    public void setUp() {
+        store = new InMemoryStore();
+        taskDAO = new InMemoryTaskDAO(store);
+        userDAO = new InMemoryUserDAO(store);
+        tagDAO = new InMemoryTagDAO(store);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        userDAO.create(user);
+        return user;
+    }
+
+    private Tag tag(String name) {
+        Tag tag = new Tag();
+        tag.setName(name);
+        tagDAO.create(tag);
+        return tag;
+    }
+
+    private Task task(String title, Long userId) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(title + " description");
+        task.setAssignedUserId(userId);
+        taskDAO.create(task);
+        return task;
+    }
+
+    @Test
+    public void testCreateAndFindById() {
+        User user = user("Alice");
+        Task task = task("Write report", user.getId());
+
+        Task found = taskDAO.findById(task.getId());
+
+        assertEquals("Write report", found.getTitle());
+        assertEquals(user.getId(), found.getAssignedUserId());
+        assertNotSame(found, taskDAO.findById(task.getId()));
+        assertNull(taskDAO.findById(task.getId() + 1));
+        assertEquals(List.of(task.getId()), userDAO.findById(user.getId()).getTasks().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void testFindAllLoadsRelations() {
+        User alice = user("Alice");
+        User bob = user("Bob");
+        Tag urgent = tag("urgent");
+        Tag home = tag("home");
+        Task first = task("first", alice.getId());
+        Task second = task("second", bob.getId());
+        taskDAO.assignTagToTask(first.getId(), urgent.getId());
+        taskDAO.assignTagToTask(first.getId(), home.getId());
+        tagDAO.assignTaskToTag(urgent.getId(), second.getId());
+
+        List<Task> tasks = taskDAO.findAll();
+        List<User> users = userDAO.findAll();
+        List<Tag> tags = tagDAO.findAll();
+
+        assertEquals(List.of(first.getId(), second.getId()), tasks.stream().map(Task::getId).toList());
+        assertEquals(List.of("urgent", "home"), tasks.get(0).getTags().stream().map(Tag::getName).toList());
+        assertEquals(List.of("urgent"), tasks.get(1).getTags().stream().map(Tag::getName).toList());
+        assertEquals(List.of("first"), users.get(0).getTasks().stream().map(Task::getTitle).toList());
+        assertEquals(List.of("first", "second"), tags.get(0).getTasks().stream().map(Task::getTitle).toList());
+        assertEquals(1, tags.get(1).getTasks().size());
+    }
+
+    @Test
+    public void testUpdateTaskMovesAssignment() {
+        User alice = user("Alice");
+        User bob = user("Bob");
+        Task task = task("title", alice.getId());
+        Task change = new Task();
+        change.setId(task.getId());
+        change.setAssignedUserId(bob.getId());
+
+        taskDAO.update(change);
+
+        Task updated = taskDAO.findById(task.getId());
+        assertEquals("title", updated.getTitle());
+        assertEquals(bob.getId(), updated.getAssignedUserId());
+        assertTrue(userDAO.getTasksByUserId(alice.getId()).isEmpty());
+        assertEquals(1, userDAO.getTasksByUserId(bob.getId()).size());
+    }
+
+    @Test
+    public void testForeignKeysAreEnforced() {
+        User user = user("Alice");
+        Tag tag = tag("urgent");
+        Task task = task("title", user.getId());
+        taskDAO.assignTagToTask(task.getId(), tag.getId());
+
+        assertThrows(SQLExceptionWrapper.class, () -> task("orphan", 999L));
+        assertThrows(TaskAssignmentException.class, () -> taskDAO.assignTagToTask(task.getId(), 999L));
+        assertThrows(TaskAssignmentException.class, () -> userDAO.assignTaskToUser(999L, task.getId()));
+        assertThrows(DatabaseOperationException.class, () -> userDAO.delete(user.getId()));
+        assertThrows(DatabaseOperationException.class, () -> tagDAO.delete(tag.getId()));
+        assertThrows(DatabaseOperationException.class, () -> taskDAO.delete(task.getId()));
+        assertThrows(UserNotFoundException.class, () -> userDAO.delete(999L));
+        assertEquals(1, taskDAO.findAll().size());
+    }
+
+    @Test
+    public void testCreateAllIsAllOrNothing() {
+        User user = user("Alice");
+        Task valid = new Task(null, "valid", null, user.getId(), new ArrayList<>());
+        Task orphan = new Task(null, "orphan", null, 999L, new ArrayList<>());
+
+        assertThrows(SQLExceptionWrapper.class, () -> taskDAO.createAll(List.of(valid, orphan)));
+        assertTrue(taskDAO.findAll().isEmpty());
+
+        Task preallocated = new Task(500L, "preallocated", null, user.getId(), new ArrayList<>());
+        taskDAO.createAll(List.of(preallocated));
+        Task next = task("next", user.getId());
+
+        assertEquals(501L, next.getId());
+        assertThrows(DatabaseOperationException.class,
+                () -> taskDAO.createAll(List.of(new Task(500L, "duplicate", null, null, new ArrayList<>()))));
+    }
+
+    @Test
+    public void testConcurrentWritesKeepIndexesConsistent() throws Exception {
+        User user = user("Alice");
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tags.add(tag("tag" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> created = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                int n = i;
+                created.add(executor.submit(() -> {
+                    Task task = task("task" + n, user.getId());
+                    taskDAO.assignTagToTask(task.getId(), tags.get(n % tags.size()).getId());
+                    taskDAO.findAll();
+                    return task.getId();
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<Long> future : created) {
+                ids.add(future.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(2000, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2000, userDAO.getTasksByUserId(user.getId()).size());
+        int tagged = 0;
+        for (Tag tag : tagDAO.findAll()) {
+            assertEquals(250, tag.getTasks().size());
+            tagged += tag.getTasks().size();
+        }
+        assertEquals(2000, tagged);
+        assertTrue(taskDAO.findAll().stream().allMatch(task -> task.getTags().size() == 1));
+    }
+}
@@ -0,0 +1,31 @@
+package dao;
+
+import dao.impl.SequenceIdAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class SequenceIdAllocatorTest {
+
+    @Test
+    public void testNextIdRunsOnTheCallersConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(7L);
+
+        assertEquals(7L, new SequenceIdAllocator("tasks_id_seq").nextId(connection));
+        verify(statement).setString(1, "tasks_id_seq");
+        verify(connection, never()).close();
+    }
+}
@@ -4,10 +4,13 @@ import dao.impl.TagDAOImpl;
 import dao.impl.TaskDAOImpl;
 import dao.impl.UserDAOImpl;
 import entity.Tag;
+import entity.Task;
+import entity.User;
 import exception.ConfigurationException;
 import exception.DatabaseOperationException;
 import exception.TaskAssignmentException;
 import exception.UserNotFoundException;
+import jdbc.StatementCounter;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
 
@@ -250,6 +253,31 @@ public class TagDAOImplTest {
         assertTrue(tags.isEmpty(), "Tag list should be empty");
     }
 
+    @Test
+    public void testFindAllLoadsTasksInTwoStatements() throws Exception {
+        UserDAO userDAO = new UserDAOImpl(connection);
+        User user = new User();
+        user.setName("User");
+        userDAO.create(user);
+        for (int i = 0; i < 50; i++) {
+            Tag tag = new Tag();
+            tag.setName("Tag " + i);
+            tagDAO.create(tag);
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setAssignedUserId(user.getId());
+            taskDAO.create(task);
+            tagDAO.assignTaskToTag(tag.getId(), task.getId());
+        }
+        StatementCounter counter = new StatementCounter();
+        TagDAO countedDAO = new TagDAOImpl(counter.wrap(connection));
+
+        List<Tag> tags = counter.expectAtMost(2, "findAll with 50 tags", countedDAO::findAll);
+
+        assertEquals(50, tags.size());
+        assertTrue(tags.stream().allMatch(tag -> tag.getTasks().size() == 1), "Every tag should carry its task");
+    }
+
     @Test
     public void testAssignTaskToTagWhenTaskAlreadyAssigned() throws SQLException {
         Connection connection = mock(Connection.class);
@@ -1,13 +1,16 @@
 package dao;
 
+import dao.impl.TagDAOImpl;
 import dao.impl.TaskDAOImpl;
 import dao.impl.UserDAOImpl;
+import entity.Tag;
 import entity.Task;
 import entity.User;
 import exception.ConfigurationException;
 import exception.DatabaseOperationException;
 import exception.TaskAssignmentException;
 import factory.impl.TaskFactoryImpl;
+import jdbc.StatementCounter;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentMatchers;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -293,6 +296,30 @@ public class TaskDAOImplTest {
         assertTrue(tasks.isEmpty(), "Task list should be empty");
     }
 
+    @Test
+    public void testFindAllLoadsTagsInTwoStatements() throws Exception {
+        Tag tag = new Tag();
+        tag.setName("Tag");
+        new TagDAOImpl(connection).create(tag);
+        User user = new User();
+        user.setName("User");
+        userDAO.create(user);
+        for (int i = 0; i < 50; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setAssignedUserId(user.getId());
+            taskDAO.create(task);
+            taskDAO.assignTagToTask(task.getId(), tag.getId());
+        }
+        StatementCounter counter = new StatementCounter();
+        TaskDAO countedDAO = new TaskDAOImpl(counter.wrap(connection));
+
+        List<Task> tasks = counter.expectAtMost(2, "findAll with 50 tagged tasks", countedDAO::findAll);
+
+        assertEquals(50, tasks.size());
+        assertTrue(tasks.stream().allMatch(task -> task.getTags().size() == 1), "Every task should carry its tag");
+    }
+
     @Test
     public void testFindById() throws SQLException {
         Connection connection = mock(Connection.class);
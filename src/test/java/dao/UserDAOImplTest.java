@@ -2,11 +2,13 @@ package dao;
 
 import dao.impl.TaskDAOImpl;
 import dao.impl.UserDAOImpl;
+import entity.Task;
 import entity.User;
 import exception.ConfigurationException;
 import exception.DatabaseOperationException;
 import exception.TaskAssignmentException;
 import exception.UserNotFoundException;
+import jdbc.StatementCounter;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -251,6 +253,26 @@ public class UserDAOImplTest {
         assertTrue(users.isEmpty(), "User list should be empty");
     }
 
+    @Test
+    public void testFindAllLoadsTasksInTwoStatements() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            userDAO.create(user);
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setAssignedUserId(user.getId());
+            taskDAO.create(task);
+        }
+        StatementCounter counter = new StatementCounter();
+        UserDAO countedDAO = new UserDAOImpl(counter.wrap(connection));
+
+        List<User> users = counter.expectAtMost(2, "findAll with 50 users", countedDAO::findAll);
+
+        assertEquals(50, users.size());
+        assertTrue(users.stream().allMatch(user -> user.getTasks().size() == 1), "Every user should carry its task");
+    }
+
     @Test
     public void testAssignTaskToUserWhenTaskAlreadyAssigned() throws SQLException {
         Connection connection = mock(Connection.class);
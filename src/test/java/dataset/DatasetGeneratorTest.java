@@ -0,0 +1,123 @@
+package dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+
+    private static DatasetSpec smallSpec() {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setUsers(50);
+        spec.setTasks(500);
+        spec.setTags(20);
+        spec.setMaxTagsPerTask(4);
+        spec.setTitleLength(16);
+        spec.setDescriptionLength(64);
+        return spec;
+    }
+
+    private static List<String> rows(DatasetGenerator.RowWriter writer) throws IOException {
+        StringWriter out = new StringWriter();
+        writer.write(out);
+        return Arrays.asList(out.toString().split("\n"));
+    }
+
+    @Test
+    public void testSameSpecProducesSameRows() throws IOException {
+        DatasetGenerator first = new DatasetGenerator(smallSpec());
+        DatasetGenerator second = new DatasetGenerator(smallSpec());
+
+        assertEquals(rows(first::writeTasks), rows(second::writeTasks));
+        assertEquals(rows(first::writeTaskTags), rows(second::writeTaskTags));
+
+        DatasetSpec reseeded = smallSpec();
+        reseeded.setSeed(7);
+        assertNotEquals(rows(first::writeTasks), rows(new DatasetGenerator(reseeded)::writeTasks));
+    }
+
+    @Test
+    public void testRowsHaveConfiguredShape() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(smallSpec());
+
+        List<String> tasks = rows(generator::writeTasks);
+        assertEquals(500, tasks.size());
+        String[] columns = tasks.get(0).split("\t");
+        assertEquals("1", columns[0]);
+        assertEquals(16, columns[1].length());
+        assertEquals(64, columns[2].length());
+        assertEquals(50, rows(generator::writeUsers).size());
+        assertTrue(rows(generator::writeTags).get(0).startsWith("1\ttag1 "));
+    }
+
+    @Test
+    public void testUserTasksMirrorAssignments() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(smallSpec());
+
+        Set<String> assigned = new HashSet<>();
+        for (String task : rows(generator::writeTasks)) {
+            String[] columns = task.split("\t");
+            if (!columns[3].equals("\\N")) {
+                assigned.add(columns[3] + "\t" + columns[0]);
+            }
+        }
+
+        assertEquals(assigned, new HashSet<>(rows(generator::writeUserTasks)));
+        assertTrue(assigned.size() > 400 && assigned.size() < 500);
+    }
+
+    @Test
+    public void testTaskTagsAreDistinctPerTask() throws IOException {
+        List<String> taskTags = rows(new DatasetGenerator(smallSpec())::writeTaskTags);
+
+        assertEquals(taskTags.size(), new HashSet<>(taskTags).size());
+        assertTrue(taskTags.size() > 500 && taskTags.size() < 1500);
+    }
+
+    @Test
+    public void testZipfFavoursLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(1_000_000, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] counts = new long[4];
+        for (int i = 0; i < 200_000; i++) {
+            long rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 1_000_000);
+            if (rank <= 3) {
+                counts[(int) rank]++;
+            }
+        }
+
+        assertEquals(2.0, counts[1] / (double) counts[2], 0.15);
+        assertEquals(3.0, counts[1] / (double) counts[3], 0.25);
+    }
+
+    @Test
+    public void testZeroSkewIsUniform() {
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+        SplittableRandom random = new SplittableRandom(1);
+        long[] counts = new long[5];
+        for (int i = 0; i < 40_000; i++) {
+            counts[(int) sampler.sample(random)]++;
+        }
+
+        for (int rank = 1; rank <= 4; rank++) {
+            assertEquals(10_000, counts[rank], 500);
+        }
+    }
+
+    @Test
+    public void testRejectsMoreTagsPerTaskThanTags() {
+        DatasetSpec spec = smallSpec();
+        spec.setMaxTagsPerTask(21);
+
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator(spec));
+    }
+}
@@ -75,4 +75,11 @@ public class CustomExceptionsTest {
         assertEquals("Task retrieval error", exception.getMessage());
         assertEquals(cause, exception.getCause());
     }
+
+    @Test
+    public void testBatchOperationExceptionStatus() {
+        BatchOperationException exception = new BatchOperationException(404, "Batch error");
+        assertEquals("Batch error", exception.getMessage());
+        assertEquals(404, exception.getStatus());
+    }
 }
@@ -0,0 +1,132 @@
+package faults;
+
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class FaultInjectorTest {
+
+    private DataSource dataSource;
+    private PreparedStatement statement;
+    private FaultInjector injector;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        injector = new FaultInjector(true, 50, new MetricsRegistry());
+    }
+
+    private static FaultRule rule(String shape, LatencyDistribution latency, double errorRate) {
+        FaultRule rule = new FaultRule();
+        rule.setShape(shape);
+        rule.setLatency(latency);
+        rule.setErrorRate(errorRate);
+        return rule;
+    }
+
+    private static FaultPlan statements(FaultRule... rules) {
+        FaultPlan plan = new FaultPlan();
+        plan.setStatements(List.of(rules));
+        return plan;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = injector.wrapStatements(dataSource).getConnection();
+             PreparedStatement prepared = connection.prepareStatement(sql)) {
+            prepared.executeQuery();
+        }
+    }
+
+    @Test
+    public void testDelaysOnlyMatchingStatements() throws SQLException {
+        injector.setPlan(statements(rule("from tasks", LatencyDistribution.fixed(30), 0)));
+
+        long start = System.nanoTime();
+        execute("SELECT id FROM tasks WHERE id = ?");
+        long delayed = System.nanoTime() - start;
+        start = System.nanoTime();
+        execute("SELECT id FROM users WHERE id = ?");
+        long undelayed = System.nanoTime() - start;
+
+        assertTrue(delayed >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(undelayed < TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(1L, ((Map<?, ?>) injector.status().get("injected")).get("statementDelays"));
+    }
+
+    @Test
+    public void testInjectsErrorWithSqlState() throws SQLException {
+        FaultRule rule = rule("", null, 1.0);
+        rule.setSqlState("40001");
+        injector.setPlan(statements(rule));
+
+        SQLException e = assertThrows(SQLException.class, () -> execute("UPDATE tasks SET title = ? WHERE id = ?"));
+
+        assertEquals("40001", e.getSQLState());
+        verify(statement, never()).executeQuery();
+    }
+
+    @Test
+    public void testDelayPastQueryTimeoutCancelsStatement() throws SQLException {
+        when(statement.getQueryTimeout()).thenReturn(1);
+        injector.setPlan(statements(rule("", LatencyDistribution.fixed(5000), 0)));
+
+        long start = System.nanoTime();
+        SQLTimeoutException e = assertThrows(SQLTimeoutException.class, () -> execute("SELECT 1"));
+
+        assertEquals(FaultInjector.QUERY_CANCELED, e.getSQLState());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    public void testAcquireStallPastPoolTimeoutFails() {
+        FaultPlan plan = new FaultPlan();
+        plan.setAcquire(rule(null, LatencyDistribution.fixed(1000), 0));
+        injector.setPlan(plan);
+
+        assertThrows(SQLTransientConnectionException.class, () -> injector.wrapAcquire(dataSource).getConnection());
+    }
+
+    @Test
+    public void testClearStopsInjection() throws SQLException {
+        injector.setPlan(statements(rule("", null, 1.0)));
+        injector.clear();
+
+        execute("SELECT 1");
+
+        verify(statement).executeQuery();
+    }
+
+    @Test
+    public void testNotInstalledLeavesDataSourceAlone() {
+        FaultInjector disabled = new FaultInjector(false, 50, new MetricsRegistry());
+
+        assertSame(dataSource, disabled.wrapStatements(dataSource));
+        assertSame(dataSource, disabled.wrapAcquire(dataSource));
+        assertThrows(IllegalStateException.class, () -> disabled.setPlan(new FaultPlan()));
+    }
+
+    @Test
+    public void testRejectsInvalidProbabilities() {
+        FaultRule rule = rule("", null, 1.5);
+
+        assertThrows(IllegalArgumentException.class, () -> injector.setPlan(statements(rule)));
+    }
+}
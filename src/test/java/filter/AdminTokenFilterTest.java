@@ -0,0 +1,54 @@
+package filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AdminTokenFilterTest {
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+    private final AdminTokenFilter filter = new AdminTokenFilter("s3cret");
+
+    @BeforeEach
+    public void setUp() {
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        chain = mock(FilterChain.class);
+    }
+
+    @Test
+    public void testMatchingTokenPassesThrough() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer s3cret");
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(response, never()).sendError(anyInt(), anyString());
+    }
+
+    @Test
+    public void testMissingOrWrongTokenIsRejected() throws Exception {
+        for (String header : new String[]{null, "", "s3cret", "Bearer s3cre", "Bearer s3cret2", "Basic s3cret"}) {
+            when(request.getHeader("Authorization")).thenReturn(header);
+
+            filter.doFilter(request, response, chain);
+        }
+
+        verify(chain, never()).doFilter(any(), any());
+        verify(response, times(6)).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED), anyString());
+    }
+
+    @Test
+    public void testBlankTokenIsNotAccepted() {
+        assertThrows(IllegalArgumentException.class, () -> new AdminTokenFilter(" "));
+    }
+}
@@ -0,0 +1,176 @@
+package filter;
+
+import accesslog.AccessLog;
+import accesslog.AccessLogEntry;
+import concurrent.RingBuffer;
+import config.TimedObjectMapper;
+import context.RequestContext;
+import context.RequestTimings;
+import entity.Task;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mapper.impl.TaskMapperImpl;
+import metrics.HistogramUnit;
+import metrics.HttpRoute;
+import metrics.Counter;
+import metrics.LatencyHistogram;
+import metrics.MetricsRegistry;
+import metrics.ThreadAllocation;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RequestContextFilterTest {
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final RequestContextFilter filter = new RequestContextFilter();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getServletPath()).thenReturn("/tasks");
+        when(request.getPathInfo()).thenReturn("/1");
+        when(response.getStatus()).thenReturn(200);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+    }
+
+    @Test
+    public void testServerTimingIsSetBeforeBodyIsWritten() throws Exception {
+        filter.configure(10000, true, false);
+        FilterChain chain = (req, resp) -> {
+            Task task = new Task();
+            task.setId(1L);
+            task.setTitle("Write report");
+            RequestTimings.add(RequestTimings.Phase.SQL, 2_000_000L);
+            new TimedObjectMapper().writeValue(resp.getOutputStream(), new TaskMapperImpl().toDTO(task));
+        };
+
+        filter.doFilter(request, response, chain);
+
+        ArgumentCaptor<String> serverTiming = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(response);
+        inOrder.verify(response).setHeader(eq(RequestContextFilter.HEADER_SERVER_TIMING), serverTiming.capture());
+        inOrder.verify(response).getOutputStream();
+        assertTrue(serverTiming.getValue().startsWith("db-acquire;dur=0.000, sql;dur=2.000;desc=\"1 statements\", mapping;dur="));
+        assertTrue(serverTiming.getValue().contains("serialize;dur="));
+        assertTrue(serverTiming.getValue().contains("total;dur="));
+        assertTrue(body.toString().contains("\"title\":\"Write report\""));
+        verify(response).setContentLength(body.size());
+        assertNull(RequestContext.current());
+    }
+
+    @Test
+    public void testServerTimingDoesNotBufferNonApiRoutes() throws Exception {
+        filter.configure(10000, true, false);
+        when(request.getServletPath()).thenReturn("/admin/jfr");
+        when(request.getPathInfo()).thenReturn("/recording");
+
+        filter.doFilter(request, response, (req, resp) -> resp.getOutputStream().write('x'));
+
+        assertEquals("x", body.toString());
+        verify(response, never()).setHeader(eq(RequestContextFilter.HEADER_SERVER_TIMING), anyString());
+        verify(response, never()).setContentLength(anyInt());
+    }
+
+    @Test
+    public void testRequestIdIsEchoedOrGenerated() throws Exception {
+        filter.configure(10000, false, false);
+        when(request.getHeader(RequestContextFilter.HEADER_REQUEST_ID)).thenReturn("abc-123");
+        filter.doFilter(request, response, (req, resp) -> assertEquals("abc-123", RequestContext.current().getRequestId()));
+        verify(response).setHeader(RequestContextFilter.HEADER_REQUEST_ID, "abc-123");
+
+        when(request.getHeader(RequestContextFilter.HEADER_REQUEST_ID)).thenReturn("bad id\r\n");
+        String generated = RequestContextFilter.requestIdOf(request);
+        assertEquals(32, generated.length());
+        assertNotEquals(generated, RequestContextFilter.requestIdOf(request));
+        verify(response, never()).setHeader(eq(RequestContextFilter.HEADER_SERVER_TIMING), anyString());
+    }
+
+    @Test
+    public void testErrorsStillCarryServerTiming() throws Exception {
+        filter.configure(10000, true, false);
+
+        filter.doFilter(request, response, (req, resp) -> ((HttpServletResponse) resp).sendError(404, "Task not found"));
+
+        InOrder inOrder = inOrder(response);
+        inOrder.verify(response).setHeader(eq(RequestContextFilter.HEADER_SERVER_TIMING), anyString());
+        inOrder.verify(response).sendError(404, "Task not found");
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void testDeadlineComesFromHeaderWhenShorter() {
+        filter.configure(10000, false, false);
+        when(request.getHeader(RequestContextFilter.HEADER_REQUEST_TIMEOUT)).thenReturn("250");
+        assertEquals(250, filter.timeoutFor(request));
+        when(request.getHeader(RequestContextFilter.HEADER_REQUEST_TIMEOUT)).thenReturn("60000");
+        assertEquals(10000, filter.timeoutFor(request));
+    }
+
+    @Test
+    public void testAllocatedBytesAreRecordedPerRoute() throws Exception {
+        Assumptions.assumeTrue(ThreadAllocation.isSupported());
+        filter.configure(10000, false, true);
+        LatencyHistogram allocations = MetricsRegistry.global().histogram(HttpRoute.ALLOCATION_METRIC, "",
+                HistogramUnit.BYTES, "method", "GET", "route", "/tasks/{id}");
+        long countBefore = allocations.getCount();
+        long sumBefore = allocations.getSum();
+
+        filter.doFilter(request, response, (req, resp) -> resp.getOutputStream().write(new byte[1 << 20]));
+
+        assertEquals(countBefore + 1, allocations.getCount());
+        assertTrue(allocations.getSum() - sumBefore >= 1 << 20);
+    }
+
+    @Test
+    public void testAccessLogCapturesStatusBytesAndDbTime() throws Exception {
+        filter.configure(10000, false, false);
+        RingBuffer<AccessLogEntry> buffer = new RingBuffer<>(4);
+        filter.setAccessLog(new AccessLog(true, 1, buffer, new Counter()));
+
+        filter.doFilter(request, response, (req, resp) -> {
+            RequestTimings.add(RequestTimings.Phase.SQL, 3_000_000L);
+            RequestTimings.addRows(5);
+            resp.getOutputStream().write(new byte[]{'{', '}'});
+        });
+
+        AccessLogEntry entry = buffer.poll();
+        assertEquals("/tasks/{id}", entry.getRoute());
+        assertEquals(200, entry.getStatus());
+        assertEquals(2, entry.getBytes());
+        assertEquals(3_000_000L, entry.getDbNanos());
+        assertEquals(1, entry.getStatements());
+        assertEquals(5, entry.getRows());
+        assertNull(buffer.poll());
+    }
+}
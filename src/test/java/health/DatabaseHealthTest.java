@@ -0,0 +1,100 @@
+package health;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DatabaseHealthTest {
+
+    private HikariPoolMXBean pool;
+    private DataSource dataSource;
+    private Statement statement;
+    private final AtomicLong now = new AtomicLong(1);
+    private final AtomicLong acquireNanos = new AtomicLong();
+    private DatabaseHealth health;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = mock(HikariPoolMXBean.class);
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(pool.getActiveConnections()).thenReturn(2);
+        health = new DatabaseHealth(pool, 10, dataSource, acquireNanos::get, 1000, 2, 500, 5, now::get, Runnable::run);
+    }
+
+    @Test
+    public void testValidationQueryIsCachedForTheProbeInterval() throws SQLException {
+        assertTrue(health.check().isUp());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertTrue(health.check().isUp());
+        verify(statement, times(1)).execute("SELECT 1");
+        verify(statement).setQueryTimeout(2);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        health.check();
+        verify(statement, times(2)).execute("SELECT 1");
+    }
+
+    @Test
+    public void testFailedValidationQueryMakesNodeNotReady() throws SQLException {
+        when(statement.execute("SELECT 1")).thenThrow(new SQLException("Connection refused"));
+
+        HealthReport report = health.check();
+
+        assertFalse(report.isUp());
+        assertEquals("DOWN", report.getStatus());
+        assertTrue(report.getReasons().get(0).contains("Connection refused"));
+    }
+
+    @Test
+    public void testPoolPressureCrossesThresholds() throws SQLException {
+        acquireNanos.set(TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(1, health.check().getReasons().size());
+
+        acquireNanos.set(0);
+        when(pool.getActiveConnections()).thenReturn(10);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(6);
+        HealthReport report = health.check();
+
+        assertFalse(report.isUp());
+        assertTrue(report.getReasons().get(0).startsWith("6 threads waiting"));
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    public void testSlowProbeDoesNotBlockTheCheck() throws SQLException {
+        List<Runnable> probes = new ArrayList<>();
+        health = new DatabaseHealth(pool, 10, dataSource, acquireNanos::get, 1000, 2, 500, 5, now::get, probes::add);
+
+        assertTrue(health.check().isUp());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2001));
+        HealthReport stuck = health.check();
+
+        assertFalse(stuck.isUp());
+        assertTrue(stuck.getReasons().get(0).startsWith("validation probe pending"));
+        assertEquals(1, probes.size());
+        verify(dataSource, never()).getConnection();
+
+        probes.get(0).run();
+        HealthReport recovered = health.check();
+
+        assertTrue(recovered.isUp());
+        assertNotNull(recovered.getDetails().get("database"));
+        assertEquals(1, probes.size());
+    }
+}
@@ -0,0 +1,59 @@
+package hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotKeyTrackerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final HotKeyTracker tracker = new HotKeyTracker(8, Duration.ofSeconds(60), 5, now::get);
+
+    @Test
+    public void testHeavyHittersSurviveManyDistinctKeys() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            tracker.record(i % 10 < 3 ? 7 : i % 10 < 5 ? 11 : 1000 + random.nextInt(5000));
+        }
+
+        List<HotKey> top = tracker.window(Duration.ofMinutes(1), 2).getTop();
+
+        assertEquals(List.of(7L, 11L), top.stream().map(HotKey::getId).toList());
+        HotKey hottest = top.get(0);
+        assertTrue(hottest.getCount() >= 3000);
+        assertTrue(hottest.getCount() - hottest.getError() <= 3000);
+    }
+
+    @Test
+    public void testWindowMergesBucketsAndForgetsOldOnes() {
+        for (int i = 0; i < 5; i++) {
+            tracker.record(1);
+        }
+        now.set(Duration.ofMinutes(2).toMillis());
+        for (int i = 0; i < 3; i++) {
+            tracker.record(2);
+        }
+        tracker.record(1);
+
+        HotKeyTracker.Window lastMinute = tracker.window(Duration.ofMinutes(1), 10);
+        assertEquals(4, lastMinute.getTotal());
+        assertEquals(2L, lastMinute.getTop().get(0).getId());
+
+        HotKeyTracker.Window fiveMinutes = tracker.window(Duration.ofMinutes(5), 10);
+        assertEquals(300, fiveMinutes.getSeconds());
+        assertEquals(9, fiveMinutes.getTotal());
+        assertEquals(1L, fiveMinutes.getTop().get(0).getId());
+        assertEquals(6, fiveMinutes.getTop().get(0).getCount());
+        assertEquals(0, fiveMinutes.getTop().get(0).getError());
+
+        now.set(Duration.ofMinutes(6).toMillis());
+        assertEquals(4, tracker.window(Duration.ofMinutes(5), 10).getTotal());
+        now.set(Duration.ofMinutes(9).toMillis());
+        assertEquals(0, tracker.window(Duration.ofMinutes(5), 10).getTotal());
+    }
+}
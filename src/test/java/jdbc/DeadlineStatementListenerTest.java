@@ -0,0 +1,96 @@
+package jdbc;
+
+import context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DeadlineStatementListenerTest {
+
+    private PreparedStatement statement;
+    private Connection connection;
+    private final List<StatementExecution> executions = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        Connection delegate = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(delegate.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        StatementListenerChain chain = new StatementListenerChain();
+        chain.add(new DeadlineStatementListener());
+        chain.add(new StatementListener() {
+            @Override
+            public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+                executions.add(execution);
+            }
+        });
+        connection = JdbcProxies.wrap(delegate, chain);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    public void testProxyReportsSqlAndParameters() throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT * FROM tasks WHERE id = ?")) {
+            stmt.setLong(1, 42L);
+            stmt.executeQuery();
+            assertSame(connection, stmt.getConnection());
+        }
+
+        assertEquals(1, executions.size());
+        assertEquals("SELECT * FROM tasks WHERE id = ?", executions.get(0).getSql());
+        assertEquals(Map.of(1, 42L), executions.get(0).getParameters());
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    public void testRemainingTimeBecomesQueryTimeout() throws SQLException {
+        RequestContext.begin().setTimeout(2500);
+
+        connection.prepareStatement("SELECT 1").executeQuery();
+
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    public void testExpiredRequestDoesNotExecute() throws SQLException {
+        RequestContext.begin().setTimeout(0);
+        PreparedStatement stmt = connection.prepareStatement("SELECT 1");
+
+        assertThrows(SQLTimeoutException.class, stmt::executeQuery);
+        verify(statement, never()).executeQuery();
+        assertEquals("deadline exceeded", RequestContext.current().getCancelReason());
+    }
+
+    @Test
+    public void testCancelStopsRunningStatement() throws SQLException {
+        RequestContext context = RequestContext.begin();
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            context.cancel("client disconnected");
+            return mock(ResultSet.class);
+        });
+
+        connection.prepareStatement("SELECT 1").executeQuery();
+
+        verify(statement).cancel();
+        assertThrows(SQLTimeoutException.class, () -> connection.prepareStatement("SELECT 2").executeQuery());
+    }
+}
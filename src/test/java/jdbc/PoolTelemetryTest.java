@@ -0,0 +1,94 @@
+package jdbc;
+
+import context.RequestContext;
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PoolTelemetryTest {
+
+    private static final String ROUTE = "GET /tasks/{id}";
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private DataSource pool;
+    private Connection physical;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    public void testWaitAndHoldAreAttributedToRoute() throws SQLException {
+        try (PoolTelemetry telemetry = new PoolTelemetry(registry, 0, false)) {
+            DataSource dataSource = telemetry.wrap(pool);
+            RequestContext.begin().setRoute(ROUTE);
+
+            dataSource.getConnection().close();
+            dataSource.getConnection().close();
+
+            assertEquals(2, registry.histogram("db_pool_acquire_seconds", "", "route", ROUTE).getCount());
+            assertEquals(2, registry.histogram("db_pool_hold_seconds", "", "route", ROUTE).getCount());
+            assertEquals(0, telemetry.openLeases());
+            verify(physical, times(2)).close();
+        }
+    }
+
+    @Test
+    public void testLeakIsReportedOncePerLease() throws Exception {
+        try (PoolTelemetry telemetry = new PoolTelemetry(registry, 1, true)) {
+            Connection connection = telemetry.wrap(pool).getConnection();
+            Thread.sleep(5);
+
+            telemetry.checkLeaks();
+            telemetry.checkLeaks();
+
+            assertEquals(1, registry.counter("db_pool_leaks_total", "", "route", PoolTelemetry.BACKGROUND).get());
+            connection.close();
+            assertEquals(0, telemetry.openLeases());
+        }
+    }
+
+    @Test
+    public void testRequestScopedHandleLeasesOneConnectionPerRequest() throws SQLException {
+        try (PoolTelemetry telemetry = new PoolTelemetry(registry, 0, false)) {
+            Connection handle = JdbcProxies.requestScoped(telemetry.wrap(pool));
+            RequestContext.begin();
+
+            handle.getAutoCommit();
+            handle.commit();
+            handle.close();
+            assertEquals(1, telemetry.openLeases());
+            RequestContext.end();
+
+            verify(pool, times(1)).getConnection();
+            verify(physical).commit();
+            verify(physical).close();
+            assertEquals(0, telemetry.openLeases());
+        }
+    }
+
+    @Test
+    public void testRequestScopedHandleFailsOutsideRequest() throws SQLException {
+        Connection handle = JdbcProxies.requestScoped(pool);
+
+        SQLException e = assertThrows(SQLException.class, () -> handle.prepareStatement("SELECT 1"));
+
+        assertEquals("08003", e.getSQLState());
+        verify(pool, never()).getConnection();
+    }
+}
@@ -0,0 +1,83 @@
+package jdbc;
+
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class QueryStatisticsTest {
+
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private QueryStatistics statistics;
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        Connection delegate = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(delegate.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(statement.executeUpdate()).thenReturn(2);
+        statistics = new QueryStatistics(new MetricsRegistry());
+        connection = JdbcProxies.wrap(delegate, statistics);
+    }
+
+    @Test
+    public void testShapeFoldsLiteralsAndWhitespace() {
+        assertEquals("SELECT * FROM tasks WHERE id = ? AND title = ?",
+                SqlShapes.normalize("SELECT *  FROM tasks\n WHERE id = 42 AND title = 'it''s'"));
+        assertEquals("SELECT * FROM task_tag WHERE tag_id IN (?, ...)",
+                SqlShapes.normalize("SELECT * FROM task_tag WHERE tag_id IN (?, ?,?)"));
+        assertEquals("SELECT t1.id FROM t1", SqlShapes.normalize("SELECT t1.id FROM t1"));
+    }
+
+    @Test
+    public void testAggregatesCountAndRowsPerShape() throws SQLException {
+        for (int i = 0; i < 2; i++) {
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT * FROM tasks WHERE id = " + i);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+            when(resultSet.next()).thenReturn(true, true, true, false);
+        }
+        connection.prepareStatement("DELETE FROM tasks WHERE id = ?").executeUpdate();
+
+        List<QueryStatistics.ShapeSnapshot> snapshot = statistics.snapshot();
+        Map<String, QueryStatistics.ShapeSnapshot> byShape = snapshot.stream()
+                .collect(Collectors.toMap(QueryStatistics.ShapeSnapshot::getShape, s -> s));
+        assertEquals(2, snapshot.size());
+        assertEquals(2, byShape.get("SELECT * FROM tasks WHERE id = ?").getCount());
+        assertEquals(6, byShape.get("SELECT * FROM tasks WHERE id = ?").getRows());
+        assertEquals(2, byShape.get("DELETE FROM tasks WHERE id = ?").getRows());
+    }
+
+    @Test
+    public void testOnlyPlainSelectsAreExplained() {
+        DataSource dataSource = mock(DataSource.class);
+        try (SlowQueryLog slowQueryLog = new SlowQueryLog(0, 1.0, 60000, dataSource)) {
+            assertTrue(SlowQueryLog.isExplainable(" select * from tasks"));
+            assertFalse(SlowQueryLog.isExplainable("SELECT * FROM tasks FOR UPDATE"));
+            assertFalse(SlowQueryLog.isExplainable("DELETE FROM tasks"));
+            StatementExecution execution = new StatementExecution(statement, "SELECT 1", Map.of(), false);
+            assertTrue(slowQueryLog.shouldExplain(execution));
+            assertFalse(slowQueryLog.shouldExplain(execution));
+        }
+    }
+}
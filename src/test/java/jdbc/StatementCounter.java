@@ -0,0 +1,98 @@
+package jdbc;
+
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts statement executions - database round trips - by SQL shape, so tests can
+ * hold code paths to a statement budget:
+ * <pre>{@code
+ * StatementCounter counter = new StatementCounter();
+ * TaskDAO dao = new TaskDAOImpl(counter.wrap(connection));
+ * counter.expectAtMost(2, "GET /tasks", () -> controller.doGet(request, response));
+ * }</pre>
+ * A batch counts once, like it travels to the server.
+ */
+public class StatementCounter implements StatementListener {
+    private final Map<String, LongAdder> byShape = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    public Connection wrap(Connection connection) {
+        return JdbcProxies.wrap(connection, this);
+    }
+
+    @Override
+    public void afterExecute(StatementExecution execution, long elapsedNanos, Throwable failure) {
+        byShape.computeIfAbsent(execution.getShape(), shape -> new LongAdder()).increment();
+        total.increment();
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Executions whose shape contains {@code fragment}, ignoring case.
+     */
+    public long count(String fragment) {
+        String needle = fragment.toLowerCase();
+        long count = 0;
+        for (Map.Entry<String, LongAdder> entry : byShape.entrySet()) {
+            if (entry.getKey().toLowerCase().contains(needle)) {
+                count += entry.getValue().sum();
+            }
+        }
+        return count;
+    }
+
+    public Map<String, Long> byShape() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        byShape.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+        return counts;
+    }
+
+    public void reset() {
+        byShape.clear();
+        total.reset();
+    }
+
+    /**
+     * Resets the counter, runs {@code action} and fails with the executed shapes if it took more than
+     * {@code max} statements.
+     */
+    public void expectAtMost(long max, String description, ThrowingRunnable action) throws Exception {
+        expectAtMost(max, description, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T expectAtMost(long max, String description, ThrowingSupplier<T> action) throws Exception {
+        reset();
+        T result = action.get();
+        assertAtMost(max, description);
+        return result;
+    }
+
+    public void assertAtMost(long max, String description) {
+        long count = count();
+        if (count > max) {
+            throw new AssertionError(description + " executed " + count + " statements, expected at most " + max + ": " + byShape());
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,87 @@
+package jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class StatementCounterTest {
+
+    private StatementCounter counter;
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        Connection delegate = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(delegate.prepareStatement(anyString())).thenReturn(statement);
+        counter = new StatementCounter();
+        connection = counter.wrap(delegate);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    private void executeBatch(int rows) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO tags (name) VALUES (?)")) {
+            for (int i = 0; i < rows; i++) {
+                statement.setString(1, "tag" + i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @Test
+    public void testCountsExecutionsByShape() throws SQLException {
+        for (long id = 1; id <= 3; id++) {
+            execute("SELECT t.id, t.name FROM tags t JOIN task_tag ut ON t.id = ut.tag_id WHERE ut.task_id = " + id);
+        }
+        execute("SELECT id, title FROM tasks");
+
+        assertEquals(4, counter.count());
+        assertEquals(3, counter.count("join task_tag"));
+        assertEquals(3L, counter.byShape().values().iterator().next());
+    }
+
+    @Test
+    public void testBatchCountsAsOneRoundTrip() throws SQLException {
+        executeBatch(100);
+
+        assertEquals(1, counter.count());
+    }
+
+    @Test
+    public void testExpectAtMostResetsAndReturnsResult() throws Exception {
+        execute("SELECT 1");
+
+        String result = counter.expectAtMost(1, "single query", () -> {
+            execute("SELECT id FROM tasks");
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(1, counter.count());
+    }
+
+    @Test
+    public void testExpectAtMostFailsWithShapes() {
+        AssertionError error = assertThrows(AssertionError.class, () -> counter.expectAtMost(2, "GET /tasks", () -> {
+            for (long id = 1; id <= 5; id++) {
+                execute("SELECT * FROM task_tag WHERE task_id = " + id);
+            }
+        }));
+
+        assertTrue(error.getMessage().startsWith("GET /tasks executed 5 statements, expected at most 2"));
+        assertTrue(error.getMessage().contains("SELECT * FROM task_tag WHERE task_id = ?=5"));
+    }
+}
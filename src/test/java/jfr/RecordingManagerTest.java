@@ -0,0 +1,95 @@
+package jfr;
+
+import jdbc.JdbcProxies;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RecordingManagerTest {
+
+    private RecordingManager recordingManager;
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        Connection delegate = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(delegate.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(statement.executeUpdate()).thenReturn(4);
+        connection = JdbcProxies.wrap(delegate, new JfrStatementListener());
+        recordingManager = new RecordingManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        recordingManager.close();
+    }
+
+    @Test
+    public void testRecordingContainsSqlStatementEvents() throws SQLException, IOException {
+        recordingManager.start(Duration.ofSeconds(60), "default");
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT * FROM tasks WHERE id = 7");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rs.getLong(1);
+            }
+        }
+        connection.prepareStatement("DELETE FROM task_tag WHERE task_id = ?").executeUpdate();
+        Path file = recordingManager.stop();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("taskmanager.SqlStatement"))
+                .toList();
+
+        assertEquals(2, events.size());
+        assertEquals("SELECT * FROM tasks WHERE id = ?", events.get(0).getString("shape"));
+        assertEquals(2, events.get(0).getLong("rows"));
+        assertEquals("DELETE FROM task_tag WHERE task_id = ?", events.get(1).getString("shape"));
+        assertEquals(4, events.get(1).getLong("rows"));
+        assertFalse(events.get(1).getBoolean("failed"));
+    }
+
+    @Test
+    public void testProfileRecordingLeavesOutSystemPropertiesAndEnvironment() throws IOException {
+        recordingManager.start(Duration.ofSeconds(60), "profile");
+        Path file = recordingManager.stop();
+
+        List<String> leaked = RecordingFile.readAllEvents(file).stream()
+                .map(event -> event.getEventType().getName())
+                .filter(RecordingManager.SENSITIVE_EVENTS::contains)
+                .distinct()
+                .toList();
+
+        assertTrue(leaked.isEmpty(), "unexpected events " + leaked);
+    }
+
+    @Test
+    public void testOnlyOneRecordingAtATime() {
+        recordingManager.start(Duration.ofSeconds(60), "default");
+
+        assertThrows(IllegalStateException.class, () -> recordingManager.start(Duration.ofSeconds(60), "default"));
+        assertEquals("RUNNING", recordingManager.status().get("state"));
+        assertNull(recordingManager.finishedFile());
+
+        recordingManager.stop();
+        assertNotNull(recordingManager.finishedFile());
+    }
+}
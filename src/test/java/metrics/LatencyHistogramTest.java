@@ -0,0 +1,56 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverValuesWithBoundedError() {
+        for (long value = 0; value < 1_000_000_000L; value = value * 3 + 1) {
+            int index = LatencyHistogram.indexOf(value);
+            long upper = LatencyHistogram.upperBound(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.upperBound(index - 1);
+            assertTrue(lower <= value && value < upper, "value " + value + " outside bucket " + index);
+            assertTrue(upper - lower <= Math.max(1, value / 15), "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    public void testQuantilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500_000_000L, histogram.getSum());
+        assertEquals(500_000_000L, histogram.valueAtQuantile(0.5), 500_000_000L * 0.07);
+        assertEquals(990_000_000L, histogram.valueAtQuantile(0.99), 990_000_000L * 0.07);
+        assertEquals(1_000_000_000L, histogram.valueAtQuantile(1.0));
+        assertEquals(100, histogram.countAtOrBelow(100_000_000L), 7);
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrometheusFormatTest {
+
+    @Test
+    public void testRouteMatchingUsesTemplates() {
+        MetricsRegistry registry = new MetricsRegistry();
+        HttpRoute byId = new HttpRoute("GET", "/tasks", "/{id}", registry);
+        HttpRoute assign = new HttpRoute("POST", "/tasks", "/{id}/tags/{id}", registry);
+        HttpRoute all = new HttpRoute("GET", "/tasks", "", registry);
+
+        assertTrue(byId.matches("GET", "/tasks", "/42"));
+        assertFalse(byId.matches("GET", "/tasks", "/42/"));
+        assertFalse(byId.matches("GET", "/tasks", "/abc"));
+        assertFalse(byId.matches("DELETE", "/tasks", "/42"));
+        assertTrue(assign.matches("POST", "/tasks", "/1/tags/2"));
+        assertFalse(assign.matches("POST", "/tasks", "/1/users/2"));
+        assertTrue(all.matches("GET", "/tasks", null));
+        assertTrue(all.matches("GET", "/tasks", "/"));
+    }
+
+    @Test
+    public void testWritesCountersAndHistograms() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("db_writes_total", "Writes", "operation", "tasks.create").add(3);
+        HttpRoute route = new HttpRoute("GET", "/tasks", "/{id}", registry);
+        route.record(200, 2_000_000L);
+        route.record(200, 40_000_000L);
+        route.record(404, 1_000_000L);
+
+        StringWriter writer = new StringWriter();
+        PrometheusFormat.write(registry, writer);
+        String text = writer.toString();
+
+        assertTrue(text.contains("# TYPE db_writes_total counter\n"));
+        assertTrue(text.contains("db_writes_total{operation=\"tasks.create\"} 3\n"));
+        assertTrue(text.contains("# TYPE http_server_requests_seconds histogram\n"));
+        String labels = "method=\"GET\",route=\"/tasks/{id}\",status=\"200\"";
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"0.0025\"} 1\n"));
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"0.05\"} 2\n"));
+        assertTrue(text.contains("http_server_requests_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("http_server_requests_seconds_count{" + labels + "} 2\n"));
+        assertTrue(text.contains("status=\"404\"} 1\n"));
+    }
+
+    @Test
+    public void testByteHistogramsAreExportedInBytes() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        HttpRoute route = new HttpRoute("GET", "/tasks", "", registry);
+        route.recordAllocation(3_000);
+        route.recordAllocation(2_000_000);
+
+        StringWriter writer = new StringWriter();
+        PrometheusFormat.write(registry, writer);
+        String text = writer.toString();
+
+        String labels = "method=\"GET\",route=\"/tasks\"";
+        assertTrue(text.contains("# TYPE http_server_allocated_bytes histogram\n"));
+        assertTrue(text.contains("http_server_allocated_bytes_bucket{" + labels + ",le=\"4096.0\"} 1\n"));
+        assertTrue(text.contains("http_server_allocated_bytes_bucket{" + labels + ",le=\"4194304.0\"} 2\n"));
+        assertTrue(text.contains("http_server_allocated_bytes_sum{" + labels + "} 2003000.0\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.histogram("http_server_allocated_bytes", "", "method", "GET"));
+    }
+}
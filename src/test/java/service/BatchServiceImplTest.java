@@ -0,0 +1,94 @@
+package service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.BatchOperationDTO;
+import dto.BatchResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.impl.BatchServiceImpl;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class BatchServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Connection connection;
+    private PreparedStatement statement;
+    private BatchService batchService;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getLong(1)).thenReturn(42L);
+            when(resultSet.getInt(1)).thenReturn(0);
+            return resultSet;
+        });
+        batchService = new BatchServiceImpl(dataSource, objectMapper);
+    }
+
+    @Test
+    public void testExecuteResolvesReferencesAndCommits() throws Exception {
+        BatchOperationDTO createTask = new BatchOperationDTO("t1", "POST", "/tasks",
+                objectMapper.readTree("{\"title\":\"Task1\",\"assignedUserId\":1}"));
+        BatchOperationDTO assignTag = new BatchOperationDTO(null, "POST", "/tasks/$t1/tags/3", null);
+
+        BatchResponseDTO response = batchService.execute(List.of(createTask, assignTag));
+
+        assertTrue(response.isCommitted());
+        assertEquals(2, response.getResults().size());
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertEquals(42L, response.getResults().get(0).getId());
+        assertEquals(204, response.getResults().get(1).getStatus());
+        // the resolved task id is bound by both the duplicate check and the insert
+        verify(statement, times(2)).setLong(1, 42L);
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+    }
+
+    @Test
+    public void testExecuteRollsBackOnUnknownReference() throws Exception {
+        BatchOperationDTO createTask = new BatchOperationDTO("t1", "POST", "/tasks",
+                objectMapper.readTree("{\"title\":\"Task1\",\"assignedUserId\":1}"));
+        BatchOperationDTO assignTag = new BatchOperationDTO(null, "POST", "/tasks/$missing/tags/3", null);
+
+        BatchResponseDTO response = batchService.execute(List.of(createTask, assignTag));
+
+        assertFalse(response.isCommitted());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        assertEquals("Unknown reference: $missing", response.getResults().get(1).getError());
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    public void testExecuteRejectsUnsupportedPath() {
+        BatchOperationDTO operation = new BatchOperationDTO(null, "DELETE", "/projects/1", null);
+
+        BatchResponseDTO response = batchService.execute(List.of(operation));
+
+        assertFalse(response.isCommitted());
+        assertEquals(400, response.getResults().get(0).getStatus());
+    }
+
+    @Test
+    public void testExecuteRejectsEmptyBatch() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(List.of()));
+    }
+}
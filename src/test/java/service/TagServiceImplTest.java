@@ -130,9 +130,9 @@ public class TagServiceImplTest {
         taskDTO2.setId(2L);
         taskDTO2.setTitle("Task 2");
 
+        tag1.setTasks(Arrays.asList(task1, task2));
+        tag2.setTasks(Arrays.asList(task2));
         when(tagDAO.findAll()).thenReturn(Arrays.asList(tag1, tag2));
-        when(tagDAO.getTasksByTagId(1L)).thenReturn(Arrays.asList(task1, task2));
-        when(tagDAO.getTasksByTagId(2L)).thenReturn(Arrays.asList(task2));
 
         List<TagDTO> result = tagService.getAllTags();
 
@@ -142,8 +142,7 @@ public class TagServiceImplTest {
         assertEquals(1, result.get(1).getTasks().size());
 
         verify(tagDAO, times(1)).findAll();
-        verify(tagDAO, times(1)).getTasksByTagId(1L);
-        verify(tagDAO, times(1)).getTasksByTagId(2L);
+        verify(tagDAO, never()).getTasksByTagId(any());
     }
 
     @Test
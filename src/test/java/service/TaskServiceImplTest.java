@@ -124,6 +124,7 @@ public class TaskServiceImplTest {
         assertEquals("Task 2", result.get(1).getTitle());
 
         verify(taskDAO, times(1)).findAll();
+        verify(taskDAO, never()).getTagsByTaskId(any());
     }
 
     @Test
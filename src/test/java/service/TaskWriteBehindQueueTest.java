@@ -0,0 +1,189 @@
+package service;
+
+import dao.TaskDAO;
+import entity.Task;
+import exception.DatabaseOperationException;
+import exception.WriteBehindRejectedException;
+import metrics.Counter;
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import service.impl.TaskWriteBehindQueue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class TaskWriteBehindQueueTest {
+
+    private static final long UNKNOWN_USER = 99L;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Task> deadLetters = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testEnqueueAssignsIdAndFlushesInBatches() {
+        List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            batches.add(tasks.stream().map(Task::getId).toList());
+            return null;
+        }).when(taskDAO).createAll(anyList());
+
+        TaskWriteBehindQueue queue = queue(taskDAO, 100, 2, 1000, 100);
+        Task first = newTask();
+        Task second = newTask();
+        Task third = newTask();
+        queue.enqueue(first);
+        queue.enqueue(second);
+        queue.enqueue(third);
+        queue.close();
+
+        assertEquals(1L, first.getId());
+        assertEquals(3L, third.getId());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)), batches);
+    }
+
+    @Test
+    public void testEnqueueRejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(taskDAO).createAll(anyList());
+
+        TaskWriteBehindQueue queue = queue(taskDAO, 1, 1, 10, 10);
+        queue.enqueue(newTask());
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        queue.enqueue(newTask());
+
+        assertThrows(WriteBehindRejectedException.class, () -> queue.enqueue(newTask()));
+
+        release.countDown();
+        queue.close();
+        verify(taskDAO, times(2)).createAll(anyList());
+    }
+
+    @Test
+    public void testEnqueueRejectedAfterClose() {
+        TaskWriteBehindQueue queue = queue(mock(TaskDAO.class), 10, 10, 10, 10);
+        queue.close();
+
+        assertThrows(WriteBehindRejectedException.class, () -> queue.enqueue(newTask()));
+    }
+
+    @Test
+    public void testEnqueueRejectsMissingAssignee() {
+        TaskWriteBehindQueue queue = queue(mock(TaskDAO.class), 10, 10, 10, 10);
+        Task unassigned = newTask();
+        unassigned.setAssignedUserId(null);
+        Task unknownUser = newTask();
+        unknownUser.setAssignedUserId(UNKNOWN_USER);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.enqueue(unassigned));
+        assertThrows(IllegalArgumentException.class, () -> queue.enqueue(unknownUser));
+        assertNull(unknownUser.getId());
+        queue.close();
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() {
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        doThrow(new DatabaseOperationException("connection reset")).doNothing().when(taskDAO).createAll(anyList());
+
+        TaskWriteBehindQueue queue = queue(taskDAO, 100, 10, 1000, 100);
+        queue.enqueue(newTask());
+        queue.enqueue(newTask());
+        queue.close();
+
+        verify(taskDAO, times(2)).createAll(anyList());
+        assertTrue(deadLetters.isEmpty());
+    }
+
+    @Test
+    public void testRowsThatKeepFailingGoToDeadLetters() {
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(task -> "poison".equals(task.getTitle()))) {
+                throw new DatabaseOperationException("value too long");
+            }
+            return null;
+        }).when(taskDAO).createAll(anyList());
+        Counter dropped = MetricsRegistry.global().counter("tasks_write_behind_dropped_total",
+                "Queued tasks that could not be written and went to the dead-letter sink");
+        long droppedBefore = dropped.get();
+
+        TaskWriteBehindQueue queue = queue(taskDAO, 100, 10, 1000, 100);
+        Task good = newTask();
+        Task poison = newTask();
+        poison.setTitle("poison");
+        queue.enqueue(good);
+        queue.enqueue(poison);
+        queue.close();
+
+        verify(taskDAO).createAll(List.of(good));
+        assertEquals(List.of(poison), deadLetters);
+        assertEquals(1, dropped.get() - droppedBefore);
+    }
+
+    @Test
+    public void testNoTaskIsAcceptedAfterTheDrain() throws Exception {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        TaskDAO taskDAO = mock(TaskDAO.class);
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> written.add(task.getId()));
+            return null;
+        }).when(taskDAO).createAll(anyList());
+        TaskWriteBehindQueue queue = queue(taskDAO, 100000, 50, 5, 100);
+        List<Long> accepted = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> {
+                    while (true) {
+                        Task task = newTask();
+                        try {
+                            queue.enqueue(task);
+                        } catch (WriteBehindRejectedException e) {
+                            return;
+                        }
+                        accepted.add(task.getId());
+                    }
+                });
+            }
+            Thread.sleep(50);
+            queue.close();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(new HashSet<>(accepted), new HashSet<>(written));
+    }
+
+    private TaskWriteBehindQueue queue(TaskDAO taskDAO, int capacity, int batchSize, long flushIntervalMillis, long offerTimeoutMillis) {
+        return new TaskWriteBehindQueue(taskDAO::createAll, sequence::incrementAndGet, id -> id != UNKNOWN_USER,
+                capacity, batchSize, flushIntervalMillis, offerTimeoutMillis, 5000, 2, 1, (task, cause) -> deadLetters.add(task));
+    }
+
+    private Task newTask() {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setAssignedUserId(1L);
+        return task;
+    }
+}
@@ -134,9 +134,9 @@ public class UserServiceImplTest {
         taskDTO2.setId(2L);
         taskDTO2.setTitle("Task 2");
 
+        user1.setTasks(Arrays.asList(task1, task2));
+        user2.setTasks(Arrays.asList(task2));
         when(userDAO.findAll()).thenReturn(Arrays.asList(user1, user2));
-        when(userDAO.getTasksByUserId(1L)).thenReturn(Arrays.asList(task1, task2));
-        when(userDAO.getTasksByUserId(2L)).thenReturn(Arrays.asList(task2));
 
         List<UserDTO> result = userService.getAllUsers();
 
@@ -146,8 +146,7 @@ public class UserServiceImplTest {
         assertEquals(1, result.get(1).getTasks().size());
 
         verify(userDAO, times(1)).findAll();
-        verify(userDAO, times(1)).getTasksByUserId(1L);
-        verify(userDAO, times(1)).getTasksByUserId(2L);
+        verify(userDAO, never()).getTasksByUserId(any());
     }
 
     @Test
@@ -0,0 +1,130 @@
+package tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import concurrent.RingBuffer;
+import context.RequestContext;
+import dao.TaskDAO;
+import jdbc.JdbcProxies;
+import metrics.Counter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TracerTest {
+
+    private final RingBuffer<Span> buffer = new RingBuffer<>(64);
+
+    @AfterEach
+    public void tearDown() {
+        RequestContext.end();
+    }
+
+    @Test
+    public void testSpansFormParentChildTree() throws SQLException {
+        Tracer tracer = new Tracer(1.0, buffer, new Counter());
+        Connection delegate = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(delegate.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+        Connection connection = JdbcProxies.wrap(delegate, new TracingStatementListener(tracer));
+        TaskDAO dao = mock(TaskDAO.class);
+        doAnswer(invocation -> connection.prepareStatement("DELETE FROM tasks WHERE id = ?").executeUpdate())
+                .when(dao).delete(7L);
+        RequestContext.begin();
+
+        Span root = tracer.startRoot("DELETE /tasks/{id}", SpanKind.SERVER, null);
+        Traced.proxy(TaskDAO.class, dao, tracer, false).delete(7L);
+        root.end();
+
+        List<Span> spans = drain();
+        assertEquals(List.of("db DELETE", "TaskDAO.delete", "DELETE /tasks/{id}"), spans.stream().map(Span::getName).toList());
+        assertEquals(spans.get(1).getSpanId(), spans.get(0).getParentSpanId());
+        assertEquals(root.getSpanId(), spans.get(1).getParentSpanId());
+        assertNull(root.getParentSpanId());
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(root.getTraceId())));
+        assertEquals(SpanKind.CLIENT, spans.get(0).getKind());
+        assertNull(RequestContext.current().getCurrentSpan());
+    }
+
+    @Test
+    public void testUnsampledRequestRecordsNothing() {
+        Tracer tracer = new Tracer(1e-12, buffer, new Counter());
+        RequestContext.begin();
+
+        Span root = tracer.startRoot("GET /tasks", SpanKind.SERVER, null);
+        Traced.proxy(TaskDAO.class, mock(TaskDAO.class), tracer, false).findAll();
+        root.end();
+
+        assertFalse(root.isRecording());
+        assertTrue(drain().isEmpty());
+    }
+
+    @Test
+    public void testTraceparentContinuesCallerTrace() {
+        Tracer tracer = new Tracer(1e-12, buffer, new Counter());
+        RequestContext.begin();
+
+        Span root = tracer.startRoot("GET /tasks", SpanKind.SERVER,
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        root.end();
+
+        assertTrue(root.isRecording());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", root.getTraceId());
+        assertEquals("00f067aa0ba902b7", root.getParentSpanId());
+    }
+
+    @Test
+    public void testFullBufferDropsAndCounts() {
+        Counter dropped = new Counter();
+        Tracer tracer = new Tracer(1.0, new RingBuffer<>(2), dropped);
+        RequestContext.begin();
+        for (int i = 0; i < 3; i++) {
+            tracer.startRoot("GET /tasks", SpanKind.SERVER, null).end();
+        }
+        assertEquals(1, dropped.get());
+    }
+
+    @Test
+    public void testExporterWritesOtlpJsonAndRolls(@TempDir Path directory) throws Exception {
+        Tracer tracer = new Tracer(1.0, buffer, new Counter());
+        RequestContext.begin();
+        Span root = tracer.startRoot("GET /tasks/{id}", SpanKind.SERVER, null);
+        root.setAttribute("http.response.status_code", 200).end();
+        OtlpJsonFileExporter exporter = new OtlpJsonFileExporter(buffer, directory, "task-manager", 1, 2, 10);
+
+        assertEquals(1, exporter.exportBatch());
+
+        List<Path> files;
+        try (var stream = Files.list(directory)) {
+            files = stream.toList();
+        }
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().startsWith("spans-"));
+        JsonNode request = new ObjectMapper().readTree(Files.readAllLines(files.get(0)).get(0));
+        JsonNode span = request.at("/resourceSpans/0/scopeSpans/0/spans/0");
+        assertEquals("task-manager", request.at("/resourceSpans/0/resource/attributes/0/value/stringValue").asText());
+        assertEquals(root.getTraceId(), span.get("traceId").asText());
+        assertEquals(2, span.get("kind").asInt());
+        assertEquals("200", span.at("/attributes/0/value/intValue").asText());
+        assertEquals(1, span.at("/status/code").asInt());
+    }
+
+    private List<Span> drain() {
+        List<Span> spans = new ArrayList<>();
+        buffer.drain(spans::add, Integer.MAX_VALUE);
+        return spans;
+    }
+}